@@ -0,0 +1,142 @@
+package benchmarks;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Predicate;
+
+/**
+ * FakeWebDriver answers WebDriver commands in memory, so the framework hot paths can be measured without a browser.
+ *
+ * <p>Every command costs the configured latency, standing in for the round trip to the driver. Lookups succeed only
+ * for the locators accepted by the `present` predicate; the others miss like a locator that no longer matches.
+ * Asynchronous scripts report elements as stable and the page as settled, and synchronous scripts return null.
+ */
+public class FakeWebDriver implements WebDriver, JavascriptExecutor {
+    private final long latencyNanos;
+    private final Predicate<By> present;
+    private final FakeWebElement element;
+
+    /**
+     * Constructor for FakeWebDriver.
+     *
+     * @param latencyNanos The simulated duration of every command, or 0 to answer immediately.
+     * @param present      The locators that find an element; the others throw `NoSuchElementException`.
+     */
+    public FakeWebDriver(long latencyNanos, Predicate<By> present) {
+        this.latencyNanos = latencyNanos;
+        this.present = present;
+        this.element = new FakeWebElement(this);
+    }
+
+    /**
+     * Creates a driver whose lookups always find an element.
+     *
+     * @param latencyNanos The simulated duration of every command.
+     * @return The driver.
+     */
+    public static FakeWebDriver alwaysFound(long latencyNanos) {
+        return new FakeWebDriver(latencyNanos, by -> true);
+    }
+
+    /**
+     * Simulates the round trip of a command.
+     */
+    void roundTrip() {
+        if (latencyNanos > 0) {
+            long deadline = System.nanoTime() + latencyNanos;
+            while (System.nanoTime() < deadline) {
+                LockSupport.parkNanos(deadline - System.nanoTime());
+            }
+        }
+    }
+
+    @Override
+    public WebElement findElement(By by) {
+        roundTrip();
+        if (!present.test(by)) {
+            throw new NoSuchElementException("Fake lookup missed: " + by);
+        }
+        return element;
+    }
+
+    @Override
+    public List<WebElement> findElements(By by) {
+        roundTrip();
+        return present.test(by) ? List.of(element) : List.of();
+    }
+
+    @Override
+    public void get(String url) {
+        roundTrip();
+    }
+
+    @Override
+    public String getCurrentUrl() {
+        roundTrip();
+        return "about:blank";
+    }
+
+    @Override
+    public String getTitle() {
+        roundTrip();
+        return "";
+    }
+
+    @Override
+    public String getPageSource() {
+        roundTrip();
+        return "<html></html>";
+    }
+
+    @Override
+    public Object executeScript(String script, Object... args) {
+        roundTrip();
+        return null;
+    }
+
+    @Override
+    public Object executeAsyncScript(String script, Object... args) {
+        roundTrip();
+        return args.length > 0 && args[0] instanceof WebElement ? Boolean.TRUE : null;
+    }
+
+    @Override
+    public void close() {
+    }
+
+    @Override
+    public void quit() {
+    }
+
+    @Override
+    public Set<String> getWindowHandles() {
+        return Set.of("main");
+    }
+
+    @Override
+    public String getWindowHandle() {
+        return "main";
+    }
+
+    @Override
+    public TargetLocator switchTo() {
+        throw new UnsupportedOperationException("The fake driver has a single window");
+    }
+
+    @Override
+    public Navigation navigate() {
+        throw new UnsupportedOperationException("The fake driver does not navigate");
+    }
+
+    @Override
+    public Options manage() {
+        throw new UnsupportedOperationException("The fake driver has no options");
+    }
+}
@@ -0,0 +1,58 @@
+package benchmarks;
+
+import core.CustomElementLocator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebElement;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures `CustomElementLocator.findElement` when the element is only found by the last locator of a fallback chain
+ * of 1 to 5 locators, so `depth - 1` lookups miss first. Each driver command costs `latencyMicros`.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LocatorFallbackBenchmark {
+
+    @Param({"1", "2", "3", "4", "5"})
+    public int depth;
+
+    @Param({"0", "50"})
+    public int latencyMicros;
+
+    private CustomElementLocator locator;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        List<By> bys = new ArrayList<>();
+        for (int i = 1; i <= depth; i++) {
+            bys.add(By.id("locator-" + i));
+        }
+        By last = bys.get(depth - 1);
+        FakeWebDriver driver = new FakeWebDriver(TimeUnit.MICROSECONDS.toNanos(latencyMicros), last::equals);
+        locator = new CustomElementLocator(driver, bys);
+    }
+
+    @Benchmark
+    public WebElement findElement() {
+        return locator.findElement();
+    }
+}
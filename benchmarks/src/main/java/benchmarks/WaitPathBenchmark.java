@@ -0,0 +1,73 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebElement;
+import utils.ElementContext;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the overhead the `ElementUtils` wait paths add around an interaction whose element is already visible,
+ * enabled and stable. With `latencyMicros=0` the result is the framework cost alone; with a latency it also shows how
+ * many driver commands each path issues.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WaitPathBenchmark {
+
+    @Param({"0", "50"})
+    public int latencyMicros;
+
+    private ElementContext context;
+    private WebElement element;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        FakeWebDriver driver = FakeWebDriver.alwaysFound(TimeUnit.MICROSECONDS.toNanos(latencyMicros));
+        context = new ElementContext(driver, Duration.ofSeconds(3), Duration.ofSeconds(10),
+                ElementContext.SettleMode.SETTLED, Duration.ofMillis(100));
+        element = driver.findElement(By.id("title"));
+    }
+
+    @Benchmark
+    public void waitAndClick() {
+        context.waitAndClick(element);
+    }
+
+    @Benchmark
+    public void waitAndClickWithStability() {
+        context.waitAndClick(element, true);
+    }
+
+    @Benchmark
+    public void waitAndSendKeys() {
+        context.waitAndSendKeys(element, "standard_user");
+    }
+
+    @Benchmark
+    public String waitAndGetText() {
+        return context.waitAndGetText(element);
+    }
+
+    @Benchmark
+    public boolean waitAndVerifyText() {
+        return context.waitAndVerifyText(element, "Products");
+    }
+}
@@ -0,0 +1,247 @@
+package benchmarks.pages;
+
+import core.annotations.FindByList;
+import core.annotations.FindByList.Locator;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.FindBy;
+
+import java.util.List;
+
+import static core.annotations.FindByList.LocatorType.CSS;
+import static core.annotations.FindByList.LocatorType.ID;
+import static core.annotations.FindByList.LocatorType.XPATH;
+
+/**
+ * Page with 50 decorated fields, like a summary or back-office screen.
+ */
+public class LargePage {
+    @FindByList({
+            @Locator(type = ID, value = "field-1"),
+            @Locator(type = CSS, value = "[data-test='field-1']"),
+            @Locator(type = XPATH, value = "//*[@name='field-1']")
+    })
+    public WebElement field1;
+
+    @FindBy(id = "field-2")
+    public WebElement field2;
+
+    @FindByList({
+            @Locator(type = ID, value = "field-3"),
+            @Locator(type = CSS, value = "[data-test='field-3']"),
+            @Locator(type = XPATH, value = "//*[@name='field-3']")
+    })
+    public WebElement field3;
+
+    @FindBy(id = "field-4")
+    public WebElement field4;
+
+    @FindByList({@Locator(type = CSS, value = "#list-5 li")})
+    public List<WebElement> list5;
+
+    @FindBy(id = "field-6")
+    public WebElement field6;
+
+    @FindByList({
+            @Locator(type = ID, value = "field-7"),
+            @Locator(type = CSS, value = "[data-test='field-7']"),
+            @Locator(type = XPATH, value = "//*[@name='field-7']")
+    })
+    public WebElement field7;
+
+    @FindBy(id = "field-8")
+    public WebElement field8;
+
+    @FindByList({
+            @Locator(type = ID, value = "field-9"),
+            @Locator(type = CSS, value = "[data-test='field-9']"),
+            @Locator(type = XPATH, value = "//*[@name='field-9']")
+    })
+    public WebElement field9;
+
+    @FindByList({@Locator(type = CSS, value = "#list-10 li")})
+    public List<WebElement> list10;
+
+    @FindByList({
+            @Locator(type = ID, value = "field-11"),
+            @Locator(type = CSS, value = "[data-test='field-11']"),
+            @Locator(type = XPATH, value = "//*[@name='field-11']")
+    })
+    public WebElement field11;
+
+    @FindBy(id = "field-12")
+    public WebElement field12;
+
+    @FindByList({
+            @Locator(type = ID, value = "field-13"),
+            @Locator(type = CSS, value = "[data-test='field-13']"),
+            @Locator(type = XPATH, value = "//*[@name='field-13']")
+    })
+    public WebElement field13;
+
+    @FindBy(id = "field-14")
+    public WebElement field14;
+
+    @FindByList({@Locator(type = CSS, value = "#list-15 li")})
+    public List<WebElement> list15;
+
+    @FindBy(id = "field-16")
+    public WebElement field16;
+
+    @FindByList({
+            @Locator(type = ID, value = "field-17"),
+            @Locator(type = CSS, value = "[data-test='field-17']"),
+            @Locator(type = XPATH, value = "//*[@name='field-17']")
+    })
+    public WebElement field17;
+
+    @FindBy(id = "field-18")
+    public WebElement field18;
+
+    @FindByList({
+            @Locator(type = ID, value = "field-19"),
+            @Locator(type = CSS, value = "[data-test='field-19']"),
+            @Locator(type = XPATH, value = "//*[@name='field-19']")
+    })
+    public WebElement field19;
+
+    @FindByList({@Locator(type = CSS, value = "#list-20 li")})
+    public List<WebElement> list20;
+
+    @FindByList({
+            @Locator(type = ID, value = "field-21"),
+            @Locator(type = CSS, value = "[data-test='field-21']"),
+            @Locator(type = XPATH, value = "//*[@name='field-21']")
+    })
+    public WebElement field21;
+
+    @FindBy(id = "field-22")
+    public WebElement field22;
+
+    @FindByList({
+            @Locator(type = ID, value = "field-23"),
+            @Locator(type = CSS, value = "[data-test='field-23']"),
+            @Locator(type = XPATH, value = "//*[@name='field-23']")
+    })
+    public WebElement field23;
+
+    @FindBy(id = "field-24")
+    public WebElement field24;
+
+    @FindByList({@Locator(type = CSS, value = "#list-25 li")})
+    public List<WebElement> list25;
+
+    @FindBy(id = "field-26")
+    public WebElement field26;
+
+    @FindByList({
+            @Locator(type = ID, value = "field-27"),
+            @Locator(type = CSS, value = "[data-test='field-27']"),
+            @Locator(type = XPATH, value = "//*[@name='field-27']")
+    })
+    public WebElement field27;
+
+    @FindBy(id = "field-28")
+    public WebElement field28;
+
+    @FindByList({
+            @Locator(type = ID, value = "field-29"),
+            @Locator(type = CSS, value = "[data-test='field-29']"),
+            @Locator(type = XPATH, value = "//*[@name='field-29']")
+    })
+    public WebElement field29;
+
+    @FindByList({@Locator(type = CSS, value = "#list-30 li")})
+    public List<WebElement> list30;
+
+    @FindByList({
+            @Locator(type = ID, value = "field-31"),
+            @Locator(type = CSS, value = "[data-test='field-31']"),
+            @Locator(type = XPATH, value = "//*[@name='field-31']")
+    })
+    public WebElement field31;
+
+    @FindBy(id = "field-32")
+    public WebElement field32;
+
+    @FindByList({
+            @Locator(type = ID, value = "field-33"),
+            @Locator(type = CSS, value = "[data-test='field-33']"),
+            @Locator(type = XPATH, value = "//*[@name='field-33']")
+    })
+    public WebElement field33;
+
+    @FindBy(id = "field-34")
+    public WebElement field34;
+
+    @FindByList({@Locator(type = CSS, value = "#list-35 li")})
+    public List<WebElement> list35;
+
+    @FindBy(id = "field-36")
+    public WebElement field36;
+
+    @FindByList({
+            @Locator(type = ID, value = "field-37"),
+            @Locator(type = CSS, value = "[data-test='field-37']"),
+            @Locator(type = XPATH, value = "//*[@name='field-37']")
+    })
+    public WebElement field37;
+
+    @FindBy(id = "field-38")
+    public WebElement field38;
+
+    @FindByList({
+            @Locator(type = ID, value = "field-39"),
+            @Locator(type = CSS, value = "[data-test='field-39']"),
+            @Locator(type = XPATH, value = "//*[@name='field-39']")
+    })
+    public WebElement field39;
+
+    @FindByList({@Locator(type = CSS, value = "#list-40 li")})
+    public List<WebElement> list40;
+
+    @FindByList({
+            @Locator(type = ID, value = "field-41"),
+            @Locator(type = CSS, value = "[data-test='field-41']"),
+            @Locator(type = XPATH, value = "//*[@name='field-41']")
+    })
+    public WebElement field41;
+
+    @FindBy(id = "field-42")
+    public WebElement field42;
+
+    @FindByList({
+            @Locator(type = ID, value = "field-43"),
+            @Locator(type = CSS, value = "[data-test='field-43']"),
+            @Locator(type = XPATH, value = "//*[@name='field-43']")
+    })
+    public WebElement field43;
+
+    @FindBy(id = "field-44")
+    public WebElement field44;
+
+    @FindByList({@Locator(type = CSS, value = "#list-45 li")})
+    public List<WebElement> list45;
+
+    @FindBy(id = "field-46")
+    public WebElement field46;
+
+    @FindByList({
+            @Locator(type = ID, value = "field-47"),
+            @Locator(type = CSS, value = "[data-test='field-47']"),
+            @Locator(type = XPATH, value = "//*[@name='field-47']")
+    })
+    public WebElement field47;
+
+    @FindBy(id = "field-48")
+    public WebElement field48;
+
+    @FindByList({
+            @Locator(type = ID, value = "field-49"),
+            @Locator(type = CSS, value = "[data-test='field-49']"),
+            @Locator(type = XPATH, value = "//*[@name='field-49']")
+    })
+    public WebElement field49;
+
+    @FindByList({@Locator(type = CSS, value = "#list-50 li")})
+    public List<WebElement> list50;
+}
@@ -0,0 +1,109 @@
+package benchmarks.pages;
+
+import core.annotations.FindByList;
+import core.annotations.FindByList.Locator;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.FindBy;
+
+import java.util.List;
+
+import static core.annotations.FindByList.LocatorType.CSS;
+import static core.annotations.FindByList.LocatorType.ID;
+import static core.annotations.FindByList.LocatorType.XPATH;
+
+/**
+ * Page with 20 decorated fields, like a checkout form.
+ */
+public class MediumPage {
+    @FindByList({
+            @Locator(type = ID, value = "field-1"),
+            @Locator(type = CSS, value = "[data-test='field-1']"),
+            @Locator(type = XPATH, value = "//*[@name='field-1']")
+    })
+    public WebElement field1;
+
+    @FindBy(id = "field-2")
+    public WebElement field2;
+
+    @FindByList({
+            @Locator(type = ID, value = "field-3"),
+            @Locator(type = CSS, value = "[data-test='field-3']"),
+            @Locator(type = XPATH, value = "//*[@name='field-3']")
+    })
+    public WebElement field3;
+
+    @FindBy(id = "field-4")
+    public WebElement field4;
+
+    @FindByList({@Locator(type = CSS, value = "#list-5 li")})
+    public List<WebElement> list5;
+
+    @FindBy(id = "field-6")
+    public WebElement field6;
+
+    @FindByList({
+            @Locator(type = ID, value = "field-7"),
+            @Locator(type = CSS, value = "[data-test='field-7']"),
+            @Locator(type = XPATH, value = "//*[@name='field-7']")
+    })
+    public WebElement field7;
+
+    @FindBy(id = "field-8")
+    public WebElement field8;
+
+    @FindByList({
+            @Locator(type = ID, value = "field-9"),
+            @Locator(type = CSS, value = "[data-test='field-9']"),
+            @Locator(type = XPATH, value = "//*[@name='field-9']")
+    })
+    public WebElement field9;
+
+    @FindByList({@Locator(type = CSS, value = "#list-10 li")})
+    public List<WebElement> list10;
+
+    @FindByList({
+            @Locator(type = ID, value = "field-11"),
+            @Locator(type = CSS, value = "[data-test='field-11']"),
+            @Locator(type = XPATH, value = "//*[@name='field-11']")
+    })
+    public WebElement field11;
+
+    @FindBy(id = "field-12")
+    public WebElement field12;
+
+    @FindByList({
+            @Locator(type = ID, value = "field-13"),
+            @Locator(type = CSS, value = "[data-test='field-13']"),
+            @Locator(type = XPATH, value = "//*[@name='field-13']")
+    })
+    public WebElement field13;
+
+    @FindBy(id = "field-14")
+    public WebElement field14;
+
+    @FindByList({@Locator(type = CSS, value = "#list-15 li")})
+    public List<WebElement> list15;
+
+    @FindBy(id = "field-16")
+    public WebElement field16;
+
+    @FindByList({
+            @Locator(type = ID, value = "field-17"),
+            @Locator(type = CSS, value = "[data-test='field-17']"),
+            @Locator(type = XPATH, value = "//*[@name='field-17']")
+    })
+    public WebElement field17;
+
+    @FindBy(id = "field-18")
+    public WebElement field18;
+
+    @FindByList({
+            @Locator(type = ID, value = "field-19"),
+            @Locator(type = CSS, value = "[data-test='field-19']"),
+            @Locator(type = XPATH, value = "//*[@name='field-19']")
+    })
+    public WebElement field19;
+
+    @FindByList({@Locator(type = CSS, value = "#list-20 li")})
+    public List<WebElement> list20;
+}
@@ -0,0 +1,40 @@
+package benchmarks.pages;
+
+import core.annotations.FindByList;
+import core.annotations.FindByList.Locator;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.FindBy;
+
+import java.util.List;
+
+import static core.annotations.FindByList.LocatorType.CSS;
+import static core.annotations.FindByList.LocatorType.ID;
+import static core.annotations.FindByList.LocatorType.XPATH;
+
+/**
+ * Page with 5 decorated fields, like a login form.
+ */
+public class SmallPage {
+    @FindByList({
+            @Locator(type = ID, value = "field-1"),
+            @Locator(type = CSS, value = "[data-test='field-1']"),
+            @Locator(type = XPATH, value = "//*[@name='field-1']")
+    })
+    public WebElement field1;
+
+    @FindBy(id = "field-2")
+    public WebElement field2;
+
+    @FindByList({
+            @Locator(type = ID, value = "field-3"),
+            @Locator(type = CSS, value = "[data-test='field-3']"),
+            @Locator(type = XPATH, value = "//*[@name='field-3']")
+    })
+    public WebElement field3;
+
+    @FindBy(id = "field-4")
+    public WebElement field4;
+
+    @FindByList({@Locator(type = CSS, value = "#list-5 li")})
+    public List<WebElement> list5;
+}
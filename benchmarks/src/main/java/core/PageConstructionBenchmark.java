@@ -0,0 +1,72 @@
+package core;
+
+import benchmarks.FakeWebDriver;
+import benchmarks.pages.LargePage;
+import benchmarks.pages.MediumPage;
+import benchmarks.pages.SmallPage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openqa.selenium.WebDriver;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Measures the construction of page objects of different sizes through the three initialization paths of
+ * {@link CustomPageFactory}: the initializer generated at compile time, the cached page plans and the reflective
+ * decorator. Page construction never talks to the driver, so no latency is simulated.
+ *
+ * <p>The benchmark lives in the `core` package to reach the package-private reference paths.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PageConstructionBenchmark {
+
+    @Param({"small", "medium", "large"})
+    public String size;
+
+    @Param({"generated", "plan", "reflective"})
+    public String path;
+
+    private WebDriver driver;
+    private Supplier<Object> pages;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        driver = FakeWebDriver.alwaysFound(0);
+        pages = switch (size) {
+            case "small" -> SmallPage::new;
+            case "medium" -> MediumPage::new;
+            case "large" -> LargePage::new;
+            default -> throw new IllegalArgumentException("Unknown page size: " + size);
+        };
+        if ("generated".equals(path) && CustomPageFactory.generatedInitializer(pages.get().getClass()) == null) {
+            throw new IllegalStateException("No generated initializer for the " + size + " page");
+        }
+    }
+
+    @Benchmark
+    public Object initElements() {
+        Object page = pages.get();
+        switch (path) {
+            case "generated" -> CustomPageFactory.initElements(driver, page);
+            case "plan" -> CustomPageFactory.initElementsWithPlans(driver, page);
+            default -> CustomPageFactory.initElementsUncached(driver, page);
+        }
+        return page;
+    }
+}
@@ -1,17 +1,28 @@
 package base;
 
+import core.ConfigOverrideExtension;
 import core.CustomPageFactory;
+import core.SessionSnapshotStore;
+import core.artifacts.FailureArtifactsExtension;
+import core.metrics.TestMetricsExtension;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.extension.ExtendWith;
 import org.openqa.selenium.WebDriver;
 
+import java.util.function.Predicate;
+
 import core.DriverManager;
 import utils.ElementUtils;
 
 /**
  * BaseTest is a foundational class for all test cases.
  * It manages the WebDriver instance before and after each test method.
+ * When `metrics.enabled=true` the latencies recorded during each test are summarized per test.
+ * `@ConfigOverride` annotations on the test class or method apply to the session launched for the test.
+ * When a test fails, its screenshot, page source and console log are archived before the session is quit.
  */
+@ExtendWith({ConfigOverrideExtension.class, TestMetricsExtension.class, FailureArtifactsExtension.class})
 public class BaseTest {
 
     protected WebDriver driver;
@@ -27,11 +38,26 @@ public class BaseTest {
         ElementUtils.initialize(driver);
     }
 
+    /**
+     * Logs the test's session in as the given user or role, restoring a saved snapshot of a previous login when one
+     * is valid and running the UI login flow otherwise, see {@link SessionSnapshotStore}.
+     *
+     * @param role       The user or role, e.g. `standard_user`.
+     * @param baseUrl    The URL of the application.
+     * @param uiLogin    The UI login flow, e.g. `homePage.openPage()` followed by `homePage.doLogin()`.
+     * @param isLoggedIn Checks that the session is logged in.
+     */
+    protected void loginAs(String role, String baseUrl, Runnable uiLogin, Predicate<WebDriver> isLoggedIn) {
+        SessionSnapshotStore.shared().loginAs(driver, role, baseUrl, uiLogin, isLoggedIn);
+    }
+
     /**
      * Quits the WebDriver instance after each test method, freeing up resources.
+     * The thread's ElementUtils context is released together with the session.
      */
     @AfterEach
     public void afterMethod() {
         DriverManager.quitDriver();
+        ElementUtils.clear();
     }
 }
@@ -0,0 +1,292 @@
+package core;
+
+import lombok.extern.slf4j.Slf4j;
+import org.openqa.selenium.HasCapabilities;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.devtools.HasDevTools;
+
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * BrowserContextHost runs many isolated browser contexts inside one Chrome process.
+ *
+ * <p>Each context has its own cookies, storage and cache, like a separate incognito profile, and is driven by its own
+ * lightweight ChromeDriver session attached to the shared browser through its `debuggerAddress`, so tests keep using
+ * the plain `WebDriver` API in parallel. A context starts with a single tab created inside it; pop-ups opened from its
+ * pages stay in the context.
+ *
+ * <p>The host listens to the browser's `Target` events to know which tabs belong to which context and their current
+ * titles, so {@link Context#windowHandles()} and {@link Context#findWindow(String)} never switch windows or ask each
+ * tab for its title. Window handles are the DevTools target ids of the tabs, as in ChromeDriver.
+ */
+@Slf4j
+public class BrowserContextHost {
+    private static final Map<WebDriver, Context> boundContexts = new ConcurrentHashMap<>();
+
+    private final WebDriver browser;
+    private final CdpChannel cdp;
+    private final String debuggerAddress;
+    private final Function<String, WebDriver> attach;
+    private final int capacity;
+    private final AtomicInteger reserved = new AtomicInteger();
+    private final Map<String, TargetInfo> targets = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor for BrowserContextHost.
+     *
+     * @param browser  The Chrome session owning the shared browser process.
+     * @param capacity The maximum number of contexts open at the same time.
+     * @param attach   Starts a WebDriver session attached to the browser at the given debugger address.
+     */
+    @SuppressWarnings("unchecked")
+    public BrowserContextHost(WebDriver browser, int capacity, Function<String, WebDriver> attach) {
+        this(browser, CdpChannel.of(((HasDevTools) browser).getDevTools()),
+                (String) ((Map<String, Object>) ((HasCapabilities) browser).getCapabilities()
+                        .getCapability("goog:chromeOptions")).get("debuggerAddress"),
+                capacity, attach);
+    }
+
+    /**
+     * Constructor for BrowserContextHost with an explicit DevTools channel.
+     *
+     * @param browser         The session owning the shared browser process.
+     * @param cdp             The browser-level DevTools channel.
+     * @param debuggerAddress The address attached sessions connect to, e.g. `localhost:9222`.
+     * @param capacity        The maximum number of contexts open at the same time.
+     * @param attach          Starts a WebDriver session attached to the browser at the given debugger address.
+     */
+    BrowserContextHost(WebDriver browser, CdpChannel cdp, String debuggerAddress, int capacity,
+                       Function<String, WebDriver> attach) {
+        this.browser = browser;
+        this.cdp = cdp;
+        this.debuggerAddress = debuggerAddress;
+        this.capacity = Math.max(1, capacity);
+        this.attach = attach;
+        cdp.onEvent("Target.targetCreated", this::updateTarget);
+        cdp.onEvent("Target.targetInfoChanged", this::updateTarget);
+        cdp.onEvent("Target.targetDestroyed", params -> targets.remove((String) params.get("targetId")));
+        cdp.send("Target.setDiscoverTargets", Map.of("discover", true));
+    }
+
+    /**
+     * Finds the context a driver returned by {@link Context#driver()}, or a decoration of it, is bound to.
+     *
+     * @param driver The WebDriver instance.
+     * @return The context, or null if the driver does not run in a shared browser.
+     */
+    public static Context contextOf(WebDriver driver) {
+        return boundContexts.get(driver);
+    }
+
+    /**
+     * Lists the windows a driver may switch to.
+     *
+     * @param driver The WebDriver instance.
+     * @return The windows of the driver's context when it runs in a shared browser, otherwise all of its windows.
+     */
+    public static Set<String> windowHandles(WebDriver driver) {
+        Context context = contextOf(driver);
+        return context != null ? context.windowHandles() : driver.getWindowHandles();
+    }
+
+    /**
+     * Binds a decoration of a context's driver to the context, so {@link #contextOf(WebDriver)} finds it. The binding
+     * is removed when the context closes.
+     *
+     * @param driver  The decorated WebDriver instance handed to the tests.
+     * @param context The context it drives.
+     */
+    public static void bind(WebDriver driver, Context context) {
+        boundContexts.put(driver, context);
+    }
+
+    /**
+     * Reserves a slot for a new context.
+     *
+     * @return True if the host had a free slot, which must then be used by {@link #openContext()}.
+     */
+    public boolean reserve() {
+        while (true) {
+            int current = reserved.get();
+            if (current >= capacity) {
+                return false;
+            }
+            if (reserved.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Opens a new isolated context with one blank tab, using a slot taken by {@link #reserve()}.
+     *
+     * @return The context, whose driver is already switched to its tab and closes the context when it quits.
+     */
+    public Context openContext() {
+        String contextId = null;
+        WebDriver attached = null;
+        try {
+            contextId = (String) cdp.send("Target.createBrowserContext", Map.of("disposeOnDetach", false))
+                    .get("browserContextId");
+            String targetId = (String) cdp.send("Target.createTarget",
+                    Map.of("url", "about:blank", "browserContextId", contextId)).get("targetId");
+            targets.putIfAbsent(targetId, new TargetInfo(contextId, "page", ""));
+            attached = attach.apply(debuggerAddress);
+            Context context = new Context(contextId);
+            context.driver = QuitHook.decorate(attached, context::close);
+            context.driver.switchTo().window(targetId);
+            return context;
+        } catch (RuntimeException e) {
+            if (attached != null) {
+                quitQuietly(attached);
+            }
+            if (contextId != null) {
+                dispose(contextId);
+            }
+            reserved.decrementAndGet();
+            throw e;
+        }
+    }
+
+    /**
+     * @return The number of contexts open or being opened.
+     */
+    public int openContexts() {
+        return reserved.get();
+    }
+
+    /**
+     * @return True if the shared browser still answers.
+     */
+    public boolean isAlive() {
+        try {
+            browser.getWindowHandles();
+            return true;
+        } catch (WebDriverException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Quits the shared browser and, with it, every context still open.
+     */
+    public void shutdown() {
+        boundContexts.values().removeIf(context -> context.host() == this);
+        quitQuietly(browser);
+    }
+
+    private static void quitQuietly(WebDriver driver) {
+        try {
+            driver.quit();
+        } catch (WebDriverException e) {
+            log.warn("Failed to quit WebDriver session: " + e.getMessage());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void updateTarget(Map<String, Object> params) {
+        Map<String, Object> info = (Map<String, Object>) params.get("targetInfo");
+        targets.put((String) info.get("targetId"), new TargetInfo((String) info.get("browserContextId"),
+                (String) info.get("type"), (String) info.get("title")));
+    }
+
+    private void dispose(String contextId) {
+        try {
+            cdp.send("Target.disposeBrowserContext", Map.of("browserContextId", contextId));
+        } catch (WebDriverException e) {
+            log.warn("Failed to dispose browser context " + contextId + ": " + e.getMessage());
+        }
+        targets.values().removeIf(target -> contextId.equals(target.contextId()));
+    }
+
+    /**
+     * What the host knows about a tab from the `Target` events.
+     */
+    private record TargetInfo(String contextId, String type, String title) {
+    }
+
+    /**
+     * An isolated context of the shared browser and the session driving it.
+     */
+    public final class Context {
+        private final String id;
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private WebDriver driver;
+
+        private Context(String id) {
+            this.id = id;
+        }
+
+        /**
+         * @return The DevTools id of the browser context.
+         */
+        public String id() {
+            return id;
+        }
+
+        /**
+         * @return The session attached to the shared browser and switched to this context's tab.
+         */
+        public WebDriver driver() {
+            return driver;
+        }
+
+        /**
+         * @return The handles of the tabs and pop-ups that belong to this context, from the latest `Target` events.
+         */
+        public Set<String> windowHandles() {
+            Set<String> handles = new LinkedHashSet<>();
+            targets.forEach((targetId, target) -> {
+                if (id.equals(target.contextId()) && "page".equals(target.type())) {
+                    handles.add(targetId);
+                }
+            });
+            return handles;
+        }
+
+        /**
+         * @param handle A window handle of this context.
+         * @return The last title reported for the window, or null if the window is unknown.
+         */
+        public String title(String handle) {
+            TargetInfo target = targets.get(handle);
+            return target != null && id.equals(target.contextId()) ? target.title() : null;
+        }
+
+        /**
+         * @param title The window title.
+         * @return The handle of a window of this context with that title, or null if there is none.
+         */
+        public String findWindow(String title) {
+            for (String handle : windowHandles()) {
+                if (title.equals(title(handle))) {
+                    return handle;
+                }
+            }
+            return null;
+        }
+
+        /**
+         * Disposes the browser context with its tabs, cookies, storage and cache and frees its slot. Called when its
+         * driver quits.
+         */
+        void close() {
+            if (closed.compareAndSet(false, true)) {
+                boundContexts.values().removeIf(context -> context == this);
+                dispose(id);
+                reserved.decrementAndGet();
+            }
+        }
+
+        private BrowserContextHost host() {
+            return BrowserContextHost.this;
+        }
+    }
+}
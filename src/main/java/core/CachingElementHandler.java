@@ -0,0 +1,58 @@
+package core;
+
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebElement;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+/**
+ * CachingElementHandler backs the proxies of fields whose element handle is cached by their
+ * {@link CustomElementLocator}.
+ *
+ * <p>When a call fails because the cached element is stale, the cache is dropped and the call is retried once
+ * against a freshly found element.
+ */
+public class CachingElementHandler implements InvocationHandler {
+    private final CustomElementLocator locator;
+
+    /**
+     * Constructor for CachingElementHandler.
+     *
+     * @param locator The caching locator used to resolve the element.
+     */
+    public CachingElementHandler(CustomElementLocator locator) {
+        this.locator = locator;
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        WebElement element;
+        try {
+            element = locator.findElement();
+        } catch (NoSuchElementException e) {
+            if ("toString".equals(method.getName())) {
+                return "Proxy element for: " + locator;
+            }
+            throw e;
+        }
+        if ("getWrappedElement".equals(method.getName())) {
+            return element;
+        }
+        try {
+            return method.invoke(element, args);
+        } catch (InvocationTargetException e) {
+            if (!(e.getCause() instanceof StaleElementReferenceException)) {
+                throw e.getCause();
+            }
+        }
+        locator.invalidate();
+        try {
+            return method.invoke(locator.findElement(), args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package core;
+
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.Event;
+
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * CdpChannel sends raw Chrome DevTools Protocol commands to the browser target and receives its events, without
+ * depending on the CDP version Selenium ships bindings for.
+ */
+interface CdpChannel {
+
+    /**
+     * Sends a command and waits for its result.
+     *
+     * @param method The CDP method, e.g. `Target.createBrowserContext`.
+     * @param params The command parameters.
+     * @return The result of the command.
+     */
+    Map<String, Object> send(String method, Map<String, Object> params);
+
+    /**
+     * Registers a listener for an event.
+     *
+     * @param event    The CDP event, e.g. `Target.targetCreated`.
+     * @param listener Receives the parameters of every occurrence.
+     */
+    void onEvent(String event, Consumer<Map<String, Object>> listener);
+
+    /**
+     * Wraps the browser-level connection of a Selenium {@link DevTools}. No page session is attached, so commands
+     * and events address the whole browser.
+     *
+     * @param devTools The DevTools connection of a Chromium session.
+     * @return The channel.
+     */
+    @SuppressWarnings("unchecked")
+    static CdpChannel of(DevTools devTools) {
+        return new CdpChannel() {
+            @Override
+            public Map<String, Object> send(String method, Map<String, Object> params) {
+                return devTools.send(new Command<Map<String, Object>>(method, params, Map.class));
+            }
+
+            @Override
+            public void onEvent(String event, Consumer<Map<String, Object>> listener) {
+                devTools.addListener(new Event<Map<String, Object>>(event, input -> input.read(Map.class)), listener);
+            }
+        };
+    }
+}
@@ -0,0 +1,45 @@
+package core;
+
+import core.annotations.ConfigOverride;
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+import java.lang.reflect.AnnotatedElement;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * ConfigOverrideExtension binds the {@link ConfigOverride} annotations of a test to its worker thread as a
+ * {@link FrameworkConfig} snapshot, before any `@BeforeEach` method launches the browser, and removes them when the
+ * test ends. It is registered by `BaseTest`.
+ */
+public class ConfigOverrideExtension implements BeforeEachCallback, AfterEachCallback {
+
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        Map<String, String> overrides = new HashMap<>();
+        Deque<Class<?>> hierarchy = new ArrayDeque<>();
+        for (Class<?> type = context.getRequiredTestClass(); type != null; type = type.getSuperclass()) {
+            hierarchy.push(type);
+        }
+        hierarchy.forEach(type -> collect(type, overrides));
+        collect(context.getRequiredTestMethod(), overrides);
+        if (!overrides.isEmpty()) {
+            FrameworkConfig.overrideForCurrentThread(overrides);
+        }
+    }
+
+    @Override
+    public void afterEach(ExtensionContext context) {
+        FrameworkConfig.clearCurrentThread();
+    }
+
+    private static void collect(AnnotatedElement element, Map<String, String> overrides) {
+        for (ConfigOverride override : element.getDeclaredAnnotationsByType(ConfigOverride.class)) {
+            overrides.put(override.key(), override.value());
+        }
+    }
+}
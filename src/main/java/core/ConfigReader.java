@@ -8,6 +8,12 @@ import java.io.FileWriter;
 import java.io.IOException;
 import java.util.Properties;
 
+/**
+ * ConfigReader loads `config.properties`, creating it with default values when it is missing.
+ *
+ * <p>Lookups go through the {@link FrameworkConfig} bound to the calling thread, so they also see environment
+ * variables, system properties and per-worker overrides.
+ */
 @Slf4j
 public class ConfigReader {
     private static final Properties properties;
@@ -41,6 +47,15 @@ public class ConfigReader {
         }
     }
 
+    /**
+     * @return A copy of the properties loaded from `config.properties`, the first layer of {@link FrameworkConfig}.
+     */
+    static Properties fileProperties() {
+        Properties copy = new Properties();
+        copy.putAll(properties);
+        return copy;
+    }
+
     /**
      * Retrieves the property value for a specified key.
      *
@@ -48,6 +63,39 @@ public class ConfigReader {
      * @return The property value associated with the key, or null if not found.
      */
     public static String getProperty(String key) {
-        return properties.getProperty(key);
+        return FrameworkConfig.current().getProperty(key);
+    }
+
+    /**
+     * Retrieves the property value for a specified key, falling back to a default when it is missing or blank.
+     *
+     * @param key          The property key to search for.
+     * @param defaultValue The value returned when the key is not configured.
+     * @return The configured value, or the default value.
+     */
+    public static String getProperty(String key, String defaultValue) {
+        return FrameworkConfig.current().getProperty(key, defaultValue);
+    }
+
+    /**
+     * Retrieves a boolean property, falling back to a default when it is missing or blank.
+     *
+     * @param key          The property key to search for.
+     * @param defaultValue The value returned when the key is not configured.
+     * @return The parsed boolean value, or the default value.
+     */
+    public static boolean getBooleanProperty(String key, boolean defaultValue) {
+        return FrameworkConfig.current().getBooleanProperty(key, defaultValue);
+    }
+
+    /**
+     * Retrieves an integer property, falling back to a default when it is missing, blank or not a number.
+     *
+     * @param key          The property key to search for.
+     * @param defaultValue The value returned when the key is not configured.
+     * @return The parsed integer value, or the default value.
+     */
+    public static int getIntProperty(String key, int defaultValue) {
+        return FrameworkConfig.current().getIntProperty(key, defaultValue);
     }
 }
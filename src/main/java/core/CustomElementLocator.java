@@ -1,22 +1,55 @@
 package core;
 
+import core.metrics.Metrics;
 import lombok.extern.slf4j.Slf4j;
 import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptException;
+import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.UnsupportedCommandException;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.pagefactory.ElementLocator;
 
+import java.util.ArrayList;
 import java.util.List;
 
 /**
  * CustomElementLocator is responsible for locating web elements using a prioritized list of locators.
  * It attempts to find an element by each locator in the provided list and returns the first successful match.
+ *
+ * <p>When the locator is named after its field, every lookup is recorded in {@link LocatorStats} and, unless
+ * `locator.order=strict`, the locators are tried in the order most likely to succeed first.
+ *
+ * <p>With `locator.resolution=script` the whole ordered list is resolved in the browser with a single
+ * `executeScript` call (see {@link LocatorScript}). Drivers without JavaScript support and locators that cannot be
+ * expressed as W3C strategies use the sequential path.
+ *
+ * <p>A locator built with a time to live caches the element it resolves. The cached handle is reused until it
+ * expires, until the tracked driver navigates or switches window or frame (see {@link NavigationTracker}), or until
+ * {@link #invalidate()} is called after the browser reported it as stale.
+ *
+ * <p>Every lookup that only succeeds after some locators failed is logged with the failed and winning locators and
+ * the time lost, and named fields are added to the {@link FallbackReport}.
+ *
+ * <p>With `metrics.enabled=true` the time every browser lookup of a named field takes is recorded in
+ * {@link Metrics}.
  */
 @Slf4j
 public class CustomElementLocator implements ElementLocator {
+    private static final boolean SCRIPT_RESOLUTION =
+            "script".equalsIgnoreCase(FrameworkConfig.base().getProperty("locator.resolution", "sequential"));
+
     private final WebDriver driver;
     private final List<By> bys;
+    private final String name;
+    private final boolean scriptCapable;
+    private final boolean scriptEnabled;
+    private final long ttlNanos;
+    private final NavigationTracker tracker;
+    private final LocatorStats stats;
+    private final FallbackReport report;
+    private volatile CachedElement cached;
 
     /**
      * Constructor for CustomElementLocator.
@@ -25,34 +58,321 @@ public class CustomElementLocator implements ElementLocator {
      * @param bys A list of By locators to use for locating web elements.
      */
     public CustomElementLocator(WebDriver driver, List<By> bys) {
+        this(driver, bys, null);
+    }
+
+    /**
+     * Constructor for a CustomElementLocator whose lookups are recorded and ordered by {@link LocatorStats}.
+     *
+     * @param driver The WebDriver instance to use for locating elements.
+     * @param bys A list of By locators to use for locating web elements, in annotation order.
+     * @param name The identifier of the located field, e.g. `pages.HomePage#usernameInput`, or null to disable stats.
+     */
+    public CustomElementLocator(WebDriver driver, List<By> bys, String name) {
+        this(driver, bys, name, 0);
+    }
+
+    /**
+     * Constructor for a CustomElementLocator that caches the element it resolves.
+     *
+     * @param driver The WebDriver instance to use for locating elements.
+     * @param bys A list of By locators to use for locating web elements, in annotation order.
+     * @param name The identifier of the located field, e.g. `pages.HomePage#usernameInput`, or null to disable stats.
+     * @param ttlMillis How long a resolved element may be reused, or 0 to disable the cache.
+     */
+    public CustomElementLocator(WebDriver driver, List<By> bys, String name, long ttlMillis) {
+        this(driver, bys, name, ttlMillis, LocatorStats.shared(), FallbackReport.shared(), SCRIPT_RESOLUTION);
+    }
+
+    /**
+     * Constructor for a CustomElementLocator that records its lookups in the given statistics and report instead of
+     * the shared ones, and resolves them as given instead of by `locator.resolution`.
+     *
+     * @param driver The WebDriver instance to use for locating elements.
+     * @param bys A list of By locators to use for locating web elements, in annotation order.
+     * @param name The identifier of the located field, or null to disable stats.
+     * @param ttlMillis How long a resolved element may be reused, or 0 to disable the cache.
+     * @param stats The statistics that record and order the lookups of the field.
+     * @param report The report fallbacks of the field are added to.
+     * @param scriptResolution True to resolve the locators with a single script when the driver supports it.
+     */
+    CustomElementLocator(WebDriver driver, List<By> bys, String name, long ttlMillis, LocatorStats stats,
+                         FallbackReport report, boolean scriptResolution) {
         this.driver = driver;
+        this.ttlNanos = Math.max(0, ttlMillis) * 1_000_000;
+        this.tracker = ttlMillis > 0 ? NavigationTracker.of(driver) : null;
         this.bys = bys;
+        this.name = name;
+        this.stats = name != null ? stats : null;
+        this.report = report;
+        this.scriptCapable = driver instanceof JavascriptExecutor && LocatorScript.parameters(bys) != null;
+        this.scriptEnabled = scriptResolution && scriptCapable;
     }
 
     /**
      * Tries to find a web element using the prioritized list of By locators.
      * Returns the first found element, or throws a NoSuchElementException if none are found.
+     * When caching is enabled, a still valid cached element is returned without going back to the browser.
      *
      * @return The first successfully located web element.
      * @throws NoSuchElementException If no element is found using any of the By locators.
      */
     @Override
     public WebElement findElement() {
-        for (By by : bys) {
+        if (ttlNanos == 0) {
+            return locateElement();
+        }
+        CachedElement current = cached;
+        long generation = tracker != null ? tracker.generation() : 0;
+        if (current != null && current.generation == generation && System.nanoTime() - current.foundAt < ttlNanos) {
+            return current.element;
+        }
+        WebElement element = locateElement();
+        cached = new CachedElement(element, generation, System.nanoTime());
+        return element;
+    }
+
+    /**
+     * Drops the cached element so the next lookup goes back to the browser.
+     */
+    public void invalidate() {
+        cached = null;
+    }
+
+    /**
+     * @return True if this locator caches the element it resolves.
+     */
+    public boolean isCaching() {
+        return ttlNanos > 0;
+    }
+
+    /**
+     * Looks the element up in the browser and records the lookup time of the field in {@link Metrics}.
+     *
+     * @return The first successfully located web element.
+     * @throws NoSuchElementException If no element is found using any of the By locators.
+     */
+    private WebElement locateElement() {
+        long start = Metrics.startTimer();
+        try {
+            return lookUpElement();
+        } finally {
+            Metrics.recordField(name, start);
+        }
+    }
+
+    /**
+     * Looks the element up in the browser, trying the locators in priority order.
+     *
+     * @return The first successfully located web element.
+     * @throws NoSuchElementException If no element is found using any of the By locators.
+     */
+    private WebElement lookUpElement() {
+        List<By> ordered = orderedLocators();
+        if (scriptEnabled) {
+            try {
+                return findElementWithScript(ordered);
+            } catch (UnsupportedCommandException | JavascriptException e) {
+                log.warn("Script locator resolution failed, falling back to sequential lookups: " + e.getMessage());
+            }
+        }
+        long lostNanos = 0;
+        for (int i = 0; i < ordered.size(); i++) {
+            By by = ordered.get(i);
+            long start = System.nanoTime();
             try {
                 WebElement element = driver.findElement(by);
                 if (element != null) {
+                    if (stats != null) {
+                        stats.recordHit(name, by, System.nanoTime() - start);
+                    }
+                    recordFallback(ordered.subList(0, i), by, lostNanos);
                     return element;
                 }
             } catch (NoSuchElementException e) {
-                log.error("No element with such locators is present.");
+                long elapsed = System.nanoTime() - start;
+                lostNanos += elapsed;
+                if (stats != null) {
+                    stats.recordMiss(name, by, elapsed);
+                }
             }
         }
+        recordFallback(ordered, null, lostNanos);
         throw new NoSuchElementException("Could not find the element using the provided locators.");
     }
 
+    /**
+     * Resolves the ordered locators in the browser with a single script call.
+     *
+     * @param ordered The locators in the order they should be tried.
+     * @return The element matched by the first successful locator.
+     * @throws NoSuchElementException If none of the locators matches.
+     */
+    private WebElement findElementWithScript(List<By> ordered) {
+        long start = System.nanoTime();
+        Object result = ((JavascriptExecutor) driver).executeScript(LocatorScript.FIND_FIRST,
+                LocatorScript.parameters(ordered));
+        long elapsed = System.nanoTime() - start;
+        int matched = recordScriptResult(ordered, result, elapsed);
+        if (matched == ordered.size()) {
+            recordFallback(ordered, null, elapsed);
+            throw new NoSuchElementException("Could not find the element using the provided locators.");
+        }
+        return (WebElement) ((List<?>) result).get(1);
+    }
+
+    /**
+     * Finds the elements matched by the first locator, in priority order, that matches at least one element.
+     *
+     * @return The matched elements, or an empty list if no locator matches.
+     */
     @Override
     public List<WebElement> findElements() {
-        throw new UnsupportedOperationException("CustomElementLocator only supports findElement.");
+        long start = Metrics.startTimer();
+        try {
+            return lookUpElements();
+        } finally {
+            Metrics.recordField(name, start);
+        }
+    }
+
+    /**
+     * Looks the elements up in the browser, trying the locators in priority order.
+     *
+     * @return The matched elements, or an empty list if no locator matches.
+     */
+    @SuppressWarnings("unchecked")
+    private List<WebElement> lookUpElements() {
+        List<By> ordered = orderedLocators();
+        if (scriptEnabled) {
+            try {
+                long start = System.nanoTime();
+                Object result = ((JavascriptExecutor) driver).executeScript(LocatorScript.FIND_ALL,
+                        LocatorScript.parameters(ordered));
+                int matched = recordScriptResult(ordered, result, System.nanoTime() - start);
+                return matched == ordered.size() ? List.of() : (List<WebElement>) ((List<?>) result).get(1);
+            } catch (UnsupportedCommandException | JavascriptException e) {
+                log.warn("Script locator resolution failed, falling back to sequential lookups: " + e.getMessage());
+            }
+        }
+        long lostNanos = 0;
+        for (int i = 0; i < ordered.size(); i++) {
+            By by = ordered.get(i);
+            long start = System.nanoTime();
+            List<WebElement> elements = driver.findElements(by);
+            long elapsed = System.nanoTime() - start;
+            if (!elements.isEmpty()) {
+                if (stats != null) {
+                    stats.recordHit(name, by, elapsed);
+                }
+                recordFallback(ordered.subList(0, i), by, lostNanos);
+                return elements;
+            }
+            lostNanos += elapsed;
+            if (stats != null) {
+                stats.recordMiss(name, by, elapsed);
+            }
+        }
+        return List.of();
+    }
+
+    /**
+     * Reads the text or an attribute of every element matched by the locators. When the driver supports JavaScript
+     * the lookup and the reads happen in a single script call; otherwise each element is read individually.
+     *
+     * @param property `text` to read the visible text, `attribute` to read the attribute given by `attribute`.
+     * @param attribute The attribute name, ignored when reading text.
+     * @return One value per matched element, or an empty list if no locator matches.
+     */
+    @SuppressWarnings("unchecked")
+    List<String> readAll(String property, String attribute) {
+        if (scriptCapable) {
+            try {
+                List<By> ordered = orderedLocators();
+                long start = System.nanoTime();
+                Object result = ((JavascriptExecutor) driver).executeScript(LocatorScript.READ_ALL,
+                        LocatorScript.parameters(ordered), property, attribute);
+                int matched = recordScriptResult(ordered, result, System.nanoTime() - start);
+                return matched == ordered.size() ? List.of() : (List<String>) ((List<?>) result).get(1);
+            } catch (UnsupportedCommandException | JavascriptException e) {
+                log.warn("Script bulk read failed, falling back to per-element reads: " + e.getMessage());
+            }
+        }
+        List<WebElement> elements = findElements();
+        if (driver instanceof JavascriptExecutor executor && !elements.isEmpty()) {
+            return (List<String>) executor.executeScript(LocatorScript.READ_ELEMENTS, elements, property, attribute);
+        }
+        List<String> values = new ArrayList<>(elements.size());
+        for (WebElement element : elements) {
+            values.add("attribute".equals(property) ? element.getAttribute(attribute) : element.getText());
+        }
+        return values;
+    }
+
+    /**
+     * @return The locators in the order they should be tried.
+     */
+    private List<By> orderedLocators() {
+        return stats != null && LocatorStats.isAdaptive() ? stats.order(name, bys) : bys;
+    }
+
+    /**
+     * Records the outcome of a script lookup. Locators ranked before the matching one are recorded as misses that
+     * cost no extra round trip.
+     *
+     * @param ordered The locators in the order they were sent to the script.
+     * @param result  The `[index, value]` script result, or null when nothing matched.
+     * @param elapsed The duration of the script call in nanoseconds.
+     * @return The index of the matching locator, or the number of locators when nothing matched.
+     */
+    private int recordScriptResult(List<By> ordered, Object result, long elapsed) {
+        int matched = result instanceof List<?> match ? ((Number) match.get(0)).intValue() : ordered.size();
+        if (matched < ordered.size()) {
+            recordFallback(ordered.subList(0, matched), ordered.get(matched), 0);
+        }
+        if (stats != null) {
+            for (int i = 0; i < matched; i++) {
+                stats.recordMiss(name, ordered.get(i), 0);
+            }
+            if (matched < ordered.size()) {
+                stats.recordHit(name, ordered.get(matched), elapsed);
+            }
+        }
+        return matched;
+    }
+
+    /**
+     * Logs and reports a lookup in which some locators failed before the element was found, or in which every
+     * locator failed. Lookups whose first locator matched are not reported.
+     *
+     * @param failed    The locators that failed, in the order they were tried.
+     * @param winner    The locator that found the element, or null if none did.
+     * @param lostNanos The time spent on the failed locators.
+     */
+    private void recordFallback(List<By> failed, By winner, long lostNanos) {
+        if (failed.isEmpty()) {
+            return;
+        }
+        String field = name != null ? name : "(unnamed)";
+        if (winner != null) {
+            log.warn(field + ": locators " + failed + " failed, found by " + winner + " after "
+                    + lostNanos / 1_000_000 + " ms");
+        } else {
+            log.error(field + ": no element is present for locators " + failed + " (" + lostNanos / 1_000_000 + " ms)");
+        }
+        if (name != null) {
+            report.record(name, failed, winner, lostNanos);
+        }
+    }
+
+    /**
+     * A resolved element together with the document generation and time it was found at.
+     */
+    private record CachedElement(WebElement element, long generation, long foundAt) {
+    }
+
+    @Override
+    public String toString() {
+        return "CustomElementLocator " + (name != null ? name + " " : "") + bys;
     }
 }
@@ -7,20 +7,101 @@ import org.openqa.selenium.support.pagefactory.*;
 import java.lang.reflect.Field;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * CustomPageFactory provides a custom implementation of Page Factory pattern for initializing web elements.
  * It specifically handles elements annotated with the custom `FindByList` annotation and prioritizes different locators.
  */
 public class CustomPageFactory {
+    private static final ClassValue<Optional<PageInitializer<Object>>> GENERATED_INITIALIZERS = new ClassValue<>() {
+        @Override
+        protected Optional<PageInitializer<Object>> computeValue(Class<?> type) {
+            return Optional.ofNullable(loadGeneratedInitializer(type));
+        }
+    };
+
     /**
      * Initializes the fields of a given page object annotated with `FindByList` or standard annotations.
-     * A custom field decorator is used to ensure that prioritized locators are respected.
+     * Prioritized locators are respected the same way as with the custom field decorator. The fields of each class are
+     * set by the {@link PageInitializer} generated for it at compile time when there is one; otherwise they are
+     * resolved once into a cached {@link PagePlan}, so later instances only pay for proxy creation and field stores.
      *
      * @param driver The WebDriver instance used to locate and interact with web elements.
      * @param page   The page object containing web elements to be initialized.
      */
     public static void initElements(WebDriver driver, Object page) {
+        ClassLoader loader = page.getClass().getClassLoader();
+        for (Class<?> proxyIn = page.getClass(); proxyIn != Object.class; proxyIn = proxyIn.getSuperclass()) {
+            Optional<PageInitializer<Object>> generated = GENERATED_INITIALIZERS.get(proxyIn);
+            if (generated.isPresent()) {
+                generated.get().initElements(driver, page);
+            } else {
+                PagePlan.of(proxyIn).apply(driver, page, loader);
+            }
+        }
+    }
+
+    /**
+     * Initializes the fields of a page object with the cached {@link PagePlan}s only, ignoring generated initializers.
+     * Kept as the reference path to measure the generated initializers against.
+     *
+     * @param driver The WebDriver instance used to locate and interact with web elements.
+     * @param page   The page object containing web elements to be initialized.
+     */
+    static void initElementsWithPlans(WebDriver driver, Object page) {
+        ClassLoader loader = page.getClass().getClassLoader();
+        for (Class<?> proxyIn = page.getClass(); proxyIn != Object.class; proxyIn = proxyIn.getSuperclass()) {
+            PagePlan.of(proxyIn).apply(driver, page, loader);
+        }
+    }
+
+    /**
+     * Retrieves the initializer generated for a page class.
+     *
+     * @param type The page class.
+     * @return The generated initializer, or null if the class has none.
+     */
+    static PageInitializer<Object> generatedInitializer(Class<?> type) {
+        return GENERATED_INITIALIZERS.get(type).orElse(null);
+    }
+
+    /**
+     * Loads the `<Page>_PageInitializer` class generated next to a page class, if the annotation processor created one.
+     *
+     * @param type The page class.
+     * @return A new instance of the generated initializer, or null if there is none.
+     */
+    @SuppressWarnings("unchecked")
+    private static PageInitializer<Object> loadGeneratedInitializer(Class<?> type) {
+        if (type.isArray() || type.isPrimitive() || type.getClassLoader() == null) {
+            return null;
+        }
+        String packageName = type.getPackageName();
+        String simpleName = packageName.isEmpty() ? type.getName() : type.getName().substring(packageName.length() + 1);
+        String initializerName = (packageName.isEmpty() ? "" : packageName + ".")
+                + simpleName.replace('$', '_') + PageInitializer.SUFFIX;
+        try {
+            Class<?> initializer = Class.forName(initializerName, true, type.getClassLoader());
+            if (!PageInitializer.class.isAssignableFrom(initializer)) {
+                return null;
+            }
+            return (PageInitializer<Object>) initializer.getDeclaredConstructor().newInstance();
+        } catch (ClassNotFoundException e) {
+            return null;
+        } catch (ReflectiveOperationException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Initializes the fields of a page object by scanning and decorating them with reflection on every call.
+     * Kept as the reference path to measure the cached initialization against.
+     *
+     * @param driver The WebDriver instance used to locate and interact with web elements.
+     * @param page   The page object containing web elements to be initialized.
+     */
+    static void initElementsUncached(WebDriver driver, Object page) {
         FieldDecorator decorator = new CustomFieldDecorator(new DefaultElementLocatorFactory(driver), driver);
         decorateFields(decorator, page);
     }
@@ -49,6 +130,50 @@ public class CustomPageFactory {
         }
     }
 
+    /**
+     * Builds the identifier under which the lookups of a field are recorded in {@link LocatorStats}.
+     *
+     * @param field The decorated field.
+     * @return The identifier in the form `declaring class#field name`.
+     */
+    static String fieldName(Field field) {
+        return field.getDeclaringClass().getName() + "#" + field.getName();
+    }
+
+    /**
+     * Constructs a list of By locators based on the `FindByList` annotation.
+     *
+     * @param findByList The `FindByList` annotation containing multiple locators.
+     * @return A list of By locators to use for finding web elements.
+     */
+    static List<By> constructLocators(FindByList findByList) {
+        List<By> locators = new ArrayList<>();
+        for (FindByList.Locator locator : findByList.value()) {
+            locators.add(getByFromLocator(locator));
+        }
+        return locators;
+    }
+
+    /**
+     * Converts a `FindByList.Locator` annotation into a corresponding Selenium By object.
+     *
+     * @param locator The `FindByList.Locator` annotation containing the locator type and value.
+     * @return The corresponding By object used for locating web elements.
+     * @throws IllegalArgumentException If the locator type is unsupported.
+     */
+    private static By getByFromLocator(FindByList.Locator locator) {
+        return switch (locator.type()) {
+            case ID -> By.id(locator.value());
+            case NAME -> By.name(locator.value());
+            case CLASS_NAME -> By.className(locator.value());
+            case CSS -> By.cssSelector(locator.value());
+            case XPATH -> By.xpath(locator.value());
+            case TAG_NAME -> By.tagName(locator.value());
+            case LINK_TEXT -> By.linkText(locator.value());
+            case PARTIAL_LINK_TEXT -> By.partialLinkText(locator.value());
+        };
+    }
+
     /**
      * CustomFieldDecorator extends the default field decorator to add support for the `FindByList` annotation.
      * It allows for prioritized locators when finding a web element.
@@ -73,7 +198,9 @@ public class CustomPageFactory {
 
         /**
          * Decorates a field annotated with the custom `FindByList` annotation.
-         * If the field is not annotated, it applies the standard field decoration.
+         * `WebElement` fields receive a proxy element and list fields (`List<WebElement>` or {@link ElementList})
+         * a lazily resolved {@link LocatingElementList}. If the field is not annotated, it applies the standard
+         * field decoration.
          *
          * @param loader The class loader used to define the proxy class.
          * @param field  The field that needs to be decorated.
@@ -83,11 +210,11 @@ public class CustomPageFactory {
         public Object decorate(ClassLoader loader, Field field) {
             if (field.isAnnotationPresent(FindByList.class)) {
                 FindByList findByList = field.getAnnotation(FindByList.class);
-                WebElement proxyElement = proxyElementForLocator(loader, findByList);
                 if (WebElement.class.isAssignableFrom(field.getType())) {
-                    return proxyElement;
-                } else if (List.class.isAssignableFrom(field.getType())) {
-                    return proxyForListLocator(loader, new CustomElementLocator(driver, constructLocators(findByList)));
+                    return proxyElementForLocator(loader, field, findByList);
+                } else if (field.getType().isAssignableFrom(LocatingElementList.class)) {
+                    return new LocatingElementList(
+                            new CustomElementLocator(driver, constructLocators(findByList), fieldName(field)));
                 }
             }
             return super.decorate(loader, field);
@@ -98,46 +225,13 @@ public class CustomPageFactory {
          * This proxy element will dynamically locate elements using prioritized locators.
          *
          * @param loader     The class loader used to define the proxy class.
+         * @param field      The field the proxy is created for.
          * @param findByList The `FindByList` annotation containing multiple locators.
          * @return A proxy web element object using the prioritized locators.
          */
-        private WebElement proxyElementForLocator(ClassLoader loader, FindByList findByList) {
-            ElementLocator locator = new CustomElementLocator(driver, constructLocators(findByList));
+        private WebElement proxyElementForLocator(ClassLoader loader, Field field, FindByList findByList) {
+            ElementLocator locator = new CustomElementLocator(driver, constructLocators(findByList), fieldName(field));
             return proxyForLocator(loader, locator);
         }
-
-        /**
-         * Constructs a list of By locators based on the `FindByList` annotation.
-         *
-         * @param findByList The `FindByList` annotation containing multiple locators.
-         * @return A list of By locators to use for finding web elements.
-         */
-        private List<By> constructLocators(FindByList findByList) {
-            List<By> locators = new ArrayList<>();
-            for (FindByList.Locator locator : findByList.value()) {
-                locators.add(getByFromLocator(locator));
-            }
-            return locators;
-        }
-
-        /**
-         * Converts a `FindByList.Locator` annotation into a corresponding Selenium By object.
-         *
-         * @param locator The `FindByList.Locator` annotation containing the locator type and value.
-         * @return The corresponding By object used for locating web elements.
-         * @throws IllegalArgumentException If the locator type is unsupported.
-         */
-        private By getByFromLocator(FindByList.Locator locator) {
-            return switch (locator.type()) {
-                case ID -> By.id(locator.value());
-                case NAME -> By.name(locator.value());
-                case CLASS_NAME -> By.className(locator.value());
-                case CSS -> By.cssSelector(locator.value());
-                case XPATH -> By.xpath(locator.value());
-                case TAG_NAME -> By.tagName(locator.value());
-                case LINK_TEXT -> By.linkText(locator.value());
-                case PARTIAL_LINK_TEXT -> By.partialLinkText(locator.value());
-            };
-        }
     }
 }
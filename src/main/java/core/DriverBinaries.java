@@ -0,0 +1,210 @@
+package core;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.bonigarcia.wdm.WebDriverManager;
+import io.github.bonigarcia.wdm.config.DriverManagerType;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * DriverBinaries resolves the driver executable (chromedriver, geckodriver, ...) and, optionally, the browser binary
+ * used to launch each browser, once per JVM.
+ *
+ * <p>A browser is resolved from, in order:
+ * <ol>
+ *     <li>the paths given by `driver.<browser>.path` and `browser.<browser>.binary`, e.g. `driver.chrome.path`;</li>
+ *     <li>the manifest persisted by previous runs at `driver.manifest.file` (default
+ *     `~/.cache/selenium/uiwl-driver-manifest.json`), while its entry is younger than `driver.manifest.ttl.hours`
+ *     (default 24) and the driver file still exists;</li>
+ *     <li>WebDriverManager, whose result is saved to the manifest.</li>
+ * </ol>
+ * With `driver.offline=true` only the configured paths are used and nothing is downloaded or detected, so launches
+ * start at once on machines without network access.
+ */
+@Slf4j
+public class DriverBinaries {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final DriverBinaries SHARED = new DriverBinaries(FrameworkConfig.base(),
+            Paths.get(FrameworkConfig.base().getProperty("driver.manifest.file",
+                    Paths.get(System.getProperty("user.home"), ".cache", "selenium", "uiwl-driver-manifest.json")
+                            .toString())),
+            DriverBinaries::resolveWithWebDriverManager);
+
+    private final FrameworkConfig config;
+    private final boolean offline;
+    private final Path manifestFile;
+    private final Duration manifestTtl;
+    private final Function<String, Path> resolver;
+    private final Map<String, Binaries> resolved = new ConcurrentHashMap<>();
+
+    /**
+     * The driver executable and, if configured, the browser binary of a browser.
+     *
+     * @param driver  The driver executable.
+     * @param browser The browser binary, or null to let the driver find the installed browser.
+     */
+    public record Binaries(Path driver, Path browser) {
+    }
+
+    /**
+     * Constructor for DriverBinaries.
+     *
+     * @param config       The configuration holding the paths and the offline flag.
+     * @param manifestFile The manifest persisted between runs.
+     * @param resolver     Resolves the driver executable of a browser when it is neither configured nor in the
+     *                     manifest.
+     */
+    DriverBinaries(FrameworkConfig config, Path manifestFile, Function<String, Path> resolver) {
+        this.config = config;
+        this.offline = config.getBooleanProperty("driver.offline", false);
+        this.manifestFile = manifestFile;
+        this.manifestTtl = Duration.ofHours(config.getIntProperty("driver.manifest.ttl.hours", 24));
+        this.resolver = resolver;
+    }
+
+    /**
+     * @return The JVM-wide instance used by {@link DriverManager}.
+     */
+    public static DriverBinaries shared() {
+        return SHARED;
+    }
+
+    /**
+     * Resolves the binaries of a browser, at most once per JVM.
+     *
+     * @param browser The browser name: `chrome`, `firefox`, `edge` or `ie`.
+     * @return The binaries to launch the browser with.
+     * @throws IllegalStateException If offline mode is enabled and `driver.<browser>.path` is not configured.
+     */
+    public Binaries resolve(String browser) {
+        return resolved.computeIfAbsent(browser, this::resolveOnce);
+    }
+
+    /**
+     * Forgets the driver resolved for a browser, e.g. after the browser was updated and no longer accepts it, so the
+     * next {@link #resolve(String)} resolves it again.
+     *
+     * @param browser The browser name.
+     * @return True if the driver will be resolved again, false if it comes from the configuration and cannot change.
+     */
+    public boolean invalidate(String browser) {
+        if (offline || configuredDriver(browser) != null) {
+            return false;
+        }
+        resolved.remove(browser);
+        synchronized (this) {
+            Map<String, Map<String, Object>> manifest = readManifest();
+            if (manifest.remove(browser) != null) {
+                writeManifest(manifest);
+            }
+        }
+        return true;
+    }
+
+    private Binaries resolveOnce(String browser) {
+        Path browserBinary = configuredPath("browser." + browser + ".binary");
+        Path driver = configuredDriver(browser);
+        if (driver != null) {
+            return new Binaries(driver, browserBinary);
+        }
+        if (offline) {
+            throw new IllegalStateException("driver.offline=true requires driver." + browser
+                    + ".path to point to a local driver executable");
+        }
+        synchronized (this) {
+            Map<String, Map<String, Object>> manifest = readManifest();
+            Path cached = manifestDriver(manifest.get(browser));
+            if (cached != null) {
+                return new Binaries(cached, browserBinary);
+            }
+            long start = System.nanoTime();
+            driver = resolver.apply(browser);
+            log.info("Resolved the " + browser + " driver in " + (System.nanoTime() - start) / 1_000_000 + " ms: "
+                    + driver);
+            Map<String, Object> resolvedEntry = new LinkedHashMap<>();
+            resolvedEntry.put("driver", driver.toAbsolutePath().toString());
+            resolvedEntry.put("resolvedAt", System.currentTimeMillis());
+            manifest.put(browser, resolvedEntry);
+            writeManifest(manifest);
+            return new Binaries(driver, browserBinary);
+        }
+    }
+
+    /**
+     * @param entry The manifest entry of a browser, or null.
+     * @return The driver of the entry if it is still executable and younger than the manifest TTL, otherwise null.
+     */
+    private Path manifestDriver(Map<String, Object> entry) {
+        if (entry == null || !(entry.get("driver") instanceof String path)
+                || !(entry.get("resolvedAt") instanceof Number resolvedAt)
+                || System.currentTimeMillis() - resolvedAt.longValue() >= manifestTtl.toMillis()) {
+            return null;
+        }
+        Path driver = Paths.get(path);
+        return Files.isExecutable(driver) ? driver : null;
+    }
+
+    private Path configuredDriver(String browser) {
+        return configuredPath("driver." + browser + ".path");
+    }
+
+    private Path configuredPath(String key) {
+        String value = config.getProperty(key, null);
+        return value != null ? Paths.get(value) : null;
+    }
+
+    private Map<String, Map<String, Object>> readManifest() {
+        if (!Files.exists(manifestFile)) {
+            return new LinkedHashMap<>();
+        }
+        try {
+            return MAPPER.readValue(manifestFile.toFile(),
+                    new TypeReference<LinkedHashMap<String, Map<String, Object>>>() { });
+        } catch (IOException e) {
+            log.warn("Ignoring unreadable driver manifest " + manifestFile + ": " + e.getMessage());
+            return new LinkedHashMap<>();
+        }
+    }
+
+    private void writeManifest(Map<String, Map<String, Object>> manifest) {
+        try {
+            Path parent = manifestFile.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            Path temp = Files.createTempFile(parent, "driver-manifest", ".tmp");
+            MAPPER.writerWithDefaultPrettyPrinter().writeValue(temp.toFile(), manifest);
+            Files.move(temp, manifestFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("Could not save the driver manifest to " + manifestFile + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Resolves, and downloads if needed, the driver of a browser with WebDriverManager.
+     *
+     * @param browser The browser name.
+     * @return The driver executable.
+     */
+    private static Path resolveWithWebDriverManager(String browser) {
+        DriverManagerType type = switch (browser) {
+            case "chrome" -> DriverManagerType.CHROME;
+            case "firefox" -> DriverManagerType.FIREFOX;
+            case "edge" -> DriverManagerType.EDGE;
+            case "ie" -> DriverManagerType.IEXPLORER;
+            default -> throw new IllegalArgumentException("Browser not supported: " + browser);
+        };
+        WebDriverManager manager = WebDriverManager.getInstance(type);
+        manager.setup();
+        return Paths.get(manager.getDownloadedDriverPath());
+    }
+}
@@ -1,95 +1,472 @@
 package core;
 
-import io.github.bonigarcia.wdm.WebDriverManager;
+import core.metrics.Metrics;
+import core.mux.WebDriverMux;
+import core.network.NetworkCacheFilter;
+import lombok.extern.slf4j.Slf4j;
+import org.openqa.selenium.SessionNotCreatedException;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeDriverService;
 import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.chromium.ChromiumDriver;
+import org.openqa.selenium.devtools.NetworkInterceptor;
 import org.openqa.selenium.edge.EdgeDriver;
+import org.openqa.selenium.edge.EdgeDriverService;
 import org.openqa.selenium.edge.EdgeOptions;
 import org.openqa.selenium.firefox.FirefoxDriver;
 import org.openqa.selenium.firefox.FirefoxOptions;
+import org.openqa.selenium.firefox.GeckoDriverService;
 import org.openqa.selenium.ie.InternetExplorerDriver;
+import org.openqa.selenium.ie.InternetExplorerDriverService;
 import org.openqa.selenium.ie.InternetExplorerOptions;
 
-import static core.ConfigReader.getProperty;
+import java.io.File;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * DriverManager owns the lifecycle of the WebDriver sessions used by the tests.
+ *
+ * <p>By default a single session is shared by the whole JVM. When `parallel.mode=true` each worker thread gets its own
+ * isolated session, so JUnit parallel execution can run one test per core. The number of sessions alive at the same
+ * time is capped by `parallel.max.sessions`, and every session still open when the JVM exits is quit by a shutdown hook.
+ *
+ * <p>When `session.pool.enabled=true` sessions are borrowed from a {@link SessionPool} and returned to it, reset,
+ * instead of being quit, so consecutive tests reuse an already-running browser.
+ *
+ * <p>Sessions are launched with the {@link FrameworkConfig} bound to the calling thread, so parallel workers with
+ * different overrides (browser, headless, maximize) get different browsers. Pools are kept per session profile.
+ *
+ * <p>With `session.prelaunch.count=N` up to N spare sessions are launched in the background while tests run, capped by
+ * the free memory of the host (`session.prelaunch.memory.mb` per browser, default 512), see
+ * {@link SessionPrelauncher}.
+ *
+ * <p>Chrome and Firefox are launched with the {@link LaunchProfile} selected by `launch.profile`. Throwaway profile
+ * directories are deleted when their session quits, and any left behind when the JVM exits.
+ *
+ * <p>With `network.intercept.enabled=true` the network traffic of Chrome and Edge sessions goes through the shared
+ * {@link NetworkCacheFilter}, which blocks `network.block.patterns` and serves repeated static assets from a disk cache
+ * shared by every session.
+ *
+ * <p>With `browser.contexts.enabled=true` Chrome sessions are isolated browser contexts (separate cookies, storage and
+ * cache) of shared Chrome processes, up to `browser.contexts.per.browser` (default 8) per process, instead of one
+ * browser per session.
+ */
+@Slf4j
 public class DriverManager {
-    private static WebDriver driver;
+    private static final FrameworkConfig CONFIG = FrameworkConfig.base();
+    private static final boolean PARALLEL_MODE = CONFIG.getBooleanProperty("parallel.mode", false);
+    private static final int MAX_SESSIONS = Math.max(1,
+            CONFIG.getIntProperty("parallel.max.sessions", Runtime.getRuntime().availableProcessors()));
+    private static final boolean POOL_ENABLED = CONFIG.getBooleanProperty("session.pool.enabled", false);
+    private static final int PRELAUNCH_SPARES = CONFIG.getIntProperty("session.prelaunch.count", 0);
+    private static final boolean BROWSER_CONTEXTS = CONFIG.getBooleanProperty("browser.contexts.enabled", false);
+    private static final int CONTEXTS_PER_BROWSER = CONFIG.getIntProperty("browser.contexts.per.browser", 8);
+    private static final boolean MUX_ENABLED = CONFIG.getBooleanProperty("mux.enabled", false);
+    private static final boolean NETWORK_INTERCEPTION = CONFIG.getBooleanProperty("network.intercept.enabled", false);
+
+    private static final Map<String, SessionPool> sessionPools = new ConcurrentHashMap<>();
+    private static final Map<WebDriver, SessionPool> pooledDrivers = new ConcurrentHashMap<>();
+    private static final Map<String, SessionPrelauncher> prelaunchers = new ConcurrentHashMap<>();
+    private static final Map<String, List<BrowserContextHost>> contextHosts = new ConcurrentHashMap<>();
+    private static final Set<Path> profileDirectories = ConcurrentHashMap.newKeySet();
+    private static final DriverSessions sessions = new DriverSessions(PARALLEL_MODE, MAX_SESSIONS,
+            DriverManager::openSession, DriverManager::closeSession);
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(DriverManager::quitAllDrivers, "driver-manager-shutdown"));
+        if (PRELAUNCH_SPARES > 0) {
+            Metrics.addRunSection("sessionPrelaunch", DriverManager::prelaunchSummary);
+        }
+        if (NETWORK_INTERCEPTION) {
+            Metrics.addRunSection("network", () -> NetworkCacheFilter.shared().summary());
+        }
+    }
 
     /**
-     * Retrieves the current WebDriver instance. If none exists, initializes a new driver.
+     * Retrieves the WebDriver instance bound to the caller. If none exists, initializes a new driver.
+     * In parallel mode the instance is bound to the current thread, otherwise it is shared by the JVM.
+     *
      * @return The WebDriver instance to interact with the browser.
      */
     public static WebDriver getDriver() {
-        if (driver == null) {
-            initializeDriver();
+        return sessions.get();
+    }
+
+    /**
+     * Retrieves the WebDriver instance bound to the caller without starting one.
+     *
+     * @return The WebDriver instance, or null if the caller has no session.
+     */
+    public static WebDriver currentDriver() {
+        return sessions.current();
+    }
+
+    /**
+     * Indicates whether sessions are bound to worker threads instead of being shared by the JVM.
+     *
+     * @return True if `parallel.mode` is enabled.
+     */
+    public static boolean isParallelMode() {
+        return PARALLEL_MODE;
+    }
+
+    /**
+     * Opens a session for the calling thread, borrowed from the session pool of its profile when the pool is enabled.
+     * Called by {@link DriverSessions} once a session slot is free.
+     *
+     * @return The newly created or borrowed WebDriver instance.
+     */
+    private static WebDriver openSession() {
+        FrameworkConfig config = FrameworkConfig.current();
+        if (!POOL_ENABLED) {
+            return launch(config);
         }
+        SessionPool pool = sessionPools.computeIfAbsent(config.sessionProfile(), profile ->
+                new SessionPool(() -> launch(config),
+                        CONFIG.getIntProperty("session.pool.size", MAX_SESSIONS),
+                        CONFIG.getIntProperty("session.pool.max.reuse", 50)));
+        WebDriver driver = pool.acquire();
+        pooledDrivers.put(driver, pool);
         return driver;
     }
 
     /**
-     * Initializes the WebDriver based on the `browser` property or defaults to Chrome.
-     * Handles headless and maximized modes using properties in `config.properties`.
+     * Launches a session, taking a pre-launched spare when `session.prelaunch.count` is set. Spares are kept per
+     * session profile and each one is replaced in the background as soon as it is taken.
+     *
+     * @param config The configuration snapshot to launch the browser with.
+     * @return The newly created or pre-launched WebDriver instance.
+     */
+    private static WebDriver launch(FrameworkConfig config) {
+        if (PRELAUNCH_SPARES <= 0) {
+            return initializeDriver(config);
+        }
+        return prelaunchers.computeIfAbsent(config.sessionProfile(), profile -> {
+            SessionPrelauncher prelauncher = new SessionPrelauncher(() -> initializeDriver(config), PRELAUNCH_SPARES,
+                    CONFIG.getIntProperty("session.prelaunch.memory.mb", 512) * 1024L * 1024L);
+            prelauncher.start();
+            return prelauncher;
+        }).take();
+    }
+
+    /**
+     * @return The pre-launch counters of every session profile, for the run summary.
+     */
+    private static Map<String, Map<String, Object>> prelaunchSummary() {
+        Map<String, Map<String, Object>> summary = new TreeMap<>();
+        prelaunchers.forEach((profile, prelauncher) -> summary.put(profile, prelauncher.summary()));
+        return summary;
+    }
+
+    /**
+     * Initializes the WebDriver based on the `browser` setting or defaults to Chrome.
+     * With `browser.contexts.enabled=true` Chrome sessions are isolated contexts of a shared browser, see
+     * {@link BrowserContextHost}; any other session gets its own browser, see {@link #startBrowser}. Contexts are not
+     * used with `mux.enabled=true`, where the {@link WebDriverMux} shares the browsers between forks instead.
+     * The driver is decorated by a {@link NavigationTracker} so cached page elements notice navigations.
+     *
+     * @param config The configuration snapshot to launch the browser with.
+     * @return The newly created WebDriver instance.
      */
-    private static void initializeDriver() {
-        String browser = getProperty("browser");
-        if (browser == null || browser.isBlank()) {
-            browser = "chrome";
+    private static WebDriver initializeDriver(FrameworkConfig config) {
+        String browser = "internet explorer".equals(config.browser()) ? "ie" : config.browser();
+        if (BROWSER_CONTEXTS && !MUX_ENABLED && "chrome".equals(browser)) {
+            BrowserContextHost.Context context = openBrowserContext(config);
+            WebDriver driver = NavigationTracker.track(
+                    Metrics.ENABLED ? Metrics.instrument(context.driver()) : context.driver());
+            BrowserContextHost.bind(driver, context);
+            return driver;
         }
-        boolean headlessMode = Boolean.parseBoolean(getProperty("headless.mode"));
-        boolean maximizeMode = Boolean.parseBoolean(getProperty("maximize.mode"));
+        WebDriver driver = startBrowser(config, browser);
+        return NavigationTracker.track(Metrics.ENABLED ? Metrics.instrument(driver) : driver);
+    }
 
-        switch (browser.toLowerCase()) {
+    /**
+     * Opens an isolated context in a shared browser of the session profile that has a free slot, launching a new
+     * shared browser when all of them hold `browser.contexts.per.browser` contexts. Shared browsers that stopped
+     * answering, e.g. after a crash, are shut down and dropped.
+     *
+     * @param config The configuration snapshot to launch the browser with.
+     * @return The new context.
+     */
+    private static BrowserContextHost.Context openBrowserContext(FrameworkConfig config) {
+        List<BrowserContextHost> hosts = contextHosts.computeIfAbsent(config.sessionProfile(),
+                profile -> new ArrayList<>());
+        BrowserContextHost host = null;
+        synchronized (hosts) {
+            for (Iterator<BrowserContextHost> candidates = hosts.iterator(); candidates.hasNext(); ) {
+                BrowserContextHost candidate = candidates.next();
+                if (!candidate.isAlive()) {
+                    log.warn("Discarding a shared browser that stopped answering");
+                    candidates.remove();
+                    candidate.shutdown();
+                } else if (candidate.reserve()) {
+                    host = candidate;
+                    break;
+                }
+            }
+            if (host == null) {
+                LaunchProfile profile = LaunchProfile.from(config);
+                WebDriver browser = startBrowser(config, "chrome");
+                try {
+                    host = new BrowserContextHost(browser, CONTEXTS_PER_BROWSER,
+                            debuggerAddress -> attach(debuggerAddress, profile));
+                } catch (RuntimeException e) {
+                    quitQuietly(browser);
+                    throw e;
+                }
+                host.reserve();
+                hosts.add(host);
+            }
+        }
+        return host.openContext();
+    }
+
+    /**
+     * Starts a ChromeDriver session attached to an already running Chrome.
+     *
+     * @param debuggerAddress The DevTools address of the browser, e.g. `localhost:9222`.
+     * @param profile         The launch profile, whose page load strategy the session uses.
+     * @return The attached WebDriver instance.
+     */
+    private static WebDriver attach(String debuggerAddress, LaunchProfile profile) {
+        ChromeOptions options = new ChromeOptions();
+        options.setExperimentalOption("debuggerAddress", debuggerAddress);
+        options.setPageLoadStrategy(profile.pageLoadStrategy());
+        return new ChromeDriver(new ChromeDriverService.Builder()
+                .usingDriverExecutable(DriverBinaries.shared().resolve("chrome").driver().toFile()).build(), options);
+    }
+
+    /**
+     * Launches a browser process for a session.
+     * The driver and browser binaries come from {@link DriverBinaries}, resolved once per JVM; if the browser rejects
+     * a cached driver, e.g. after a browser update, the driver is resolved again and the launch retried once.
+     * With `mux.enabled=true` the session is created through the host's {@link WebDriverMux} instead, which owns the
+     * driver processes; Internet Explorer always runs locally.
+     *
+     * @param config  The configuration snapshot to launch the browser with.
+     * @param browser The browser name: `chrome`, `firefox`, `ie` or `edge`.
+     * @return The newly created WebDriver instance, not yet tracked.
+     */
+    private static WebDriver startBrowser(FrameworkConfig config, String browser) {
+        LaunchProfile profile = LaunchProfile.from(config);
+        if (MUX_ENABLED && !"ie".equals(browser)) {
+            WebDriver driver = createDriver(config, profile, null, browser, null);
+            if (config.isMaximize() && profile.viewport() == null) {
+                driver.manage().window().maximize();
+            }
+            return driver;
+        }
+        Path profileDirectory = "chrome".equals(browser) || "firefox".equals(browser)
+                ? profile.createProfileDirectory() : null;
+        DriverBinaries binaries = DriverBinaries.shared();
+        WebDriver driver;
+        try {
+            try {
+                driver = createDriver(config, profile, profileDirectory, browser, binaries.resolve(browser));
+            } catch (SessionNotCreatedException e) {
+                if (!binaries.invalidate(browser)) {
+                    throw e;
+                }
+                log.warn("Could not start " + browser + " with the cached driver, resolving it again: "
+                        + e.getMessage());
+                driver = createDriver(config, profile, profileDirectory, browser, binaries.resolve(browser));
+            }
+        } catch (RuntimeException e) {
+            LaunchProfile.deleteProfileDirectory(profileDirectory);
+            throw e;
+        }
+
+        if (NETWORK_INTERCEPTION) {
+            intercept(driver, browser);
+        }
+        if (config.isMaximize() && profile.viewport() == null) {
+            driver.manage().window().maximize();
+        }
+        if (profileDirectory != null) {
+            driver = deleteOnQuit(driver, profileDirectory);
+        }
+        return driver;
+    }
+
+    /**
+     * Routes the network traffic of a session through the shared {@link NetworkCacheFilter}. The interceptor lives as
+     * long as the session's DevTools connection.
+     *
+     * @param driver  The undecorated WebDriver instance.
+     * @param browser The browser name.
+     */
+    @SuppressWarnings("resource")
+    private static void intercept(WebDriver driver, String browser) {
+        if (driver instanceof ChromiumDriver) {
+            new NetworkInterceptor(driver, NetworkCacheFilter.shared());
+        } else {
+            log.warn("network.intercept.enabled is ignored for " + browser + ", only Chrome and Edge sessions can be intercepted");
+        }
+    }
+
+    /**
+     * Decorates a driver so its throwaway profile directory is deleted once the browser has quit.
+     *
+     * @param driver           The WebDriver instance using the directory.
+     * @param profileDirectory The throwaway profile directory.
+     * @return The decorated WebDriver instance.
+     */
+    private static WebDriver deleteOnQuit(WebDriver driver, Path profileDirectory) {
+        profileDirectories.add(profileDirectory);
+        return QuitHook.decorate(driver, () -> {
+            if (profileDirectories.remove(profileDirectory)) {
+                LaunchProfile.deleteProfileDirectory(profileDirectory);
+            }
+        });
+    }
+
+    /**
+     * Launches a browser with the given binaries, or through the {@link WebDriverMux} when there are none.
+     * Handles headless mode using the `headless.mode` setting and applies the launch profile to Chrome and Firefox.
+     *
+     * @param config           The configuration snapshot to launch the browser with.
+     * @param profile          The launch profile.
+     * @param profileDirectory The throwaway profile directory, or null.
+     * @param browser          The browser name: `chrome`, `firefox`, `ie` or `edge`.
+     * @param binaries         The driver executable and, optionally, the browser binary, or null to use the mux.
+     * @return The newly created WebDriver instance.
+     */
+    private static WebDriver createDriver(FrameworkConfig config, LaunchProfile profile, Path profileDirectory,
+                                          String browser, DriverBinaries.Binaries binaries) {
+        boolean headlessMode = config.isHeadless();
+        File driverExecutable = binaries != null ? binaries.driver().toFile() : null;
+        String browserBinary = binaries != null && binaries.browser() != null ? binaries.browser().toString() : null;
+
+        switch (browser) {
             case "chrome" -> {
-                WebDriverManager.chromedriver().setup();
                 ChromeOptions chromeOptions = new ChromeOptions();
                 chromeOptions.addArguments("--lang=es-MX");
                 if (headlessMode) {
-                    chromeOptions.addArguments("window-size=2560,1440");
+                    if (profile.viewport() == null) {
+                        chromeOptions.addArguments("window-size=2560,1440");
+                    }
                     chromeOptions.addArguments("--disable-gpu");
                     chromeOptions.addArguments("--headless");
                 }
-                driver = new ChromeDriver(chromeOptions);
+                profile.apply(chromeOptions, profileDirectory);
+                if (browserBinary != null) {
+                    chromeOptions.setBinary(browserBinary);
+                }
+                if (driverExecutable == null) {
+                    return WebDriverMux.newSession(config, chromeOptions);
+                }
+                return new ChromeDriver(new ChromeDriverService.Builder()
+                        .usingDriverExecutable(driverExecutable).build(), chromeOptions);
             }
             case "firefox" -> {
-                WebDriverManager.firefoxdriver().setup();
                 FirefoxOptions firefoxOptions = new FirefoxOptions();
                 if (headlessMode) {
-                    firefoxOptions.addArguments("window-size=2560,1440");
+                    if (profile.viewport() == null) {
+                        firefoxOptions.addArguments("window-size=2560,1440");
+                    }
                     firefoxOptions.addArguments("--headless");
                 }
-                driver = new FirefoxDriver(firefoxOptions);
+                profile.apply(firefoxOptions, profileDirectory);
+                if (browserBinary != null) {
+                    firefoxOptions.setBinary(browserBinary);
+                }
+                if (driverExecutable == null) {
+                    return WebDriverMux.newSession(config, firefoxOptions);
+                }
+                return new FirefoxDriver(new GeckoDriverService.Builder()
+                        .usingDriverExecutable(driverExecutable).build(), firefoxOptions);
             }
-            case "ie", "internet explorer" -> {
-                WebDriverManager.iedriver().setup();
+            case "ie" -> {
                 if (headlessMode) {
                     throw new UnsupportedOperationException("Internet Explorer does not support headless mode.");
                 }
-                driver = new InternetExplorerDriver(new InternetExplorerOptions());
+                return new InternetExplorerDriver(new InternetExplorerDriverService.Builder()
+                        .usingDriverExecutable(driverExecutable).build(), new InternetExplorerOptions());
             }
             case "edge" -> {
-                WebDriverManager.edgedriver().setup();
                 EdgeOptions edgeOptions = new EdgeOptions();
                 if (headlessMode) {
                     throw new UnsupportedOperationException("Edge does not support headless mode.");
                 }
-                driver = new EdgeDriver(edgeOptions);
+                if (browserBinary != null) {
+                    edgeOptions.setBinary(browserBinary);
+                }
+                if (driverExecutable == null) {
+                    return WebDriverMux.newSession(config, edgeOptions);
+                }
+                return new EdgeDriver(new EdgeDriverService.Builder()
+                        .usingDriverExecutable(driverExecutable).build(), edgeOptions);
             }
             default -> throw new IllegalArgumentException("Browser not supported: " + browser);
         }
+    }
 
-        if (maximizeMode) {
-            driver.manage().window().maximize();
+    /**
+     * Quits the WebDriver instance bound to the caller and releases its session slot.
+     * When the session pool is enabled the instance is reset and returned to the pool instead.
+     */
+    public static void quitDriver() {
+        sessions.close();
+    }
+
+    /**
+     * Quits every session that is still open. Registered as a JVM shutdown hook so that interrupted or
+     * crashed runs do not leave orphan browser processes behind.
+     */
+    public static void quitAllDrivers() {
+        sessions.closeAll(driver -> {
+            pooledDrivers.remove(driver);
+            quitQuietly(driver);
+        });
+        sessionPools.values().forEach(SessionPool::shutdown);
+        prelaunchers.values().forEach(SessionPrelauncher::shutdown);
+        contextHosts.values().forEach(hosts -> {
+            synchronized (hosts) {
+                hosts.forEach(BrowserContextHost::shutdown);
+                hosts.clear();
+            }
+        });
+        for (Path profileDirectory : profileDirectories) {
+            if (profileDirectories.remove(profileDirectory)) {
+                LaunchProfile.deleteProfileDirectory(profileDirectory);
+            }
         }
     }
 
     /**
-     * Quits the WebDriver instance and sets it to null to release resources.
+     * Ends the caller's use of a session. Pooled sessions are handed back to the pool, any other session is quit.
+     * Called by {@link DriverSessions}, which frees the session slot afterwards.
+     *
+     * @param driver The WebDriver instance to close.
      */
-    public static void quitDriver() {
-        if (driver != null) {
+    private static void closeSession(WebDriver driver) {
+        SessionPool pool = pooledDrivers.remove(driver);
+        if (pool != null) {
+            pool.release(driver);
+        } else {
+            quitQuietly(driver);
+        }
+    }
+
+    /**
+     * Quits a session, logging instead of propagating failures from browsers that are already gone.
+     *
+     * @param driver The WebDriver instance to quit.
+     */
+    private static void quitQuietly(WebDriver driver) {
+        try {
             driver.quit();
-            driver = null;
+        } catch (RuntimeException e) {
+            log.warn("Failed to quit WebDriver session: " + e.getMessage());
         }
     }
 }
@@ -0,0 +1,137 @@
+package core;
+
+import org.openqa.selenium.WebDriver;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * DriverSessions binds WebDriver sessions to their callers and caps how many of them are open at the same time.
+ *
+ * <p>In parallel mode every thread gets its own session, otherwise a single session is shared by all callers. Opening
+ * a session waits for one of the session slots, which is freed when the session is closed or when opening it fails.
+ */
+class DriverSessions {
+    private final boolean parallel;
+    private final Supplier<WebDriver> opener;
+    private final Consumer<WebDriver> closer;
+    private final Semaphore permits;
+    private final ThreadLocal<WebDriver> threadDriver = new ThreadLocal<>();
+    private final Set<WebDriver> activeDrivers = ConcurrentHashMap.newKeySet();
+    private WebDriver sharedDriver;
+
+    /**
+     * Constructor for DriverSessions.
+     *
+     * @param parallel    True to bind a session to each thread, false to share one session.
+     * @param maxSessions The maximum number of sessions open at the same time.
+     * @param opener      Opens a session for the calling thread.
+     * @param closer      Ends a session the caller is done with, e.g. by quitting it.
+     */
+    DriverSessions(boolean parallel, int maxSessions, Supplier<WebDriver> opener, Consumer<WebDriver> closer) {
+        this.parallel = parallel;
+        this.opener = opener;
+        this.closer = closer;
+        this.permits = new Semaphore(Math.max(1, maxSessions), true);
+    }
+
+    /**
+     * Retrieves the session bound to the caller, opening one if there is none.
+     *
+     * @return The WebDriver instance.
+     */
+    WebDriver get() {
+        if (parallel) {
+            WebDriver driver = threadDriver.get();
+            if (driver == null) {
+                driver = open();
+                threadDriver.set(driver);
+            }
+            return driver;
+        }
+        synchronized (this) {
+            if (sharedDriver == null) {
+                sharedDriver = open();
+            }
+            return sharedDriver;
+        }
+    }
+
+    /**
+     * @return The session bound to the caller, or null if the caller has none.
+     */
+    WebDriver current() {
+        if (parallel) {
+            return threadDriver.get();
+        }
+        synchronized (this) {
+            return sharedDriver;
+        }
+    }
+
+    /**
+     * Closes the session bound to the caller, if any, and frees its slot.
+     */
+    void close() {
+        WebDriver driver;
+        if (parallel) {
+            driver = threadDriver.get();
+            threadDriver.remove();
+        } else {
+            synchronized (this) {
+                driver = sharedDriver;
+                sharedDriver = null;
+            }
+        }
+        if (driver != null && activeDrivers.remove(driver)) {
+            try {
+                closer.accept(driver);
+            } finally {
+                permits.release();
+            }
+        }
+    }
+
+    /**
+     * Ends every session that is still open, whichever caller it is bound to, and frees their slots.
+     *
+     * @param quit Ends a session for good; unlike the closer it must not hand the session back to a pool.
+     */
+    void closeAll(Consumer<WebDriver> quit) {
+        for (WebDriver driver : activeDrivers) {
+            if (activeDrivers.remove(driver)) {
+                try {
+                    quit.accept(driver);
+                } finally {
+                    permits.release();
+                }
+            }
+        }
+    }
+
+    /**
+     * Opens a session once a slot is free and registers it.
+     *
+     * @return The newly opened WebDriver instance.
+     * @throws IllegalStateException If the thread is interrupted while waiting for a free session slot.
+     */
+    private WebDriver open() {
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a free browser session slot", e);
+        }
+        try {
+            WebDriver driver = opener.get();
+            activeDrivers.add(driver);
+            return driver;
+        } catch (RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+}
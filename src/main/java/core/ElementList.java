@@ -0,0 +1,38 @@
+package core;
+
+import org.openqa.selenium.WebElement;
+
+import java.util.List;
+
+/**
+ * ElementList is a lazily resolved list of web elements with bulk reads for large collections such as table rows.
+ *
+ * <p>`@FindByList` fields declared as `List<WebElement>` or `ElementList` are decorated with an ElementList. The
+ * elements are looked up again on every list call (each `get`, `size` or iteration), and the bulk reads return the
+ * values of every element in a single round trip whenever the driver can run JavaScript.
+ */
+public interface ElementList extends List<WebElement> {
+
+    /**
+     * Resolves the elements once and returns them as a plain list, so they can be iterated repeatedly without new
+     * lookups.
+     *
+     * @return The elements currently matched by the locators.
+     */
+    List<WebElement> snapshot();
+
+    /**
+     * Reads the visible text of every element. Elements that are not rendered yield an empty string.
+     *
+     * @return One text per element, in document order.
+     */
+    List<String> getTexts();
+
+    /**
+     * Reads the value of an HTML attribute of every element.
+     *
+     * @param name The attribute name, e.g. `href`.
+     * @return One value per element, in document order; null where the attribute is absent.
+     */
+    List<String> getAttributes(String name);
+}
@@ -0,0 +1,161 @@
+package core;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.openqa.selenium.By;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * FallbackReport collects the lookups in which a `FindByList` field was only found after one or more of its locators
+ * failed, and how much time those failed locators cost.
+ *
+ * <p>Events are aggregated per field (`page class#field`). When the JVM exits the shared instance writes the fields
+ * sorted by time lost to `locator.fallback.report.file` (default `logs/locator-fallback-report.json`) and logs the
+ * `locator.fallback.report.top` (default 10) worst ones.
+ */
+@Slf4j
+public class FallbackReport {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final FallbackReport SHARED = createShared();
+
+    private final Map<String, Entry> fields = new ConcurrentHashMap<>();
+
+    /**
+     * @return The JVM-wide report fed by {@link CustomElementLocator}.
+     */
+    public static FallbackReport shared() {
+        return SHARED;
+    }
+
+    /**
+     * Records a lookup in which at least one locator failed.
+     *
+     * @param field     The field identifier, e.g. `pages.HomePage#usernameInput`.
+     * @param failed    The locators that did not find the element, in the order they were tried.
+     * @param winner    The locator that found the element, or null if none did.
+     * @param lostNanos The time spent on the failed locators.
+     */
+    public void record(String field, List<By> failed, By winner, long lostNanos) {
+        Entry entry = fields.computeIfAbsent(field, key -> new Entry());
+        entry.events.increment();
+        entry.lostNanos.add(lostNanos);
+        entry.maxLostNanos.accumulateAndGet(lostNanos, Math::max);
+        for (By by : failed) {
+            entry.failed.computeIfAbsent(by.toString(), key -> new LongAdder()).increment();
+        }
+        if (winner != null) {
+            entry.winners.computeIfAbsent(winner.toString(), key -> new LongAdder()).increment();
+        } else {
+            entry.unresolved.increment();
+        }
+    }
+
+    /**
+     * Summarizes the recorded fields, the ones that lost the most time first.
+     *
+     * @return One map per field with its page, field name, event counts, time lost and locator counts.
+     */
+    public List<Map<String, Object>> summary() {
+        List<Map.Entry<String, Entry>> sorted = new ArrayList<>(fields.entrySet());
+        sorted.sort(Comparator.comparingLong((Map.Entry<String, Entry> e) -> -e.getValue().lostNanos.sum())
+                .thenComparing(Map.Entry::getKey));
+        List<Map<String, Object>> summary = new ArrayList<>(sorted.size());
+        for (Map.Entry<String, Entry> field : sorted) {
+            Entry entry = field.getValue();
+            int separator = field.getKey().lastIndexOf('#');
+            long events = entry.events.sum();
+            Map<String, Object> values = new LinkedHashMap<>();
+            values.put("page", separator < 0 ? "" : field.getKey().substring(0, separator));
+            values.put("field", field.getKey().substring(separator + 1));
+            values.put("events", events);
+            values.put("unresolved", entry.unresolved.sum());
+            values.put("timeLostMs", millis(entry.lostNanos.sum()));
+            values.put("meanLostMs", millis(events == 0 ? 0 : entry.lostNanos.sum() / events));
+            values.put("maxLostMs", millis(entry.maxLostNanos.get()));
+            values.put("failedLocators", counts(entry.failed));
+            values.put("winningLocators", counts(entry.winners));
+            summary.add(values);
+        }
+        return summary;
+    }
+
+    /**
+     * Saves the summary as JSON, replacing the file atomically.
+     *
+     * @param file The destination file.
+     * @throws IOException If the file cannot be written.
+     */
+    public void save(Path file) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path temp = Files.createTempFile(parent, "locator-fallback-report", ".tmp");
+        MAPPER.writerWithDefaultPrettyPrinter().writeValue(temp.toFile(), Map.of("fields", summary()));
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static Map<String, Long> counts(Map<String, LongAdder> adders) {
+        Map<String, Long> counts = new TreeMap<>();
+        adders.forEach((key, adder) -> counts.put(key, adder.sum()));
+        return counts;
+    }
+
+    private static double millis(long nanos) {
+        return Math.round(nanos / 1_000.0) / 1_000.0;
+    }
+
+    /**
+     * Creates the shared instance, which saves the report and logs the worst fields at shutdown.
+     *
+     * @return The shared FallbackReport instance.
+     */
+    private static FallbackReport createShared() {
+        FallbackReport report = new FallbackReport();
+        FrameworkConfig config = FrameworkConfig.base();
+        Path file = Paths.get(config.getProperty("locator.fallback.report.file", "logs/locator-fallback-report.json"));
+        int top = config.getIntProperty("locator.fallback.report.top", 10);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            if (report.fields.isEmpty()) {
+                return;
+            }
+            List<Map<String, Object>> summary = report.summary();
+            StringBuilder worst = new StringBuilder("Fields that lost the most time on locator fallbacks:");
+            summary.stream().limit(top).forEach(field -> worst.append(System.lineSeparator())
+                    .append("  ").append(field.get("page")).append('#').append(field.get("field"))
+                    .append(": ").append(field.get("timeLostMs")).append(" ms in ").append(field.get("events"))
+                    .append(" fallbacks, found by ").append(field.get("winningLocators")));
+            log.warn(worst.toString());
+            try {
+                report.save(file);
+            } catch (IOException e) {
+                log.warn("Could not save the locator fallback report to " + file + ": " + e.getMessage());
+            }
+        }, "locator-fallback-report-shutdown"));
+        return report;
+    }
+
+    /**
+     * Aggregated fallback events of a single field.
+     */
+    private static class Entry {
+        private final LongAdder events = new LongAdder();
+        private final LongAdder unresolved = new LongAdder();
+        private final LongAdder lostNanos = new LongAdder();
+        private final AtomicLong maxLostNanos = new AtomicLong();
+        private final Map<String, LongAdder> failed = new ConcurrentHashMap<>();
+        private final Map<String, LongAdder> winners = new ConcurrentHashMap<>();
+    }
+}
@@ -0,0 +1,262 @@
+package core;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+
+/**
+ * FrameworkConfig is an immutable, typed snapshot of the framework configuration.
+ *
+ * <p>The base snapshot is resolved once from four layers, each overriding the previous one:
+ * <ol>
+ *     <li>`config.properties`;</li>
+ *     <li>environment variables named `UIWL_` plus the key in upper case with `_` instead of `.`, e.g.
+ *     `UIWL_HEADLESS_MODE`;</li>
+ *     <li>system properties with the key as name, e.g. `-Dheadless.mode=true`;</li>
+ *     <li>per-worker overrides bound to the current thread with {@link #overrideForCurrentThread(Map)}.</li>
+ * </ol>
+ * The settings read on every launch or interaction are parsed when the snapshot is built, so reading them is a field
+ * access. Workers running in parallel can each bind their own overrides, e.g. to run a chrome/firefox ×
+ * headless/headed matrix in a single JVM.
+ */
+@Slf4j
+public final class FrameworkConfig {
+    private static final String ENVIRONMENT_PREFIX = "UIWL_";
+    private static final Set<String> SETTLE_MODES = Set.of("SETTLED", "FIXED");
+    private static final FrameworkConfig BASE =
+            resolve(ConfigReader.fileProperties(), System.getenv(), System.getProperties());
+    private static final ThreadLocal<FrameworkConfig> workerConfig = new ThreadLocal<>();
+
+    private final Map<String, String> values;
+    private final String browser;
+    private final boolean headless;
+    private final boolean maximize;
+    private final Duration waitTimeout;
+    private final Duration interactionTimeout;
+    private final String settleMode;
+    private final Duration settleQuietWindow;
+    private final int stabilityFrames;
+
+    private FrameworkConfig(Map<String, String> values) {
+        this.values = Map.copyOf(values);
+        this.browser = getProperty("browser", "chrome").toLowerCase(Locale.ROOT);
+        this.headless = getBooleanProperty("headless.mode", false);
+        this.maximize = getBooleanProperty("maximize.mode", false);
+        this.waitTimeout = Duration.ofSeconds(getIntProperty("wait.timeout.seconds", 3));
+        this.interactionTimeout = Duration.ofSeconds(getIntProperty("wait.interaction.timeout.seconds", 10));
+        this.settleMode = getProperty("settle.mode", "settled").trim().toUpperCase(Locale.ROOT);
+        if (!SETTLE_MODES.contains(settleMode)) {
+            throw new IllegalArgumentException("settle.mode not supported: " + getProperty("settle.mode", null)
+                    + ", expected settled or fixed");
+        }
+        this.settleQuietWindow = Duration.ofMillis(getIntProperty("settle.quiet.millis", 100));
+        this.stabilityFrames = getIntProperty("stability.frames", 3);
+    }
+
+    /**
+     * Layers the configuration sources into a snapshot.
+     *
+     * @param file        The properties loaded from `config.properties`.
+     * @param environment The environment variables.
+     * @param system      The system properties.
+     * @return The resolved snapshot.
+     * @throws IllegalArgumentException If `settle.mode` is neither `settled` nor `fixed`.
+     */
+    static FrameworkConfig resolve(Properties file, Map<String, String> environment, Properties system) {
+        Map<String, String> values = new HashMap<>();
+        file.stringPropertyNames().forEach(key -> values.put(key, file.getProperty(key)));
+        environment.forEach((name, value) -> {
+            if (name.startsWith(ENVIRONMENT_PREFIX)) {
+                String key = name.substring(ENVIRONMENT_PREFIX.length()).toLowerCase(Locale.ROOT).replace('_', '.');
+                values.put(key, value);
+            }
+        });
+        system.stringPropertyNames().forEach(key -> values.put(key, system.getProperty(key)));
+        return new FrameworkConfig(values);
+    }
+
+    /**
+     * @return The snapshot shared by the JVM, without per-worker overrides. JVM-wide settings such as
+     * `parallel.mode` are read from it.
+     */
+    public static FrameworkConfig base() {
+        return BASE;
+    }
+
+    /**
+     * @return The snapshot bound to the current thread, or the base snapshot if the thread has no overrides.
+     */
+    public static FrameworkConfig current() {
+        FrameworkConfig config = workerConfig.get();
+        return config != null ? config : BASE;
+    }
+
+    /**
+     * Binds the base snapshot plus the given overrides to the current thread until
+     * {@link #clearCurrentThread()} is called.
+     *
+     * @param overrides The keys to override and their values.
+     * @return The snapshot now bound to the current thread.
+     * @throws IllegalArgumentException If `settle.mode` is neither `settled` nor `fixed`.
+     */
+    public static FrameworkConfig overrideForCurrentThread(Map<String, String> overrides) {
+        FrameworkConfig config = BASE.withOverrides(overrides);
+        workerConfig.set(config);
+        return config;
+    }
+
+    /**
+     * Removes the overrides bound to the current thread.
+     */
+    public static void clearCurrentThread() {
+        workerConfig.remove();
+    }
+
+    /**
+     * Creates a snapshot with some keys overridden, leaving this one unchanged.
+     *
+     * @param overrides The keys to override and their values.
+     * @return The new snapshot.
+     * @throws IllegalArgumentException If `settle.mode` is neither `settled` nor `fixed`.
+     */
+    public FrameworkConfig withOverrides(Map<String, String> overrides) {
+        if (overrides.isEmpty()) {
+            return this;
+        }
+        Map<String, String> merged = new HashMap<>(values);
+        merged.putAll(overrides);
+        return new FrameworkConfig(merged);
+    }
+
+    /**
+     * @return The browser to launch, in lower case (`browser`, default `chrome`).
+     */
+    public String browser() {
+        return browser;
+    }
+
+    /**
+     * @return True if the browser runs without a window (`headless.mode`).
+     */
+    public boolean isHeadless() {
+        return headless;
+    }
+
+    /**
+     * @return True if the browser window is maximized after launch (`maximize.mode`).
+     */
+    public boolean isMaximize() {
+        return maximize;
+    }
+
+    /**
+     * @return The timeout of visibility and clickability waits (`wait.timeout.seconds`, default 3).
+     */
+    public Duration waitTimeout() {
+        return waitTimeout;
+    }
+
+    /**
+     * @return The timeout of text input and UI settling waits (`wait.interaction.timeout.seconds`, default 10).
+     */
+    public Duration interactionTimeout() {
+        return interactionTimeout;
+    }
+
+    /**
+     * @return The name of the settle strategy in upper case, `SETTLED` or `FIXED` (`settle.mode`, default `SETTLED`),
+     * validated when the snapshot is built.
+     */
+    public String settleMode() {
+        return settleMode;
+    }
+
+    /**
+     * @return How long the page must stay quiet to be considered settled (`settle.quiet.millis`, default 100).
+     */
+    public Duration settleQuietWindow() {
+        return settleQuietWindow;
+    }
+
+    /**
+     * @return The number of animation frames an element must keep its position to be stable (`stability.frames`).
+     */
+    public int stabilityFrames() {
+        return stabilityFrames;
+    }
+
+    /**
+     * Identifies the launch settings of this snapshot. Sessions launched from snapshots with the same profile are
+     * interchangeable, e.g. they can be shared by a session pool.
+     *
+     * @return The browser, headless, maximize and `launch.profile` settings as a single key.
+     */
+    public String sessionProfile() {
+        String launchProfile = getProperty("launch.profile", "default").toLowerCase(Locale.ROOT);
+        return browser + (headless ? ":headless" : ":headed") + (maximize ? ":maximized" : "")
+                + ("default".equals(launchProfile) ? "" : ":" + launchProfile);
+    }
+
+    /**
+     * Retrieves the value for a specified key.
+     *
+     * @param key The property key to search for.
+     * @return The value associated with the key, or null if not found.
+     */
+    public String getProperty(String key) {
+        return values.get(key);
+    }
+
+    /**
+     * Retrieves the value for a specified key, falling back to a default when it is missing or blank.
+     *
+     * @param key          The property key to search for.
+     * @param defaultValue The value returned when the key is not configured.
+     * @return The configured value, or the default value.
+     */
+    public String getProperty(String key, String defaultValue) {
+        String value = values.get(key);
+        return value == null || value.isBlank() ? defaultValue : value.trim();
+    }
+
+    /**
+     * Retrieves a boolean value, falling back to a default when it is missing or blank.
+     *
+     * @param key          The property key to search for.
+     * @param defaultValue The value returned when the key is not configured.
+     * @return The parsed boolean value, or the default value.
+     */
+    public boolean getBooleanProperty(String key, boolean defaultValue) {
+        return Boolean.parseBoolean(getProperty(key, String.valueOf(defaultValue)));
+    }
+
+    /**
+     * Retrieves an integer value, falling back to a default when it is missing, blank or not a number.
+     *
+     * @param key          The property key to search for.
+     * @param defaultValue The value returned when the key is not configured.
+     * @return The parsed integer value, or the default value.
+     */
+    public int getIntProperty(String key, int defaultValue) {
+        String value = getProperty(key, null);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            log.warn("Invalid integer for property " + key + ": " + value + ", using " + defaultValue);
+            return defaultValue;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "FrameworkConfig " + sessionProfile();
+    }
+}
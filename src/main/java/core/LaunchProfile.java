@@ -0,0 +1,185 @@
+package core;
+
+import lombok.extern.slf4j.Slf4j;
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.PageLoadStrategy;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.firefox.FirefoxOptions;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * LaunchProfile holds the browser launch settings that trade fidelity for speed, resolved from `launch.profile`.
+ *
+ * <p>The `default` profile keeps the browser defaults. The `fast` profile turns every setting on; each one can still
+ * be set individually:
+ * <ul>
+ *     <li>`launch.page.load.strategy`: `normal`, `eager` (fast default) or `none`;</li>
+ *     <li>`launch.block.images`: do not download images;</li>
+ *     <li>`launch.block.media`: block autoplay and mute audio;</li>
+ *     <li>`launch.disable.background`: turn off extensions, sync, updates, telemetry and other background
+ *     services;</li>
+ *     <li>`launch.ram.profile`: use a throwaway profile directory under `/dev/shm` when available;</li>
+ *     <li>`launch.viewport`: a fixed `WIDTHxHEIGHT` viewport (fast default `1920x1080`), used instead of
+ *     maximizing.</li>
+ * </ul>
+ * The settings apply to Chrome and Firefox; other browsers keep their defaults.
+ *
+ * @param name               The profile name.
+ * @param pageLoadStrategy   The page load strategy.
+ * @param blockImages        True to block images.
+ * @param blockMedia         True to block media autoplay and audio.
+ * @param disableBackground  True to turn off background services.
+ * @param ramProfile         True to use a throwaway RAM-backed profile directory.
+ * @param viewport           The fixed viewport, or null to keep the window size.
+ */
+@Slf4j
+public record LaunchProfile(String name, PageLoadStrategy pageLoadStrategy, boolean blockImages, boolean blockMedia,
+                            boolean disableBackground, boolean ramProfile, Dimension viewport) {
+    private static final Path SHARED_MEMORY = Paths.get("/dev/shm");
+
+    /**
+     * Resolves the launch profile of a configuration snapshot.
+     *
+     * @param config The configuration snapshot.
+     * @return The launch profile.
+     */
+    public static LaunchProfile from(FrameworkConfig config) {
+        String name = config.getProperty("launch.profile", "default").toLowerCase(Locale.ROOT);
+        boolean fast = "fast".equals(name);
+        if (!fast && !"default".equals(name)) {
+            throw new IllegalArgumentException("Launch profile not supported: " + name);
+        }
+        String strategy = config.getProperty("launch.page.load.strategy", fast ? "eager" : "normal");
+        String viewport = config.getProperty("launch.viewport", fast ? "1920x1080" : null);
+        return new LaunchProfile(name,
+                PageLoadStrategy.fromString(strategy.toLowerCase(Locale.ROOT)),
+                config.getBooleanProperty("launch.block.images", fast),
+                config.getBooleanProperty("launch.block.media", fast),
+                config.getBooleanProperty("launch.disable.background", fast),
+                config.getBooleanProperty("launch.ram.profile", fast),
+                viewport != null ? parseViewport(viewport) : null);
+    }
+
+    /**
+     * Applies the profile to Chrome options.
+     *
+     * @param options          The options to configure.
+     * @param profileDirectory The throwaway profile directory, or null.
+     */
+    public void apply(ChromeOptions options, Path profileDirectory) {
+        options.setPageLoadStrategy(pageLoadStrategy);
+        Map<String, Object> prefs = new HashMap<>();
+        if (blockImages) {
+            prefs.put("profile.managed_default_content_settings.images", 2);
+            options.addArguments("--blink-settings=imagesEnabled=false");
+        }
+        if (blockMedia) {
+            options.addArguments("--autoplay-policy=user-gesture-required", "--mute-audio");
+        }
+        if (disableBackground) {
+            options.addArguments("--disable-extensions", "--disable-background-networking", "--disable-sync",
+                    "--disable-component-update", "--disable-default-apps", "--disable-client-side-phishing-detection",
+                    "--disable-domain-reliability", "--metrics-recording-only", "--no-first-run",
+                    "--no-default-browser-check", "--disable-features=Translate,OptimizationHints,MediaRouter");
+        }
+        if (profileDirectory != null) {
+            options.addArguments("--user-data-dir=" + profileDirectory);
+        }
+        if (viewport != null) {
+            options.addArguments("--window-size=" + viewport.getWidth() + "," + viewport.getHeight());
+        }
+        if (!prefs.isEmpty()) {
+            options.setExperimentalOption("prefs", prefs);
+        }
+    }
+
+    /**
+     * Applies the profile to Firefox options.
+     *
+     * @param options          The options to configure.
+     * @param profileDirectory The throwaway profile directory, or null.
+     */
+    public void apply(FirefoxOptions options, Path profileDirectory) {
+        options.setPageLoadStrategy(pageLoadStrategy);
+        if (blockImages) {
+            options.addPreference("permissions.default.image", 2);
+        }
+        if (blockMedia) {
+            options.addPreference("media.autoplay.default", 5);
+            options.addPreference("media.volume_scale", "0.0");
+        }
+        if (disableBackground) {
+            options.addPreference("app.update.auto", false);
+            options.addPreference("app.update.enabled", false);
+            options.addPreference("extensions.update.enabled", false);
+            options.addPreference("browser.search.update", false);
+            options.addPreference("browser.shell.checkDefaultBrowser", false);
+            options.addPreference("browser.safebrowsing.malware.enabled", false);
+            options.addPreference("browser.safebrowsing.phishing.enabled", false);
+            options.addPreference("datareporting.healthreport.uploadEnabled", false);
+            options.addPreference("datareporting.policy.dataSubmissionEnabled", false);
+            options.addPreference("toolkit.telemetry.enabled", false);
+            options.addPreference("network.prefetch-next", false);
+            options.addPreference("network.dns.disablePrefetch", true);
+        }
+        if (profileDirectory != null) {
+            options.addArguments("-profile", profileDirectory.toString());
+        }
+        if (viewport != null) {
+            options.addArguments("--width=" + viewport.getWidth(), "--height=" + viewport.getHeight());
+        }
+    }
+
+    /**
+     * Creates the throwaway profile directory of a session, under `/dev/shm` when it exists and the temporary
+     * directory otherwise.
+     *
+     * @return The new directory, or null if the profile does not use one.
+     * @throws IllegalStateException If the directory cannot be created.
+     */
+    public Path createProfileDirectory() {
+        if (!ramProfile) {
+            return null;
+        }
+        try {
+            return Files.isDirectory(SHARED_MEMORY) && Files.isWritable(SHARED_MEMORY)
+                    ? Files.createTempDirectory(SHARED_MEMORY, "uiwl-profile-")
+                    : Files.createTempDirectory("uiwl-profile-");
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not create a browser profile directory", e);
+        }
+    }
+
+    /**
+     * Deletes a throwaway profile directory and everything in it, logging instead of failing.
+     *
+     * @param directory The directory created by {@link #createProfileDirectory()}.
+     */
+    public static void deleteProfileDirectory(Path directory) {
+        if (directory == null || !Files.exists(directory)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(directory)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        } catch (IOException e) {
+            log.warn("Could not delete the browser profile directory " + directory + ": " + e.getMessage());
+        }
+    }
+
+    private static Dimension parseViewport(String viewport) {
+        String[] size = viewport.toLowerCase(Locale.ROOT).split("x");
+        if (size.length != 2) {
+            throw new IllegalArgumentException("Invalid launch.viewport, expected WIDTHxHEIGHT: " + viewport);
+        }
+        return new Dimension(Integer.parseInt(size[0].trim()), Integer.parseInt(size[1].trim()));
+    }
+}
@@ -0,0 +1,220 @@
+package core;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.Point;
+import org.openqa.selenium.Rectangle;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WrapsElement;
+import org.openqa.selenium.interactions.Coordinates;
+import org.openqa.selenium.interactions.Locatable;
+import org.openqa.selenium.support.pagefactory.ElementLocator;
+
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * LocatingElement is the element injected by generated page initializers. It behaves like the JDK proxies created by
+ * the reflective page factory: every call looks the element up through its {@link ElementLocator} and is then
+ * delegated to the element found, but it is a plain class, so creating it costs a single allocation.
+ *
+ * <p>When the locator is a caching {@link CustomElementLocator}, a call that fails because the cached element is stale
+ * drops the cache and is retried once, like {@link CachingElementHandler}.
+ *
+ * <p>The element also exposes the locators it was declared with, so batch operations can resolve many elements inside
+ * the browser in a single script call instead of looking each one up first. Unlike the proxies, equality is the
+ * identity of the field value, so using page elements as map keys does not query the browser.
+ */
+public class LocatingElement implements WebElement, WrapsElement, Locatable {
+    private final ElementLocator locator;
+    private final List<By> locators;
+
+    /**
+     * Constructor for LocatingElement.
+     *
+     * @param locator The locator used to resolve the element on each call.
+     */
+    public LocatingElement(ElementLocator locator) {
+        this(locator, null);
+    }
+
+    /**
+     * Constructor for a LocatingElement whose declared locators are known.
+     *
+     * @param locator  The locator used to resolve the element on each call.
+     * @param locators The locators of the field in priority order, or null if they are unknown.
+     */
+    public LocatingElement(ElementLocator locator, List<By> locators) {
+        this.locator = locator;
+        this.locators = locators;
+    }
+
+    /**
+     * @return The locators of the field in priority order, or null if they are unknown.
+     */
+    public List<By> getLocators() {
+        return locators;
+    }
+
+    @Override
+    public WebElement getWrappedElement() {
+        return locator.findElement();
+    }
+
+    @Override
+    public void click() {
+        run(WebElement::click);
+    }
+
+    @Override
+    public void submit() {
+        run(WebElement::submit);
+    }
+
+    @Override
+    public void sendKeys(CharSequence... keysToSend) {
+        run(element -> element.sendKeys(keysToSend));
+    }
+
+    @Override
+    public void clear() {
+        run(WebElement::clear);
+    }
+
+    @Override
+    public String getTagName() {
+        return call(WebElement::getTagName);
+    }
+
+    @Override
+    public String getDomProperty(String name) {
+        return call(element -> element.getDomProperty(name));
+    }
+
+    @Override
+    public String getDomAttribute(String name) {
+        return call(element -> element.getDomAttribute(name));
+    }
+
+    @Override
+    public String getAttribute(String name) {
+        return call(element -> element.getAttribute(name));
+    }
+
+    @Override
+    public String getAriaRole() {
+        return call(WebElement::getAriaRole);
+    }
+
+    @Override
+    public String getAccessibleName() {
+        return call(WebElement::getAccessibleName);
+    }
+
+    @Override
+    public boolean isSelected() {
+        return call(WebElement::isSelected);
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return call(WebElement::isEnabled);
+    }
+
+    @Override
+    public String getText() {
+        return call(WebElement::getText);
+    }
+
+    @Override
+    public List<WebElement> findElements(By by) {
+        return call(element -> element.findElements(by));
+    }
+
+    @Override
+    public WebElement findElement(By by) {
+        return call(element -> element.findElement(by));
+    }
+
+    @Override
+    public SearchContext getShadowRoot() {
+        return call(WebElement::getShadowRoot);
+    }
+
+    @Override
+    public boolean isDisplayed() {
+        return call(WebElement::isDisplayed);
+    }
+
+    @Override
+    public Point getLocation() {
+        return call(WebElement::getLocation);
+    }
+
+    @Override
+    public Dimension getSize() {
+        return call(WebElement::getSize);
+    }
+
+    @Override
+    public Rectangle getRect() {
+        return call(WebElement::getRect);
+    }
+
+    @Override
+    public String getCssValue(String propertyName) {
+        return call(element -> element.getCssValue(propertyName));
+    }
+
+    @Override
+    public <X> X getScreenshotAs(OutputType<X> target) {
+        return call(element -> element.getScreenshotAs(target));
+    }
+
+    @Override
+    public Coordinates getCoordinates() {
+        return call(element -> ((Locatable) element).getCoordinates());
+    }
+
+    @Override
+    public String toString() {
+        try {
+            return locator.findElement().toString();
+        } catch (NoSuchElementException e) {
+            return "Proxy element for: " + locator;
+        }
+    }
+
+    private void run(Consumer<WebElement> action) {
+        call(element -> {
+            action.accept(element);
+            return null;
+        });
+    }
+
+    /**
+     * Resolves the element and applies an action to it, retrying once against a fresh element when a cached one is
+     * stale.
+     *
+     * @param action The call to delegate.
+     * @param <R>    The type of the call result.
+     * @return The call result.
+     */
+    private <R> R call(Function<WebElement, R> action) {
+        WebElement element = locator.findElement();
+        if (!(locator instanceof CustomElementLocator custom) || !custom.isCaching()) {
+            return action.apply(element);
+        }
+        try {
+            return action.apply(element);
+        } catch (StaleElementReferenceException e) {
+            custom.invalidate();
+            return action.apply(locator.findElement());
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package core;
+
+import com.google.common.collect.ForwardingList;
+import org.openqa.selenium.WebElement;
+
+import java.util.List;
+
+/**
+ * LocatingElementList is the {@link ElementList} injected into `@FindByList` list fields.
+ *
+ * <p>Every list operation resolves the elements again through the {@link CustomElementLocator}: a for-each loop or
+ * stream costs one lookup, but every `get(i)` and `size()` call costs its own, so an indexed loop over n rows makes
+ * 2n + 1 lookups. Use {@link #snapshot()} to index the elements of a single lookup. Bulk reads are delegated to the
+ * locator, which answers them in one script call when the driver supports JavaScript.
+ */
+public class LocatingElementList extends ForwardingList<WebElement> implements ElementList {
+    private final CustomElementLocator locator;
+
+    /**
+     * Constructor for LocatingElementList.
+     *
+     * @param locator The locator used to resolve the elements on each access.
+     */
+    public LocatingElementList(CustomElementLocator locator) {
+        this.locator = locator;
+    }
+
+    @Override
+    protected List<WebElement> delegate() {
+        return locator.findElements();
+    }
+
+    @Override
+    public List<WebElement> snapshot() {
+        return List.copyOf(locator.findElements());
+    }
+
+    @Override
+    public List<String> getTexts() {
+        return locator.readAll("text", null);
+    }
+
+    @Override
+    public List<String> getAttributes(String name) {
+        return locator.readAll("attribute", name);
+    }
+
+    @Override
+    public String toString() {
+        return "Proxy element list for: " + locator;
+    }
+}
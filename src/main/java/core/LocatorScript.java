@@ -0,0 +1,170 @@
+package core;
+
+import org.openqa.selenium.By;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * LocatorScript resolves an ordered list of locators inside the browser, so a whole fallback chain costs a single
+ * `executeScript` round trip instead of one `findElement` call per locator.
+ *
+ * <p>Locators are sent as their W3C strategy and value, taken from {@link By.Remotable}. ID, name and class name
+ * locators are converted to CSS selectors the way Selenium converts them for W3C drivers; the script additionally
+ * evaluates XPath, tag name, link text and partial link text. Locators that are not remotable, such as chained
+ * locators, cannot be resolved by the script.
+ */
+public final class LocatorScript {
+    /**
+     * Returns `[index, element]` for the first locator that matches, or null when none does.
+     * Arguments: the `[[using, value], ...]` locator list.
+     */
+    static final String FIND_FIRST = """
+            var locators = arguments[0];
+            %s
+            for (var i = 0; i < locators.length; i++) {
+              var found = uiwlFind(locators[i][0], locators[i][1], false);
+              if (found.length) { return [i, found[0]]; }
+            }
+            return null;
+            """.formatted(finderFunction());
+
+    /**
+     * Returns `[index, elements]` for the first locator that matches at least one element, or null when none does.
+     * Arguments: the `[[using, value], ...]` locator list.
+     */
+    static final String FIND_ALL = """
+            var locators = arguments[0];
+            %s
+            for (var i = 0; i < locators.length; i++) {
+              var found = uiwlFind(locators[i][0], locators[i][1], true);
+              if (found.length) { return [i, found]; }
+            }
+            return null;
+            """.formatted(finderFunction());
+
+    /**
+     * Returns `[index, values]` with one value per element matched by the first matching locator, or null when none
+     * matches. Arguments: the locator list, then `text` or `attribute`, then the attribute name.
+     */
+    static final String READ_ALL = """
+            var locators = arguments[0], property = arguments[1], name = arguments[2];
+            %s
+            %s
+            for (var i = 0; i < locators.length; i++) {
+              var found = uiwlFind(locators[i][0], locators[i][1], true);
+              if (found.length) { return [i, uiwlRead(found, property, name)]; }
+            }
+            return null;
+            """.formatted(finderFunction(), readerFunction());
+
+    /**
+     * Returns one value per element passed as the first argument. Arguments: the elements, then `text` or
+     * `attribute`, then the attribute name.
+     */
+    static final String READ_ELEMENTS = """
+            %s
+            return uiwlRead(arguments[0], arguments[1], arguments[2]);
+            """.formatted(readerFunction());
+
+    private LocatorScript() {
+    }
+
+    /**
+     * Converts locators to the `[using, value]` pairs understood by the scripts.
+     *
+     * @param bys The locators to convert.
+     * @return The converted locators, or null if at least one of them is not remotable.
+     */
+    public static List<List<String>> parameters(List<By> bys) {
+        List<List<String>> parameters = new ArrayList<>(bys.size());
+        for (By by : bys) {
+            if (!(by instanceof By.Remotable remotable)) {
+                return null;
+            }
+            By.Remotable.Parameters remote = remotable.getRemoteParameters();
+            String value = String.valueOf(remote.value());
+            parameters.add(switch (remote.using()) {
+                case "id" -> List.of("css selector", "#" + cssEscape(value));
+                case "class name" -> List.of("css selector", "." + cssEscape(value));
+                case "name" -> List.of("css selector", "*[name='" + value.replace("'", "\\'") + "']");
+                default -> List.of(remote.using(), value);
+            });
+        }
+        return Collections.unmodifiableList(parameters);
+    }
+
+    /**
+     * Escapes an identifier for use in a CSS selector, as Selenium does for W3C drivers.
+     *
+     * @param identifier The id or class name.
+     * @return The escaped identifier.
+     */
+    private static String cssEscape(String identifier) {
+        String escaped = identifier.replaceAll("([\\s'\"\\\\#.:;,!?+<>=~*^$|%&@`{}\\-/\\[\\]()])", "\\\\$1");
+        if (!escaped.isEmpty() && Character.isDigit(escaped.charAt(0))) {
+            escaped = "\\" + (30 + Character.digit(escaped.charAt(0), 10)) + " " + escaped.substring(1);
+        }
+        return escaped;
+    }
+
+    /**
+     * JavaScript function `uiwlRead(elements, property, name)` reading the rendered text (empty for elements that are
+     * not rendered, like `getText()`) or the value of an attribute of each element.
+     *
+     * @return The function source.
+     */
+    public static String readerFunction() {
+        return """
+                function uiwlRead(elements, property, name) {
+                  return Array.prototype.map.call(elements, function (el) {
+                    if (property === 'attribute') { return el.getAttribute(name); }
+                    if (!el.getClientRects().length) { return ''; }
+                    return (el.innerText || el.textContent || '').trim();
+                  });
+                }
+                """;
+    }
+
+    /**
+     * JavaScript function `uiwlFind(using, value, all)` evaluating one W3C locator strategy against the document.
+     * Invalid selectors are reported as no match so the next locator is tried.
+     *
+     * @return The function source.
+     */
+    public static String finderFunction() {
+        return """
+                function uiwlFind(using, value, all) {
+                  var result = [];
+                  try {
+                    if (using === 'css selector') {
+                      if (!all) { var el = document.querySelector(value); return el ? [el] : []; }
+                      return Array.prototype.slice.call(document.querySelectorAll(value));
+                    }
+                    if (using === 'tag name') {
+                      result = Array.prototype.slice.call(document.getElementsByTagName(value));
+                    } else if (using === 'xpath') {
+                      var snapshot = document.evaluate(value, document, null, XPathResult.ORDERED_NODE_SNAPSHOT_TYPE, null);
+                      for (var i = 0; i < snapshot.snapshotLength; i++) {
+                        var node = snapshot.snapshotItem(i);
+                        if (node.nodeType === 1) { result.push(node); if (!all) { break; } }
+                      }
+                    } else if (using === 'link text' || using === 'partial link text') {
+                      var links = document.getElementsByTagName('a');
+                      for (var j = 0; j < links.length; j++) {
+                        var text = (links[j].innerText || links[j].textContent || '').trim();
+                        if (using === 'link text' ? text === value : text.indexOf(value) !== -1) {
+                          result.push(links[j]);
+                          if (!all) { break; }
+                        }
+                      }
+                    }
+                  } catch (e) {
+                    return [];
+                  }
+                  return all ? result : result.slice(0, 1);
+                }
+                """;
+    }
+}
@@ -0,0 +1,297 @@
+package core;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.openqa.selenium.By;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * LocatorStats records how often each `FindByList` locator finds its element and how long the lookup takes, and
+ * uses those numbers to try the locator most likely to succeed first.
+ *
+ * <p>Statistics are keyed by field (`page class#field`) and by locator. Within a run, locators are ranked by a
+ * recency-weighted hit rate, so a long-trusted locator that breaks drops behind the others after a few misses. The
+ * shared instance is loaded from `locator.stats.file` (default `logs/locator-stats.json`) so a new run starts with the
+ * learned order. The persisted counts lose half their weight every `locator.stats.half.life.days` (default 7) and
+ * locators that fall below half a lookup are dropped. At exit the file is re-read under a lock and only this JVM's
+ * lookups are added, so parallel forks do not overwrite each other. Setting `locator.order=strict` keeps the
+ * annotation order while still recording stats.
+ */
+@Slf4j
+public class LocatorStats {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final List<String> COUNTERS = List.of("hits", "misses", "hitNanos", "missNanos");
+    private static final double RECENT_WEIGHT = 0.2;
+    private static final boolean ADAPTIVE =
+            !"strict".equalsIgnoreCase(FrameworkConfig.base().getProperty("locator.order", "adaptive"));
+    private static final LocatorStats SHARED = createShared();
+
+    private final Map<String, Map<String, Entry>> fields = new ConcurrentHashMap<>();
+    private final Duration halfLife;
+
+    /**
+     * Constructor for LocatorStats, with persisted counts halving every 7 days.
+     */
+    public LocatorStats() {
+        this(Duration.ofDays(7));
+    }
+
+    /**
+     * Constructor for LocatorStats.
+     *
+     * @param halfLife The age at which persisted counts weigh half as much.
+     */
+    public LocatorStats(Duration halfLife) {
+        this.halfLife = halfLife;
+    }
+
+    /**
+     * @return The JVM-wide statistics used by {@link CustomElementLocator}.
+     */
+    public static LocatorStats shared() {
+        return SHARED;
+    }
+
+    /**
+     * @return True if locators are reordered by their statistics, false if `locator.order=strict`.
+     */
+    public static boolean isAdaptive() {
+        return ADAPTIVE;
+    }
+
+    /**
+     * Records a successful lookup.
+     *
+     * @param field        The field identifier, e.g. `pages.HomePage#usernameInput`.
+     * @param by           The locator that found the element.
+     * @param elapsedNanos The time the lookup took.
+     */
+    public void recordHit(String field, By by, long elapsedNanos) {
+        Entry entry = entry(field, by);
+        entry.observe(true);
+        entry.hits.increment();
+        entry.hitNanos.add(elapsedNanos);
+    }
+
+    /**
+     * Records a failed lookup.
+     *
+     * @param field        The field identifier, e.g. `pages.HomePage#usernameInput`.
+     * @param by           The locator that did not find the element.
+     * @param elapsedNanos The time lost on the lookup.
+     */
+    public void recordMiss(String field, By by, long elapsedNanos) {
+        Entry entry = entry(field, by);
+        entry.observe(false);
+        entry.misses.increment();
+        entry.missNanos.add(elapsedNanos);
+    }
+
+    /**
+     * Orders the locators of a field so that the one most likely to succeed comes first. Locators are ranked by
+     * their recent hit rate, then by their mean lookup time; ties and unknown locators keep the annotation order.
+     *
+     * @param field The field identifier.
+     * @param bys   The locators in annotation order.
+     * @return The locators in the order they should be tried.
+     */
+    public List<By> order(String field, List<By> bys) {
+        Map<String, Entry> entries = fields.get(field);
+        if (entries == null || bys.size() < 2) {
+            return bys;
+        }
+        List<By> ordered = new ArrayList<>(bys);
+        ordered.sort(Comparator
+                .comparingDouble((By by) -> -hitRate(entries.get(by.toString())))
+                .thenComparingDouble(by -> meanNanos(entries.get(by.toString()))));
+        return ordered;
+    }
+
+    /**
+     * Loads previously saved statistics, decayed by their age, adding them to the ones already recorded.
+     *
+     * @param file The JSON file written by {@link #save(Path)}.
+     * @throws IOException If the file cannot be read.
+     */
+    public void load(Path file) throws IOException {
+        read(file).forEach((field, locators) -> locators.forEach((locator, counters) ->
+                fields.computeIfAbsent(field, key -> new ConcurrentHashMap<>())
+                        .computeIfAbsent(locator, key -> new Entry())
+                        .addPast(counters)));
+    }
+
+    /**
+     * Adds the lookups recorded since the last save to the file. The file is re-read under a lock and its counts
+     * decayed by their age, so statistics saved meanwhile by other JVMs are kept; locators that decayed below half a
+     * lookup are dropped. The file is then replaced atomically.
+     *
+     * @param file The destination file.
+     * @throws IOException If the file cannot be read or written.
+     */
+    public void save(Path file) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        try (FileChannel channel = FileChannel.open(parent.resolve(file.getFileName() + ".lock"),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+             FileLock ignored = channel.lock()) {
+            Map<String, Map<String, Map<String, Double>>> snapshot = read(file);
+            fields.forEach((field, locators) -> locators.forEach((locator, entry) -> {
+                Map<String, Double> counters = snapshot.computeIfAbsent(field, key -> new TreeMap<>())
+                        .computeIfAbsent(locator, key -> new LinkedHashMap<>());
+                entry.drain().forEach((name, value) -> counters.merge(name, value, Double::sum));
+            }));
+            snapshot.values().forEach(locators -> locators.values().removeIf(counters ->
+                    counters.getOrDefault("hits", 0.0) + counters.getOrDefault("misses", 0.0) < 0.5));
+            snapshot.values().removeIf(Map::isEmpty);
+            Map<String, Object> document = new LinkedHashMap<>();
+            document.put("savedAt", System.currentTimeMillis());
+            document.put("fields", snapshot);
+            Path temp = Files.createTempFile(parent, "locator-stats", ".tmp");
+            MAPPER.writerWithDefaultPrettyPrinter().writeValue(temp.toFile(), document);
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+    }
+
+    /**
+     * Reads a saved file, scaling its counts by {@code 0.5^(age / halfLife)}.
+     *
+     * @return The counters by field and locator, empty if the file does not exist.
+     */
+    private Map<String, Map<String, Map<String, Double>>> read(Path file) throws IOException {
+        Map<String, Map<String, Map<String, Double>>> snapshot = new TreeMap<>();
+        if (!Files.exists(file) || Files.size(file) == 0) {
+            return snapshot;
+        }
+        JsonNode document = MAPPER.readTree(file.toFile());
+        long now = System.currentTimeMillis();
+        long age = Math.max(0, now - document.path("savedAt").asLong(now));
+        double decay = Math.pow(0.5, (double) age / Math.max(1, halfLife.toMillis()));
+        document.path("fields").fields().forEachRemaining(field -> field.getValue().fields().forEachRemaining(
+                locator -> {
+                    Map<String, Double> counters = new LinkedHashMap<>();
+                    COUNTERS.forEach(name -> counters.put(name, locator.getValue().path(name).asDouble() * decay));
+                    snapshot.computeIfAbsent(field.getKey(), key -> new TreeMap<>()).put(locator.getKey(), counters);
+                }));
+        return snapshot;
+    }
+
+    private Entry entry(String field, By by) {
+        return fields.computeIfAbsent(field, key -> new ConcurrentHashMap<>())
+                .computeIfAbsent(by.toString(), key -> new Entry());
+    }
+
+    private static double hitRate(Entry entry) {
+        return entry == null ? 0.5 : entry.hitRate();
+    }
+
+    private static double meanNanos(Entry entry) {
+        if (entry == null) {
+            return Double.MAX_VALUE;
+        }
+        double lookups = entry.lookups();
+        return lookups == 0 ? Double.MAX_VALUE : entry.nanos() / lookups;
+    }
+
+    /**
+     * Creates the shared instance, loading the persisted statistics and adding this run's to them at shutdown.
+     *
+     * @return The shared LocatorStats instance.
+     */
+    private static LocatorStats createShared() {
+        FrameworkConfig config = FrameworkConfig.base();
+        LocatorStats stats =
+                new LocatorStats(Duration.ofDays(config.getIntProperty("locator.stats.half.life.days", 7)));
+        Path file = Paths.get(config.getProperty("locator.stats.file", "logs/locator-stats.json"));
+        try {
+            stats.load(file);
+        } catch (IOException e) {
+            log.warn("Could not load locator statistics from " + file + ": " + e.getMessage());
+        }
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            if (stats.fields.isEmpty()) {
+                return;
+            }
+            try {
+                stats.save(file);
+            } catch (IOException e) {
+                log.warn("Could not save locator statistics to " + file + ": " + e.getMessage());
+            }
+        }, "locator-stats-shutdown"));
+        return stats;
+    }
+
+    /**
+     * Counters for a single locator of a single field: the decayed counts loaded from disk, the ones recorded by this
+     * JVM since the last save, and a hit rate that weighs each new lookup by {@link #RECENT_WEIGHT}.
+     */
+    private static class Entry {
+        private final LongAdder hits = new LongAdder();
+        private final LongAdder misses = new LongAdder();
+        private final LongAdder hitNanos = new LongAdder();
+        private final LongAdder missNanos = new LongAdder();
+        private final Map<String, Double> past = new LinkedHashMap<>();
+        private double recentHitRate = Double.NaN;
+
+        private synchronized void addPast(Map<String, Double> counters) {
+            counters.forEach((name, value) -> past.merge(name, value, Double::sum));
+        }
+
+        /**
+         * Moves the counts recorded since the last save to the past ones.
+         *
+         * @return The counts recorded since the last save.
+         */
+        private synchronized Map<String, Double> drain() {
+            Map<String, Double> recorded = new LinkedHashMap<>();
+            recorded.put("hits", (double) hits.sumThenReset());
+            recorded.put("misses", (double) misses.sumThenReset());
+            recorded.put("hitNanos", (double) hitNanos.sumThenReset());
+            recorded.put("missNanos", (double) missNanos.sumThenReset());
+            addPast(recorded);
+            return recorded;
+        }
+
+        private synchronized void observe(boolean hit) {
+            double rate = hitRate();
+            recentHitRate = rate + RECENT_WEIGHT * ((hit ? 1 : 0) - rate);
+        }
+
+        /**
+         * @return The recent hit rate, or the smoothed hit rate of all counts before the first lookup of this JVM.
+         */
+        private synchronized double hitRate() {
+            if (!Double.isNaN(recentHitRate)) {
+                return recentHitRate;
+            }
+            double hitCount = past.getOrDefault("hits", 0.0) + hits.sum();
+            return (hitCount + 1) / (lookups() + 2);
+        }
+
+        private synchronized double lookups() {
+            return past.getOrDefault("hits", 0.0) + past.getOrDefault("misses", 0.0) + hits.sum() + misses.sum();
+        }
+
+        private synchronized double nanos() {
+            return past.getOrDefault("hitNanos", 0.0) + past.getOrDefault("missNanos", 0.0)
+                    + hitNanos.sum() + missNanos.sum();
+        }
+    }
+}
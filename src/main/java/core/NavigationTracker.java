@@ -0,0 +1,76 @@
+package core;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.events.EventFiringDecorator;
+import org.openqa.selenium.support.events.WebDriverListener;
+
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * NavigationTracker counts the document changes of a driver so cached element handles know when they are outdated.
+ *
+ * <p>The generation is bumped before every navigation (`get`, `navigate().to/back/forward/refresh`), window or frame
+ * switch and window close issued through the tracked driver. Navigations triggered by the page itself, such as a form
+ * submission, are detected when the browser reports the cached element as stale.
+ */
+public class NavigationTracker implements WebDriverListener {
+    private static final Map<WebDriver, NavigationTracker> trackers = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private final AtomicLong generation = new AtomicLong();
+
+    /**
+     * Decorates a driver so its navigations are tracked.
+     *
+     * @param driver The WebDriver instance to track.
+     * @return The decorated WebDriver instance, which must be used instead of the original one.
+     */
+    public static WebDriver track(WebDriver driver) {
+        NavigationTracker tracker = new NavigationTracker();
+        WebDriver decorated = new EventFiringDecorator<>(tracker).decorate(driver);
+        trackers.put(decorated, tracker);
+        return decorated;
+    }
+
+    /**
+     * Retrieves the tracker of a driver returned by {@link #track(WebDriver)}.
+     *
+     * @param driver The tracked WebDriver instance.
+     * @return The tracker, or null if the driver is not tracked.
+     */
+    public static NavigationTracker of(WebDriver driver) {
+        return trackers.get(driver);
+    }
+
+    /**
+     * @return The number of document changes observed so far.
+     */
+    public long generation() {
+        return generation.get();
+    }
+
+    @Override
+    public void beforeGet(WebDriver driver, String url) {
+        generation.incrementAndGet();
+    }
+
+    @Override
+    public void beforeClose(WebDriver driver) {
+        generation.incrementAndGet();
+    }
+
+    @Override
+    public void beforeAnyNavigationCall(WebDriver.Navigation navigation, Method method, Object[] args) {
+        generation.incrementAndGet();
+    }
+
+    @Override
+    public void beforeAnyWebDriverCall(WebDriver driver, Method method, Object[] args) {
+        if ("switchTo".equals(method.getName())) {
+            generation.incrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package core;
+
+import com.google.common.collect.ForwardingList;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.pagefactory.DefaultElementLocator;
+import org.openqa.selenium.support.pagefactory.ElementLocator;
+
+import java.util.List;
+
+/**
+ * PageElements creates the values stored in page fields by generated {@link PageInitializer}s. The elements and lists
+ * behave like the ones created by the reflective page factory for the same annotations, but no JDK proxy is created.
+ */
+public final class PageElements {
+
+    private PageElements() {
+    }
+
+    /**
+     * Creates the element of a `FindByList` field, or of a `FindBy` field annotated with `CacheElement`.
+     *
+     * @param driver    The WebDriver instance used to locate the element.
+     * @param bys       The locators in annotation order.
+     * @param name      The identifier of the field, e.g. `pages.HomePage#usernameInput`.
+     * @param ttlMillis How long a resolved element may be reused, or 0 to disable the cache.
+     * @return The element.
+     */
+    public static WebElement element(WebDriver driver, List<By> bys, String name, long ttlMillis) {
+        return new LocatingElement(new CustomElementLocator(driver, bys, name, ttlMillis), bys);
+    }
+
+    /**
+     * Creates the element of a `FindBy` field, or of an element field without annotations.
+     *
+     * @param driver      The WebDriver instance used to locate the element.
+     * @param by          The locator of the field.
+     * @param cacheLookup True if the field is annotated with `CacheLookup`.
+     * @return The element.
+     */
+    public static WebElement element(WebDriver driver, By by, boolean cacheLookup) {
+        return new LocatingElement(locator(driver, by, cacheLookup), List.of(by));
+    }
+
+    /**
+     * Creates the list of a `FindByList` list field.
+     *
+     * @param driver The WebDriver instance used to locate the elements.
+     * @param bys    The locators in annotation order.
+     * @param name   The identifier of the field, e.g. `pages.HomePage#rows`.
+     * @return The lazily resolved list.
+     */
+    public static ElementList elementList(WebDriver driver, List<By> bys, String name) {
+        return new LocatingElementList(new CustomElementLocator(driver, bys, name));
+    }
+
+    /**
+     * Creates the list of a `FindBy` list field.
+     *
+     * @param driver      The WebDriver instance used to locate the elements.
+     * @param by          The locator of the field.
+     * @param cacheLookup True if the field is annotated with `CacheLookup`.
+     * @return The list, resolved again on every access.
+     */
+    public static List<WebElement> elements(WebDriver driver, By by, boolean cacheLookup) {
+        ElementLocator locator = locator(driver, by, cacheLookup);
+        return new ForwardingList<>() {
+            @Override
+            protected List<WebElement> delegate() {
+                return locator.findElements();
+            }
+
+            @Override
+            public String toString() {
+                return "Proxy element list for: " + locator;
+            }
+        };
+    }
+
+    private static ElementLocator locator(WebDriver driver, By by, boolean cacheLookup) {
+        return new DefaultElementLocator(driver, new PagePlan.PrecomputedAnnotations(by, cacheLookup));
+    }
+}
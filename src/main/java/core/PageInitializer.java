@@ -0,0 +1,27 @@
+package core;
+
+import org.openqa.selenium.WebDriver;
+
+/**
+ * PageInitializer initializes the element fields declared by one page class without reflection.
+ *
+ * <p>Implementations are generated at compile time by {@link core.processor.PageInitializerProcessor} as
+ * `<Page>_PageInitializer`, next to the page class, and picked up by {@link CustomPageFactory#initElements}. Fields
+ * inherited from a superclass are initialized by the initializer of that superclass.
+ *
+ * @param <T> The page class.
+ */
+public interface PageInitializer<T> {
+    /**
+     * Suffix appended to the page class name, with nested class names joined by `_`, to name its initializer.
+     */
+    String SUFFIX = "_PageInitializer";
+
+    /**
+     * Initializes the element fields declared by the page class.
+     *
+     * @param driver The WebDriver instance used by the element locators.
+     * @param page   The page object whose fields are set.
+     */
+    void initElements(WebDriver driver, T page);
+}
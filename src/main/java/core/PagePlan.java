@@ -0,0 +1,252 @@
+package core;
+
+import core.annotations.CacheElement;
+import core.annotations.FindByList;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WrapsElement;
+import org.openqa.selenium.interactions.Locatable;
+import org.openqa.selenium.support.FindAll;
+import org.openqa.selenium.support.FindBy;
+import org.openqa.selenium.support.FindBys;
+import org.openqa.selenium.support.pagefactory.AbstractAnnotations;
+import org.openqa.selenium.support.pagefactory.Annotations;
+import org.openqa.selenium.support.pagefactory.DefaultElementLocator;
+import org.openqa.selenium.support.pagefactory.ElementLocator;
+import org.openqa.selenium.support.pagefactory.internal.LocatingElementHandler;
+import org.openqa.selenium.support.pagefactory.internal.LocatingElementListHandler;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Proxy;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * PagePlan is the pre-resolved initialization plan of the fields declared by one page class.
+ *
+ * <p>The plan is computed once per class: fields are scanned, annotations are checked, `By` lists are built and a
+ * setter is unreflected for every decorated field. Plans are immutable and cached in a {@link ClassValue}, so they are
+ * safe to share between threads, and initializing a page after the first instance of its class only creates the
+ * element proxies and stores them in the fields.
+ *
+ * <p>Element fields annotated with {@link CacheElement}, or declared by a class annotated with it, are backed by a
+ * caching {@link CustomElementLocator} and a {@link CachingElementHandler}.
+ */
+final class PagePlan {
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+    private static final Class<?>[] ELEMENT_INTERFACES = {WebElement.class, WrapsElement.class, Locatable.class};
+    private static final Class<?>[] LIST_INTERFACES = {List.class};
+
+    private static final ClassValue<PagePlan> PLANS = new ClassValue<>() {
+        @Override
+        protected PagePlan computeValue(Class<?> type) {
+            return build(type);
+        }
+    };
+
+    private final FieldPlan[] fields;
+
+    private PagePlan(FieldPlan[] fields) {
+        this.fields = fields;
+    }
+
+    /**
+     * Retrieves the cached plan of a class, computing it on first use.
+     *
+     * @param type The class whose declared fields are planned. Inherited fields belong to the superclass plan.
+     * @return The plan of the class.
+     */
+    static PagePlan of(Class<?> type) {
+        return PLANS.get(type);
+    }
+
+    /**
+     * Initializes the planned fields of a page object.
+     *
+     * @param driver The WebDriver instance used by the element locators.
+     * @param page   The page object whose fields are set.
+     * @param loader The class loader used to define the element proxies.
+     */
+    void apply(WebDriver driver, Object page, ClassLoader loader) {
+        for (FieldPlan field : fields) {
+            field.apply(driver, page, loader);
+        }
+    }
+
+    /**
+     * @return True if the class declares no decorated field.
+     */
+    boolean isEmpty() {
+        return fields.length == 0;
+    }
+
+    /**
+     * Scans the declared fields of a class and plans the ones the page factory decorates.
+     *
+     * @param type The class to scan.
+     * @return The plan of the class.
+     */
+    private static PagePlan build(Class<?> type) {
+        List<FieldPlan> plans = new ArrayList<>();
+        for (Field field : type.getDeclaredFields()) {
+            if (Modifier.isStatic(field.getModifiers())) {
+                continue;
+            }
+            FieldPlan plan = planField(field);
+            if (plan != null) {
+                plans.add(plan);
+            }
+        }
+        return new PagePlan(plans.toArray(new FieldPlan[0]));
+    }
+
+    /**
+     * Plans a single field following the same rules as the `FindByList` decorator and Selenium's default decorator.
+     *
+     * @param field The field to plan.
+     * @return The field plan, or null if the field is not decorated.
+     */
+    private static FieldPlan planField(Field field) {
+        String name = CustomPageFactory.fieldName(field);
+        boolean element = WebElement.class.isAssignableFrom(field.getType());
+        long ttlMillis = element ? cacheTtlMillis(field) : 0;
+        if (field.isAnnotationPresent(FindByList.class)) {
+            List<By> bys = List.copyOf(CustomPageFactory.constructLocators(field.getAnnotation(FindByList.class)));
+            if (element) {
+                return new FieldPlan(setter(field), Kind.PRIORITIZED_ELEMENT, bys, name, null, false, ttlMillis);
+            } else if (field.getType().isAssignableFrom(LocatingElementList.class)) {
+                return new FieldPlan(setter(field), Kind.PRIORITIZED_LIST, bys, name, null, false, 0);
+            }
+        }
+        if (!element && !isDecoratableList(field)) {
+            return null;
+        }
+        Annotations annotations = new Annotations(field);
+        By by = annotations.buildBy();
+        if (ttlMillis > 0) {
+            return new FieldPlan(setter(field), Kind.PRIORITIZED_ELEMENT, List.of(by), name, null, false, ttlMillis);
+        }
+        return new FieldPlan(setter(field), element ? Kind.ELEMENT : Kind.ELEMENT_LIST, null, null,
+                by, annotations.isLookupCached(), 0);
+    }
+
+    /**
+     * Reads the element cache time to live from the field or, failing that, from its declaring class.
+     *
+     * @param field The element field.
+     * @return The time to live in milliseconds, or 0 if the element is not cached.
+     */
+    private static long cacheTtlMillis(Field field) {
+        CacheElement cache = field.getAnnotation(CacheElement.class);
+        if (cache == null) {
+            cache = field.getDeclaringClass().getAnnotation(CacheElement.class);
+        }
+        return cache != null ? cache.ttlMillis() : 0;
+    }
+
+    /**
+     * Mirrors Selenium's rule for decorating lists: a `List<WebElement>` annotated with `FindBy`, `FindBys` or
+     * `FindAll`.
+     *
+     * @param field The field to check.
+     * @return True if the field is a decoratable element list.
+     */
+    private static boolean isDecoratableList(Field field) {
+        if (!List.class.isAssignableFrom(field.getType())) {
+            return false;
+        }
+        Type genericType = field.getGenericType();
+        if (!(genericType instanceof ParameterizedType parameterized)
+                || !WebElement.class.equals(parameterized.getActualTypeArguments()[0])) {
+            return false;
+        }
+        return field.getAnnotation(FindBy.class) != null
+                || field.getAnnotation(FindBys.class) != null
+                || field.getAnnotation(FindAll.class) != null;
+    }
+
+    /**
+     * Unreflects a setter for the field, made accessible once for the lifetime of the plan.
+     *
+     * @param field The field to set.
+     * @return A setter typed as `(Object, Object)void`.
+     */
+    private static MethodHandle setter(Field field) {
+        try {
+            field.setAccessible(true);
+            return MethodHandles.lookup().unreflectSetter(field).asType(SETTER_TYPE);
+        } catch (IllegalAccessException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private enum Kind {
+        PRIORITIZED_ELEMENT, PRIORITIZED_LIST, ELEMENT, ELEMENT_LIST
+    }
+
+    /**
+     * The pre-resolved plan of a single field.
+     */
+    private record FieldPlan(MethodHandle setter, Kind kind, List<By> bys, String name, By by, boolean cacheLookup,
+                             long ttlMillis) {
+
+        void apply(WebDriver driver, Object page, ClassLoader loader) {
+            Object value = switch (kind) {
+                case PRIORITIZED_ELEMENT -> ttlMillis > 0
+                        ? cachingProxy(loader, new CustomElementLocator(driver, bys, name, ttlMillis))
+                        : elementProxy(loader, new CustomElementLocator(driver, bys, name));
+                case PRIORITIZED_LIST -> new LocatingElementList(new CustomElementLocator(driver, bys, name));
+                case ELEMENT -> elementProxy(loader, standardLocator(driver));
+                case ELEMENT_LIST -> Proxy.newProxyInstance(loader, LIST_INTERFACES,
+                        new LocatingElementListHandler(standardLocator(driver)));
+            };
+            try {
+                setter.invokeExact(page, value);
+            } catch (Throwable e) {
+                throw new RuntimeException(e);
+            }
+        }
+
+        private ElementLocator standardLocator(WebDriver driver) {
+            return new DefaultElementLocator(driver, new PrecomputedAnnotations(by, cacheLookup));
+        }
+
+        private static WebElement elementProxy(ClassLoader loader, ElementLocator locator) {
+            return (WebElement) Proxy.newProxyInstance(loader, ELEMENT_INTERFACES, new LocatingElementHandler(locator));
+        }
+
+        private static WebElement cachingProxy(ClassLoader loader, CustomElementLocator locator) {
+            return (WebElement) Proxy.newProxyInstance(loader, ELEMENT_INTERFACES, new CachingElementHandler(locator));
+        }
+    }
+
+    /**
+     * Annotations whose `By` and cache flag were resolved when the plan was built.
+     */
+    static final class PrecomputedAnnotations extends AbstractAnnotations {
+        private final By by;
+        private final boolean cacheLookup;
+
+        PrecomputedAnnotations(By by, boolean cacheLookup) {
+            this.by = by;
+            this.cacheLookup = cacheLookup;
+        }
+
+        @Override
+        public By buildBy() {
+            return by;
+        }
+
+        @Override
+        public boolean isLookupCached() {
+            return cacheLookup;
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package core;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.events.EventFiringDecorator;
+import org.openqa.selenium.support.events.WebDriverListener;
+
+import java.lang.reflect.Method;
+
+/**
+ * QuitHook runs an action after a driver has quit successfully, e.g. to release resources tied to the session.
+ *
+ * <p>It listens through {@link #afterAnyCall}, which the decorator calls directly, because the decorator can only
+ * reach typed callbacks such as `afterQuit` on public listener classes.
+ */
+final class QuitHook implements WebDriverListener {
+    private final Runnable action;
+
+    private QuitHook(Runnable action) {
+        this.action = action;
+    }
+
+    /**
+     * Decorates a driver so the action runs once it has quit.
+     *
+     * @param driver The WebDriver instance.
+     * @param action The action to run after `quit()` returns.
+     * @return The decorated WebDriver instance, which must be used instead of the original one.
+     */
+    static WebDriver decorate(WebDriver driver, Runnable action) {
+        return new EventFiringDecorator<>(new QuitHook(action)).decorate(driver);
+    }
+
+    @Override
+    public void afterAnyCall(Object target, Method method, Object[] args, Object result) {
+        if (target instanceof WebDriver && "quit".equals(method.getName())) {
+            action.run();
+        }
+    }
+}
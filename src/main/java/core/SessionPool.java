@@ -0,0 +1,257 @@
+package core;
+
+import lombok.extern.slf4j.Slf4j;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.chromium.HasCdp;
+
+import java.net.URI;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.function.Supplier;
+
+/**
+ * SessionPool keeps already-running browser sessions warm so tests do not pay a browser launch each time.
+ *
+ * <p>Released sessions are reset (extra windows, cookies, storage and navigation history) and parked until the next
+ * acquisition. Sessions that fail the health check, fail to reset or reach the maximum reuse count are quit and
+ * evicted from the pool.
+ *
+ * <p>On Chrome and Edge the storage (local storage, IndexedDB, cache storage, service workers) of every origin in the
+ * navigation history of the session's windows is cleared over DevTools. Other browsers only get the `localStorage`
+ * and `sessionStorage` of the page open when the session is released cleared, so data other origins stored during
+ * the test is still there for the next one.
+ */
+@Slf4j
+public class SessionPool {
+    private static final String CLEAR_STORAGE_SCRIPT =
+            "try { window.localStorage.clear(); } catch (e) {}"
+                    + "try { window.sessionStorage.clear(); } catch (e) {}";
+
+    private final Supplier<WebDriver> factory;
+    private final int maxIdle;
+    private final int maxReuse;
+    private final BlockingDeque<PooledSession> idle = new LinkedBlockingDeque<>();
+    private final Map<WebDriver, PooledSession> leased = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor for SessionPool.
+     *
+     * @param factory  Launches a new browser session when no idle one is available.
+     * @param maxIdle  The maximum number of idle sessions kept warm.
+     * @param maxReuse The maximum number of tests a single session may serve before being replaced.
+     */
+    public SessionPool(Supplier<WebDriver> factory, int maxIdle, int maxReuse) {
+        this.factory = factory;
+        this.maxIdle = Math.max(0, maxIdle);
+        this.maxReuse = Math.max(1, maxReuse);
+    }
+
+    /**
+     * Hands out a healthy idle session, or launches a new one when the pool is empty.
+     *
+     * @return A ready-to-use WebDriver instance.
+     */
+    public WebDriver acquire() {
+        PooledSession session;
+        while ((session = idle.pollFirst()) != null) {
+            if (isHealthy(session.driver)) {
+                session.uses++;
+                leased.put(session.driver, session);
+                return session.driver;
+            }
+            log.warn("Evicting unhealthy pooled browser session");
+            discard(session.driver);
+        }
+        WebDriver driver = factory.get();
+        session = new PooledSession(driver, primaryHandle(driver));
+        session.uses = 1;
+        leased.put(driver, session);
+        return driver;
+    }
+
+    /**
+     * Returns a session to the pool. The session is reset before being parked, and quit instead when it has reached
+     * its reuse limit, cannot be reset or the pool is already full.
+     *
+     * @param driver The WebDriver instance previously obtained from {@link #acquire()}.
+     */
+    public void release(WebDriver driver) {
+        PooledSession session = leased.remove(driver);
+        if (session == null) {
+            discard(driver);
+            return;
+        }
+        if (session.uses >= maxReuse || idle.size() >= maxIdle || !reset(session)) {
+            discard(driver);
+            return;
+        }
+        idle.offerFirst(session);
+    }
+
+    /**
+     * Quits every session known to the pool, both idle and leased.
+     */
+    public void shutdown() {
+        PooledSession session;
+        while ((session = idle.pollFirst()) != null) {
+            discard(session.driver);
+        }
+        for (WebDriver driver : leased.keySet()) {
+            leased.remove(driver);
+            discard(driver);
+        }
+    }
+
+    /**
+     * @return The number of sessions currently parked in the pool.
+     */
+    public int idleCount() {
+        return idle.size();
+    }
+
+    /**
+     * Checks that the browser behind the session still answers with at least one open window.
+     *
+     * @param driver The WebDriver instance to check.
+     * @return True if the session is usable.
+     */
+    private boolean isHealthy(WebDriver driver) {
+        try {
+            Set<String> handles = driver.getWindowHandles();
+            return handles != null && !handles.isEmpty();
+        } catch (WebDriverException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Brings a session back to a clean state: closes every window except the primary one, clears cookies and web
+     * storage, and leaves the primary window on `about:blank` with an empty navigation history where supported.
+     * With DevTools the storage of every origin visited by any window is cleared; without it only the web storage of
+     * the current page.
+     *
+     * @param session The session to reset.
+     * @return True if the reset succeeded and the session can be reused.
+     */
+    private boolean reset(PooledSession session) {
+        WebDriver driver = session.driver;
+        try {
+            Set<String> handles = BrowserContextHost.windowHandles(driver);
+            String primary = session.primaryHandle != null && handles.contains(session.primaryHandle)
+                    ? session.primaryHandle
+                    : handles.iterator().next();
+            Set<String> origins = new LinkedHashSet<>();
+            for (String handle : handles) {
+                boolean extra = !handle.equals(primary);
+                if (extra || driver instanceof HasCdp) {
+                    driver.switchTo().window(handle);
+                }
+                if (driver instanceof HasCdp cdp) {
+                    origins.addAll(visitedOrigins(cdp));
+                }
+                if (extra) {
+                    driver.close();
+                }
+            }
+            driver.switchTo().window(primary);
+            session.primaryHandle = primary;
+
+            if (driver instanceof JavascriptExecutor executor) {
+                executor.executeScript(CLEAR_STORAGE_SCRIPT);
+            }
+            if (driver instanceof HasCdp cdp) {
+                cdp.executeCdpCommand("Network.clearBrowserCookies", Map.of());
+                for (String origin : origins) {
+                    cdp.executeCdpCommand("Storage.clearDataForOrigin",
+                            Map.of("origin", origin, "storageTypes", "all"));
+                }
+            } else {
+                driver.manage().deleteAllCookies();
+            }
+            driver.get("about:blank");
+            if (driver instanceof HasCdp cdp) {
+                cdp.executeCdpCommand("Page.resetNavigationHistory", Map.of());
+            }
+            return true;
+        } catch (WebDriverException | java.util.NoSuchElementException e) {
+            log.warn("Failed to reset pooled browser session, evicting it: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Reads the origins of the pages in the navigation history of the current window.
+     *
+     * @param cdp The session, switched to the window to read.
+     * @return The `scheme://host[:port]` origins of the http and https pages, in history order.
+     */
+    static Set<String> visitedOrigins(HasCdp cdp) {
+        Set<String> origins = new LinkedHashSet<>();
+        Object entries = cdp.executeCdpCommand("Page.getNavigationHistory", Map.of()).get("entries");
+        if (!(entries instanceof List<?> list)) {
+            return origins;
+        }
+        for (Object entry : list) {
+            if (entry instanceof Map<?, ?> page && page.get("url") instanceof String url) {
+                try {
+                    URI uri = URI.create(url);
+                    if (("http".equals(uri.getScheme()) || "https".equals(uri.getScheme())) && uri.getHost() != null) {
+                        origins.add(uri.getScheme() + "://" + uri.getHost()
+                                + (uri.getPort() != -1 ? ":" + uri.getPort() : ""));
+                    }
+                } catch (IllegalArgumentException e) {
+                    // Not a URL whose storage can be cleared.
+                }
+            }
+        }
+        return origins;
+    }
+
+    /**
+     * Reads the handle of the window the session was launched with.
+     *
+     * @param driver The freshly launched WebDriver instance.
+     * @return The primary window handle, or null if it could not be read.
+     */
+    private static String primaryHandle(WebDriver driver) {
+        try {
+            return driver.getWindowHandle();
+        } catch (WebDriverException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Quits a session, ignoring failures from browsers that are already gone.
+     *
+     * @param driver The WebDriver instance to quit.
+     */
+    private static void discard(WebDriver driver) {
+        try {
+            driver.quit();
+        } catch (WebDriverException e) {
+            log.warn("Failed to quit pooled browser session: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Bookkeeping for a single pooled session.
+     */
+    private static class PooledSession {
+        private final WebDriver driver;
+        private String primaryHandle;
+        private int uses;
+
+        PooledSession(WebDriver driver, String primaryHandle) {
+            this.driver = driver;
+            this.primaryHandle = primaryHandle;
+        }
+    }
+}
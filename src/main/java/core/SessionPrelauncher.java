@@ -0,0 +1,236 @@
+package core;
+
+import com.sun.management.OperatingSystemMXBean;
+import lombok.extern.slf4j.Slf4j;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * SessionPrelauncher starts spare browser sessions on background threads while tests run, so the next test gets an
+ * already-running browser instead of waiting for a launch.
+ *
+ * <p>Every taken spare is replaced in the background. A spare is only launched while the host has enough free memory
+ * for one more browser, so the number of spares shrinks on busy hosts. When no spare is ready the session is launched
+ * synchronously. The startup time of every spare handed out is counted as saved wait.
+ */
+@Slf4j
+public class SessionPrelauncher {
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 30;
+
+    private final Supplier<WebDriver> factory;
+    private final int spares;
+    private final long sessionMemoryBytes;
+    private final LongSupplier freeMemory;
+    private final ExecutorService launcher;
+    private final BlockingQueue<Spare> ready = new LinkedBlockingQueue<>();
+    private final AtomicInteger launching = new AtomicInteger();
+    private final LongAdder taken = new LongAdder();
+    private final LongAdder synchronousLaunches = new LongAdder();
+    private final LongAdder savedNanos = new LongAdder();
+    private final LongAdder discarded = new LongAdder();
+    private volatile boolean closed;
+
+    /**
+     * Constructor for SessionPrelauncher.
+     *
+     * @param factory            Launches a new browser session.
+     * @param spares             The maximum number of spare sessions kept ready or launching.
+     * @param sessionMemoryBytes The memory one browser session is expected to use.
+     */
+    public SessionPrelauncher(Supplier<WebDriver> factory, int spares, long sessionMemoryBytes) {
+        this(factory, spares, sessionMemoryBytes, SessionPrelauncher::freeHostMemory);
+    }
+
+    /**
+     * Constructor for SessionPrelauncher with a custom source of free memory.
+     *
+     * @param factory            Launches a new browser session.
+     * @param spares             The maximum number of spare sessions kept ready or launching.
+     * @param sessionMemoryBytes The memory one browser session is expected to use.
+     * @param freeMemory         Reports the free memory of the host in bytes.
+     */
+    SessionPrelauncher(Supplier<WebDriver> factory, int spares, long sessionMemoryBytes, LongSupplier freeMemory) {
+        this.factory = factory;
+        this.spares = Math.max(1, spares);
+        this.sessionMemoryBytes = Math.max(1, sessionMemoryBytes);
+        this.freeMemory = freeMemory;
+        AtomicInteger threads = new AtomicInteger();
+        this.launcher = Executors.newFixedThreadPool(this.spares, runnable -> {
+            Thread thread = new Thread(runnable, "session-prelaunch-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Starts launching the spare sessions.
+     */
+    public void start() {
+        refill();
+    }
+
+    /**
+     * Hands out a ready spare session, or launches one synchronously when none is ready. Either way a replacement
+     * spare is launched in the background.
+     *
+     * @return A ready-to-use WebDriver instance.
+     */
+    public WebDriver take() {
+        Spare spare;
+        while ((spare = ready.poll()) != null) {
+            if (isHealthy(spare.driver)) {
+                taken.increment();
+                savedNanos.add(spare.launchNanos);
+                refill();
+                return spare.driver;
+            }
+            log.warn("Discarding a pre-launched browser session that no longer responds");
+            discard(spare.driver);
+        }
+        synchronousLaunches.increment();
+        refill();
+        return factory.get();
+    }
+
+    /**
+     * Stops launching spares, waits for the launches in progress and quits every spare that was not handed out.
+     */
+    public void shutdown() {
+        closed = true;
+        launcher.shutdown();
+        try {
+            launcher.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        Spare spare;
+        while ((spare = ready.poll()) != null) {
+            discard(spare.driver);
+        }
+        if (taken.sum() + synchronousLaunches.sum() > 0) {
+            log.info("Session pre-launch: " + taken.sum() + " of " + (taken.sum() + synchronousLaunches.sum())
+                    + " sessions were ready when requested, saving " + savedNanos.sum() / 1_000_000
+                    + " ms of startup wait; " + discarded.sum() + " unused spares were quit");
+        }
+    }
+
+    /**
+     * @return The number of spare sessions ready to be taken.
+     */
+    public int readyCount() {
+        return ready.size();
+    }
+
+    /**
+     * @return The sessions handed out, launched synchronously and discarded, and the startup wait saved.
+     */
+    public Map<String, Object> summary() {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("spares", spares);
+        summary.put("taken", taken.sum());
+        summary.put("synchronousLaunches", synchronousLaunches.sum());
+        summary.put("discarded", discarded.sum());
+        summary.put("savedMs", savedNanos.sum() / 1_000_000);
+        return summary;
+    }
+
+    /**
+     * Schedules spare launches until the spare count is reached or the host has no memory for one more browser.
+     */
+    private void refill() {
+        while (!closed) {
+            int inFlight = launching.get();
+            if (inFlight + ready.size() >= spares
+                    || freeMemory.getAsLong() - (long) inFlight * sessionMemoryBytes < sessionMemoryBytes) {
+                return;
+            }
+            if (!launching.compareAndSet(inFlight, inFlight + 1)) {
+                continue;
+            }
+            try {
+                launcher.execute(this::launchSpare);
+            } catch (RejectedExecutionException e) {
+                launching.decrementAndGet();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Launches a spare session and parks it, or quits it if the prelauncher was shut down meanwhile.
+     */
+    private void launchSpare() {
+        try {
+            long start = System.nanoTime();
+            Spare spare = new Spare(factory.get(), System.nanoTime() - start);
+            ready.offer(spare);
+            if (closed && ready.remove(spare)) {
+                discard(spare.driver);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Failed to pre-launch a browser session: " + e.getMessage());
+        } finally {
+            launching.decrementAndGet();
+        }
+    }
+
+    /**
+     * Checks that the browser behind the session still answers with at least one open window.
+     *
+     * @param driver The WebDriver instance to check.
+     * @return True if the session is usable.
+     */
+    private static boolean isHealthy(WebDriver driver) {
+        try {
+            Set<String> handles = driver.getWindowHandles();
+            return handles != null && !handles.isEmpty();
+        } catch (WebDriverException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Quits a spare session, ignoring failures from browsers that are already gone.
+     *
+     * @param driver The WebDriver instance to quit.
+     */
+    private void discard(WebDriver driver) {
+        discarded.increment();
+        try {
+            driver.quit();
+        } catch (WebDriverException e) {
+            log.warn("Failed to quit pre-launched browser session: " + e.getMessage());
+        }
+    }
+
+    /**
+     * @return The free physical memory of the host in bytes, or {@link Long#MAX_VALUE} if the JVM cannot tell.
+     */
+    private static long freeHostMemory() {
+        if (ManagementFactory.getOperatingSystemMXBean() instanceof OperatingSystemMXBean os) {
+            return os.getFreeMemorySize();
+        }
+        return Long.MAX_VALUE;
+    }
+
+    /**
+     * A launched spare session together with how long its launch took.
+     */
+    private record Spare(WebDriver driver, long launchNanos) {
+    }
+}
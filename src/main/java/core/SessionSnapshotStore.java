@@ -0,0 +1,380 @@
+package core;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import core.metrics.Metrics;
+import lombok.extern.slf4j.Slf4j;
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.InvalidCookieDomainException;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+
+/**
+ * SessionSnapshotStore saves the cookies, `localStorage` and `sessionStorage` of a logged-in session, keyed by user
+ * or role and base URL, and restores them into later sessions so they skip the UI login flow.
+ *
+ * <p>{@link #loginAs(WebDriver, String, String, Runnable, Predicate)} restores the snapshot and checks that the
+ * session is really logged in; when the snapshot is missing, expired or rejected it runs the UI login flow instead and
+ * saves a new snapshot. Snapshots live in `session.snapshot.dir` (default `target/session-snapshots`) for
+ * `session.snapshot.ttl.minutes` (default 30). Each snapshot is written to a temporary file and moved into place, so
+ * workers and JVMs sharing the directory never read a partial snapshot, and within a JVM only one worker at a time
+ * runs the UI flow for the same key while the others wait and reuse its snapshot.
+ *
+ * <p>Snapshots hold session credentials: the directory is created readable by its owner only where supported.
+ */
+@Slf4j
+public class SessionSnapshotStore {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final SessionSnapshotStore SHARED = new SessionSnapshotStore(
+            Paths.get(FrameworkConfig.base().getProperty("session.snapshot.dir", "target/session-snapshots")),
+            Duration.ofMinutes(FrameworkConfig.base().getIntProperty("session.snapshot.ttl.minutes", 30)),
+            FrameworkConfig.base().getBooleanProperty("session.snapshot.enabled", true));
+    private static final String READ_STORAGE = """
+            function copy(storage) {
+              var values = {};
+              for (var i = 0; i < storage.length; i++) {
+                var key = storage.key(i);
+                values[key] = storage.getItem(key);
+              }
+              return values;
+            }
+            return {local: copy(window.localStorage), session: copy(window.sessionStorage)};
+            """;
+    private static final String WRITE_STORAGE = """
+            var snapshot = arguments[0];
+            window.localStorage.clear();
+            window.sessionStorage.clear();
+            Object.keys(snapshot.local).forEach(function (key) {
+              window.localStorage.setItem(key, snapshot.local[key]);
+            });
+            Object.keys(snapshot.session).forEach(function (key) {
+              window.sessionStorage.setItem(key, snapshot.session[key]);
+            });
+            """;
+
+    static {
+        Metrics.addRunSection("sessionSnapshots", SHARED::summary);
+    }
+
+    private final Path directory;
+    private final Duration ttl;
+    private final boolean enabled;
+    private final Map<String, Object> locks = new ConcurrentHashMap<>();
+    private final LongAdder restored = new LongAdder();
+    private final LongAdder uiLogins = new LongAdder();
+
+    /**
+     * The state of a logged-in session.
+     *
+     * @param role           The user or role the session belongs to.
+     * @param baseUrl        The URL the state was captured for and is restored on.
+     * @param capturedAt     When the snapshot was captured, in epoch milliseconds.
+     * @param cookies        The cookies, as written by {@link #cookieToMap(Cookie)}.
+     * @param localStorage   The `localStorage` entries of the base URL's origin.
+     * @param sessionStorage The `sessionStorage` entries of the base URL's origin.
+     */
+    public record Snapshot(String role, String baseUrl, long capturedAt, List<Map<String, Object>> cookies,
+                           Map<String, String> localStorage, Map<String, String> sessionStorage) {
+    }
+
+    /**
+     * Constructor for SessionSnapshotStore.
+     *
+     * @param directory The directory snapshots are saved in, shared by every worker using the store.
+     * @param ttl       How long a snapshot can be restored after it was captured.
+     * @param enabled   False to always run the UI login flow.
+     */
+    SessionSnapshotStore(Path directory, Duration ttl, boolean enabled) {
+        this.directory = directory;
+        this.ttl = ttl;
+        this.enabled = enabled;
+    }
+
+    /**
+     * @return The JVM-wide store used by `BaseTest.loginAs`.
+     */
+    public static SessionSnapshotStore shared() {
+        return SHARED;
+    }
+
+    /**
+     * Logs a session in as the given user or role, restoring a saved snapshot when possible and running the UI
+     * login flow otherwise.
+     *
+     * @param driver     The session to log in.
+     * @param role       The user or role, e.g. `standard_user`.
+     * @param baseUrl    The URL of the application, e.g. `https://www.saucedemo.com/`.
+     * @param uiLogin    The UI login flow, run when no valid snapshot can be restored; it must navigate by itself.
+     * @param isLoggedIn Checks that the session is logged in.
+     * @throws IllegalStateException If the session is still not logged in after the UI login flow.
+     */
+    public void loginAs(WebDriver driver, String role, String baseUrl, Runnable uiLogin,
+                        Predicate<WebDriver> isLoggedIn) {
+        if (!enabled) {
+            runUiLogin(driver, role, uiLogin, isLoggedIn);
+            return;
+        }
+        Snapshot snapshot = load(role, baseUrl);
+        if (snapshot != null && restore(driver, snapshot, isLoggedIn)) {
+            return;
+        }
+        synchronized (locks.computeIfAbsent(key(role, baseUrl), key -> new Object())) {
+            Snapshot latest = load(role, baseUrl);
+            if (latest != null && (snapshot == null || latest.capturedAt() > snapshot.capturedAt())
+                    && restore(driver, latest, isLoggedIn)) {
+                return;
+            }
+            runUiLogin(driver, role, uiLogin, isLoggedIn);
+            save(capture(driver, role, baseUrl));
+        }
+    }
+
+    /**
+     * Captures the cookies and storage of a logged-in session.
+     *
+     * @param driver  The logged-in session.
+     * @param role    The user or role the session belongs to.
+     * @param baseUrl The URL the snapshot will be restored on.
+     * @return The snapshot.
+     */
+    @SuppressWarnings("unchecked")
+    public Snapshot capture(WebDriver driver, String role, String baseUrl) {
+        List<Map<String, Object>> cookies = new ArrayList<>();
+        driver.manage().getCookies().forEach(cookie -> cookies.add(cookieToMap(cookie)));
+        Map<String, Object> storage = (Map<String, Object>) ((JavascriptExecutor) driver).executeScript(READ_STORAGE);
+        return new Snapshot(role, baseUrl, System.currentTimeMillis(), cookies,
+                toStrings((Map<String, Object>) storage.get("local")),
+                toStrings((Map<String, Object>) storage.get("session")));
+    }
+
+    /**
+     * Saves a snapshot, replacing the previous one of the same user or role and base URL.
+     *
+     * @param snapshot The snapshot to save.
+     */
+    public void save(Snapshot snapshot) {
+        try {
+            Files.createDirectories(directory);
+            restrictToOwner(directory);
+            Path temp = Files.createTempFile(directory, "snapshot", ".tmp");
+            restrictToOwner(temp);
+            MAPPER.writeValue(temp.toFile(), snapshot);
+            Files.move(temp, file(snapshot.role(), snapshot.baseUrl()), StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("Could not save the session snapshot of " + snapshot.role() + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Loads the snapshot of a user or role and base URL.
+     *
+     * @param role    The user or role.
+     * @param baseUrl The base URL.
+     * @return The snapshot, or null if there is none, it cannot be read or it is older than the TTL.
+     */
+    public Snapshot load(String role, String baseUrl) {
+        Path file = file(role, baseUrl);
+        if (!Files.exists(file)) {
+            return null;
+        }
+        try {
+            Snapshot snapshot = MAPPER.readValue(file.toFile(), Snapshot.class);
+            return System.currentTimeMillis() - snapshot.capturedAt() < ttl.toMillis() ? snapshot : null;
+        } catch (IOException e) {
+            log.warn("Ignoring unreadable session snapshot " + file + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Deletes the snapshot of a user or role and base URL, e.g. after changing the user's password.
+     *
+     * @param role    The user or role.
+     * @param baseUrl The base URL.
+     */
+    public void invalidate(String role, String baseUrl) {
+        try {
+            Files.deleteIfExists(file(role, baseUrl));
+        } catch (IOException e) {
+            log.warn("Could not delete the session snapshot of " + role + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * @return The logins served from a snapshot and the ones that ran the UI flow.
+     */
+    public Map<String, Object> summary() {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("restored", restored.sum());
+        summary.put("uiLogins", uiLogins.sum());
+        return summary;
+    }
+
+    /**
+     * Restores a snapshot into a session: opens the base URL, replaces its cookies and storage and reloads it.
+     * Cookies of domains the base URL cannot set, or that the browser rejects, are skipped and logged.
+     *
+     * @param driver     The session to restore into.
+     * @param snapshot   The snapshot to restore.
+     * @param isLoggedIn Checks that the restored session is logged in.
+     * @return True if the session is logged in after the restore.
+     */
+    private boolean restore(WebDriver driver, Snapshot snapshot, Predicate<WebDriver> isLoggedIn) {
+        try {
+            driver.get(snapshot.baseUrl());
+            driver.manage().deleteAllCookies();
+            long now = System.currentTimeMillis();
+            String host = URI.create(snapshot.baseUrl()).getHost();
+            for (Map<String, Object> cookie : snapshot.cookies()) {
+                Cookie restoredCookie = mapToCookie(cookie);
+                if (restoredCookie.getExpiry() != null && restoredCookie.getExpiry().getTime() <= now) {
+                    continue;
+                }
+                if (!domainMatches(host, restoredCookie.getDomain())) {
+                    log.info("Skipping cookie " + restoredCookie.getName() + " of " + restoredCookie.getDomain()
+                            + ", it cannot be set on " + host);
+                    continue;
+                }
+                try {
+                    driver.manage().addCookie(restoredCookie);
+                } catch (InvalidCookieDomainException e) {
+                    log.info("Skipping cookie " + restoredCookie.getName() + " rejected by the browser: "
+                            + e.getMessage().lines().findFirst().orElse(""));
+                }
+            }
+            Map<String, Object> storage = new LinkedHashMap<>();
+            storage.put("local", snapshot.localStorage());
+            storage.put("session", snapshot.sessionStorage());
+            ((JavascriptExecutor) driver).executeScript(WRITE_STORAGE, storage);
+            driver.navigate().refresh();
+            if (isLoggedIn.test(driver)) {
+                restored.increment();
+                return true;
+            }
+            log.warn("The session snapshot of " + snapshot.role() + " was not accepted, logging in through the UI");
+        } catch (WebDriverException e) {
+            log.warn("Could not restore the session snapshot of " + snapshot.role() + ": " + e.getMessage());
+        }
+        return false;
+    }
+
+    /**
+     * Tells whether a page of a host may set a cookie for a domain, as in RFC 6265: the domain is the host itself or
+     * one of its parent domains. Cookies of other domains, e.g. an SSO provider's, cannot be added from the base URL.
+     *
+     * @param host   The host of the base URL.
+     * @param domain The cookie domain, or null for a host-only cookie.
+     * @return True if the cookie can be added while the base URL is open.
+     */
+    static boolean domainMatches(String host, String domain) {
+        if (domain == null || domain.isEmpty() || host == null) {
+            return true;
+        }
+        String bare = (domain.startsWith(".") ? domain.substring(1) : domain).toLowerCase(Locale.ROOT);
+        String lowerHost = host.toLowerCase(Locale.ROOT);
+        return lowerHost.equals(bare) || lowerHost.endsWith("." + bare);
+    }
+
+    private void runUiLogin(WebDriver driver, String role, Runnable uiLogin, Predicate<WebDriver> isLoggedIn) {
+        uiLogins.increment();
+        uiLogin.run();
+        if (!isLoggedIn.test(driver)) {
+            throw new IllegalStateException("La sesión no quedó iniciada después del flujo de login de " + role);
+        }
+    }
+
+    /**
+     * Writes a cookie as a JSON-friendly map.
+     *
+     * @param cookie The cookie.
+     * @return The name, value, domain, path, expiry in epoch milliseconds, flags and SameSite policy of the cookie.
+     */
+    static Map<String, Object> cookieToMap(Cookie cookie) {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("name", cookie.getName());
+        map.put("value", cookie.getValue());
+        map.put("domain", cookie.getDomain());
+        map.put("path", cookie.getPath());
+        map.put("expiry", cookie.getExpiry() != null ? cookie.getExpiry().getTime() : null);
+        map.put("secure", cookie.isSecure());
+        map.put("httpOnly", cookie.isHttpOnly());
+        map.put("sameSite", cookie.getSameSite());
+        return map;
+    }
+
+    /**
+     * Reads a cookie written by {@link #cookieToMap(Cookie)}.
+     *
+     * @param map The cookie map.
+     * @return The cookie.
+     */
+    static Cookie mapToCookie(Map<String, Object> map) {
+        Cookie.Builder builder = new Cookie.Builder((String) map.get("name"), (String) map.get("value"))
+                .path((String) map.get("path"))
+                .isSecure(Boolean.TRUE.equals(map.get("secure")))
+                .isHttpOnly(Boolean.TRUE.equals(map.get("httpOnly")));
+        if (map.get("domain") != null) {
+            builder.domain((String) map.get("domain"));
+        }
+        if (map.get("expiry") instanceof Number expiry) {
+            builder.expiresOn(new Date(expiry.longValue()));
+        }
+        if (map.get("sameSite") != null) {
+            builder.sameSite((String) map.get("sameSite"));
+        }
+        return builder.build();
+    }
+
+    private static Map<String, String> toStrings(Map<String, Object> values) {
+        Map<String, String> strings = new LinkedHashMap<>();
+        if (values != null) {
+            values.forEach((key, value) -> strings.put(key, value != null ? value.toString() : null));
+        }
+        return strings;
+    }
+
+    private Path file(String role, String baseUrl) {
+        return directory.resolve(key(role, baseUrl) + ".json");
+    }
+
+    private static String key(String role, String baseUrl) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest((role + "\n" + baseUrl).getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static void restrictToOwner(Path path) throws IOException {
+        if (FileSystems.getDefault().supportedFileAttributeViews().contains("posix")) {
+            Files.setPosixFilePermissions(path, PosixFilePermissions.fromString(
+                    Files.isDirectory(path) ? "rwx------" : "rw-------"));
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package core.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Annotation to cache the resolved element of a page field instead of looking it up on every call.
+ *
+ * <p>It can be placed on a single web element field or on a page class to cache all of the element fields the class
+ * declares. The cached handle is dropped when the browser reports it as stale, when the driver navigates or switches
+ * window or frame, or when the time to live expires; the failed call is then retried once against a freshly found
+ * element.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.TYPE})
+public @interface CacheElement {
+    /**
+     * Specifies how long a resolved element may be reused before it is looked up again.
+     *
+     * @return The time to live of the cached element in milliseconds.
+     */
+    long ttlMillis() default 30_000;
+}
@@ -0,0 +1,47 @@
+package core.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Repeatable;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Annotation to override a configuration key for the tests of a class or for a single test method.
+ *
+ * <p>The overrides are bound to the worker thread running the test before the browser is launched and removed when
+ * the test ends, so test classes running in parallel can use different browsers or headless modes, e.g.:
+ * <pre>
+ * &#64;ConfigOverride(key = "browser", value = "firefox")
+ * &#64;ConfigOverride(key = "headless.mode", value = "true")
+ * class FirefoxHeadlessLoginTest extends LoginTest { }
+ * </pre>
+ * Method overrides win over class overrides, and subclass overrides win over superclass ones.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Repeatable(ConfigOverride.List.class)
+public @interface ConfigOverride {
+    /**
+     * Specifies the configuration key to override, e.g. `browser`.
+     *
+     * @return The configuration key.
+     */
+    String key();
+
+    /**
+     * Specifies the value used instead of the configured one.
+     *
+     * @return The overriding value.
+     */
+    String value();
+
+    /**
+     * Container of the repeated {@link ConfigOverride} annotations.
+     */
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target({ElementType.TYPE, ElementType.METHOD})
+    @interface List {
+        ConfigOverride[] value();
+    }
+}
@@ -0,0 +1,339 @@
+package core.artifacts;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import core.FrameworkConfig;
+import core.metrics.Metrics;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
+import org.apache.commons.compress.archivers.tar.TarArchiveOutputStream;
+import org.apache.commons.compress.compressors.gzip.GzipCompressorOutputStream;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.logging.LogEntry;
+import org.openqa.selenium.logging.LogType;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * FailureArtifacts keeps the screenshot, page source and browser console log of failed tests in a per-run archive.
+ *
+ * <p>Capturing is split in two stages. On the test thread, {@link #record} only asks the browser for the raw data: the
+ * screenshot stays the Base64 string the driver sent and the console entries stay unformatted, so the failing test
+ * gives its worker back as soon as the browser has answered. A bounded background executor then decodes the
+ * screenshot, gzips the page source and console log and appends them to `failures-<run>.tar` under `artifacts.dir`
+ * (default `logs/failures`), one directory per failed test with a `failure.json` describing it.
+ *
+ * <p>Captures waiting to be written may hold at most `artifacts.memory.mb` of heap (default 64). When that budget is
+ * used up, a failing test waits up to `artifacts.wait.millis` for the writers to catch up and, if they do not, its
+ * artifacts are skipped and counted as dropped rather than captured.
+ */
+@Slf4j
+public class FailureArtifacts implements AutoCloseable {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static FailureArtifacts shared;
+
+    private final Path archiveFile;
+    private final Executor encoder;
+    private final long memoryBudget;
+    private final Duration admitWait;
+    private final AtomicInteger sequence = new AtomicInteger();
+    private final LongAdder archived = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder captureNanos = new LongAdder();
+    private final Object archiveLock = new Object();
+    private TarArchiveOutputStream archive;
+    private long pendingBytes;
+    private boolean closed;
+
+    /**
+     * Constructor for FailureArtifacts.
+     *
+     * @param archiveFile  The tar archive to write, created on the first failure.
+     * @param encoder      Runs the encoding and writing of each capture.
+     * @param memoryBudget The maximum size in bytes of the captures waiting to be written.
+     * @param admitWait    How long a failing test waits for the budget to free up before skipping its artifacts.
+     */
+    FailureArtifacts(Path archiveFile, Executor encoder, long memoryBudget, Duration admitWait) {
+        this.archiveFile = archiveFile;
+        this.encoder = encoder;
+        this.memoryBudget = memoryBudget;
+        this.admitWait = admitWait;
+    }
+
+    /**
+     * Returns the pipeline of this JVM, configured by the `artifacts.*` settings. The archive is completed when the
+     * JVM exits, once the pending captures are written.
+     *
+     * @return The shared pipeline.
+     */
+    public static synchronized FailureArtifacts shared() {
+        if (shared == null) {
+            FrameworkConfig config = FrameworkConfig.base();
+            int threads = Math.max(1, config.getIntProperty("artifacts.threads", 2));
+            ThreadPoolExecutor encoder = new ThreadPoolExecutor(threads, threads, 30, TimeUnit.SECONDS,
+                    new ArrayBlockingQueue<>(Math.max(1, config.getIntProperty("artifacts.queue.size", 32))),
+                    runnable -> {
+                        Thread thread = new Thread(runnable, "failure-artifacts");
+                        thread.setDaemon(true);
+                        return thread;
+                    }, new ThreadPoolExecutor.AbortPolicy());
+            encoder.allowCoreThreadTimeOut(true);
+            shared = new FailureArtifacts(Paths.get(config.getProperty("artifacts.dir", "logs/failures"))
+                    .resolve("failures-" + Metrics.runId() + ".tar"), encoder,
+                    config.getIntProperty("artifacts.memory.mb", 64) * 1024L * 1024L,
+                    Duration.ofMillis(config.getIntProperty("artifacts.wait.millis", 2000)));
+            Runtime.getRuntime().addShutdownHook(new Thread(shared::close, "failure-artifacts-shutdown"));
+            Metrics.addRunSection("failureArtifacts", shared::summary);
+        }
+        return shared;
+    }
+
+    /**
+     * Captures the artifacts of a failed test and queues them for the archive.
+     *
+     * @param testId  The test, e.g. `tests.LoginTest#testLogin`.
+     * @param driver  The session of the test, still open.
+     * @param failure What made the test fail.
+     * @return True if the artifacts were queued, false if they were skipped because the memory budget stayed full or
+     * the writer could not take them.
+     */
+    public boolean record(String testId, WebDriver driver, Throwable failure) {
+        if (!admit()) {
+            dropped.increment();
+            log.warn("Skipping the failure artifacts of " + testId + ": " + (memoryBudget / (1024 * 1024))
+                    + " MB of artifacts are still waiting to be written");
+            return false;
+        }
+        long start = System.nanoTime();
+        Capture capture = Capture.of(String.format("%03d-%s", sequence.incrementAndGet(), sanitize(testId)),
+                testId, driver, failure);
+        captureNanos.add(System.nanoTime() - start);
+        long size = capture.size();
+        synchronized (this) {
+            pendingBytes += size;
+        }
+        try {
+            encoder.execute(() -> write(capture, size));
+        } catch (RejectedExecutionException e) {
+            release(size);
+            dropped.increment();
+            log.warn("Skipping the failure artifacts of " + testId + ": the writer is stopped or its queue is full");
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Waits until the captures waiting to be written fit in the memory budget.
+     */
+    private synchronized boolean admit() {
+        long deadline = System.nanoTime() + admitWait.toNanos();
+        while (pendingBytes >= memoryBudget && !closed) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                return false;
+            }
+            try {
+                TimeUnit.NANOSECONDS.timedWait(this, remaining);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+        return !closed;
+    }
+
+    private synchronized void release(long size) {
+        pendingBytes -= size;
+        notifyAll();
+    }
+
+    private void write(Capture capture, long size) {
+        try {
+            Map<String, byte[]> entries = capture.encode();
+            synchronized (archiveLock) {
+                if (archive == null) {
+                    if (closed) {
+                        throw new IOException("the archive is already complete");
+                    }
+                    Files.createDirectories(archiveFile.toAbsolutePath().getParent());
+                    archive = new TarArchiveOutputStream(new BufferedOutputStream(Files.newOutputStream(archiveFile)));
+                    archive.setLongFileMode(TarArchiveOutputStream.LONGFILE_POSIX);
+                    log.info("Writing failure artifacts to " + archiveFile.toAbsolutePath());
+                }
+                for (Map.Entry<String, byte[]> entry : entries.entrySet()) {
+                    TarArchiveEntry tarEntry = new TarArchiveEntry(capture.directory() + "/" + entry.getKey());
+                    tarEntry.setSize(entry.getValue().length);
+                    archive.putArchiveEntry(tarEntry);
+                    archive.write(entry.getValue());
+                    archive.closeArchiveEntry();
+                }
+                archive.flush();
+            }
+            archived.increment();
+        } catch (IOException | RuntimeException e) {
+            dropped.increment();
+            log.warn("Could not archive the failure artifacts of " + capture.testId() + ": " + e.getMessage());
+        } finally {
+            release(size);
+        }
+    }
+
+    /**
+     * @return The number of failures archived and dropped, the capture time spent on test threads and the archive.
+     */
+    public Map<String, Object> summary() {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("archived", archived.sum());
+        summary.put("dropped", dropped.sum());
+        summary.put("captureMs", Math.round(captureNanos.sum() / 1_000.0) / 1_000.0);
+        summary.put("archive", archiveFile.toString());
+        return summary;
+    }
+
+    /**
+     * Waits up to 30 seconds for the pending captures to be written and completes the archive.
+     */
+    @Override
+    public void close() {
+        synchronized (this) {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+            while (pendingBytes > 0 && System.nanoTime() < deadline) {
+                try {
+                    TimeUnit.NANOSECONDS.timedWait(this, deadline - System.nanoTime());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+            closed = true;
+            notifyAll();
+        }
+        if (encoder instanceof ExecutorService service) {
+            service.shutdown();
+        }
+        synchronized (archiveLock) {
+            if (archive != null) {
+                try {
+                    archive.close();
+                    log.info(archived.sum() + " failures archived to " + archiveFile.toAbsolutePath()
+                            + (dropped.sum() > 0 ? ", " + dropped.sum() + " dropped" : ""));
+                } catch (IOException e) {
+                    log.warn("Could not complete the failure archive " + archiveFile + ": " + e.getMessage());
+                }
+                archive = null;
+            }
+        }
+    }
+
+    private static String sanitize(String testId) {
+        return testId.replaceAll("[^A-Za-z0-9._#-]", "_");
+    }
+
+    /**
+     * The raw artifacts of a failed test as the browser returned them.
+     */
+    private record Capture(String directory, String testId, Instant failedAt, String failure, String url, String title,
+                           String screenshot, String pageSource, List<LogEntry> console, Map<String, String> errors) {
+
+        static Capture of(String directory, String testId, WebDriver driver, Throwable failure) {
+            Map<String, String> errors = new LinkedHashMap<>();
+            String url = attempt("url", errors, driver::getCurrentUrl);
+            String title = attempt("title", errors, driver::getTitle);
+            String screenshot = attempt("screenshot", errors, () -> {
+                if (!(driver instanceof TakesScreenshot camera)) {
+                    throw new WebDriverException("The driver cannot take screenshots");
+                }
+                return camera.getScreenshotAs(OutputType.BASE64);
+            });
+            String pageSource = attempt("pageSource", errors, driver::getPageSource);
+            List<LogEntry> console = attempt("console", errors,
+                    () -> driver.manage().logs().get(LogType.BROWSER).getAll());
+            return new Capture(directory, testId, Instant.now(), failure.getClass().getName() + ": "
+                    + failure.getMessage(), url, title, screenshot, pageSource, console, errors);
+        }
+
+        private static <T> T attempt(String artifact, Map<String, String> errors, Supplier<T> call) {
+            try {
+                return call.get();
+            } catch (WebDriverException | UnsupportedOperationException e) {
+                String message = String.valueOf(e.getMessage());
+                errors.put(artifact, message.lines().findFirst().orElse(message));
+                return null;
+            }
+        }
+
+        /**
+         * @return The heap the capture takes, roughly.
+         */
+        long size() {
+            long size = 1024;
+            size += screenshot != null ? screenshot.length() : 0;
+            size += pageSource != null ? pageSource.length() * 2L : 0;
+            if (console != null) {
+                size += console.stream().mapToLong(entry -> 64 + entry.getMessage().length() * 2L).sum();
+            }
+            return size;
+        }
+
+        /**
+         * Encodes the archive entries of the capture.
+         */
+        Map<String, byte[]> encode() throws IOException {
+            Map<String, byte[]> entries = new LinkedHashMap<>();
+            Map<String, Object> manifest = new LinkedHashMap<>();
+            manifest.put("test", testId);
+            manifest.put("failedAt", failedAt.toString());
+            manifest.put("failure", failure);
+            manifest.put("url", url);
+            manifest.put("title", title);
+            manifest.put("missing", errors);
+            entries.put("failure.json", MAPPER.writerWithDefaultPrettyPrinter().writeValueAsBytes(manifest));
+            if (screenshot != null) {
+                entries.put("screenshot.png", Base64.getMimeDecoder().decode(screenshot));
+            }
+            if (pageSource != null) {
+                entries.put("page.html.gz", gzip(pageSource));
+            }
+            if (console != null) {
+                StringBuilder lines = new StringBuilder();
+                console.forEach(entry -> lines.append(Instant.ofEpochMilli(entry.getTimestamp())).append(' ')
+                        .append(entry.getLevel()).append(' ').append(entry.getMessage()).append('\n'));
+                entries.put("console.log.gz", gzip(lines.toString()));
+            }
+            return entries;
+        }
+
+        private static byte[] gzip(String text) throws IOException {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(Math.max(64, text.length() / 4));
+            try (OutputStream out = new GzipCompressorOutputStream(bytes)) {
+                out.write(text.getBytes(StandardCharsets.UTF_8));
+            }
+            return bytes.toByteArray();
+        }
+    }
+}
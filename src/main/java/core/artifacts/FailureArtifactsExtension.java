@@ -0,0 +1,29 @@
+package core.artifacts;
+
+import core.DriverManager;
+import core.FrameworkConfig;
+import org.junit.jupiter.api.extension.AfterTestExecutionCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.openqa.selenium.WebDriver;
+
+/**
+ * FailureArtifactsExtension hands the session of a failed test to {@link FailureArtifacts} right after the test method
+ * returns, while the browser is still open. It is registered by `BaseTest` and does nothing with
+ * `artifacts.enabled=false`.
+ */
+public class FailureArtifactsExtension implements AfterTestExecutionCallback {
+
+    @Override
+    public void afterTestExecution(ExtensionContext context) {
+        Throwable failure = context.getExecutionException().orElse(null);
+        if (failure == null || !FrameworkConfig.current().getBooleanProperty("artifacts.enabled", true)) {
+            return;
+        }
+        WebDriver driver = DriverManager.currentDriver();
+        if (driver != null) {
+            FailureArtifacts.shared().record(
+                    context.getRequiredTestClass().getName() + "#" + context.getRequiredTestMethod().getName(),
+                    driver, failure);
+        }
+    }
+}
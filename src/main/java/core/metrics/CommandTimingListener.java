@@ -0,0 +1,78 @@
+package core.metrics;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.events.WebDriverListener;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * CommandTimingListener times every call made through a decorated driver and the objects it returns (elements,
+ * navigation, target locator, options, alerts) and records it with {@link Metrics#recordCommand(String, long)}.
+ *
+ * <p>Start times are kept on a per-thread stack, so the listener can be shared by the threads of a session and by
+ * nested calls. Command names are built once per method and target type.
+ */
+class CommandTimingListener implements WebDriverListener {
+    private static final Map<Method, String> driverCommands = new ConcurrentHashMap<>();
+    private static final Map<Method, String> elementCommands = new ConcurrentHashMap<>();
+    private static final Map<Method, String> otherCommands = new ConcurrentHashMap<>();
+
+    private final ThreadLocal<StartTimes> startTimes = ThreadLocal.withInitial(StartTimes::new);
+
+    @Override
+    public void beforeAnyCall(Object target, Method method, Object[] args) {
+        startTimes.get().push(System.nanoTime());
+    }
+
+    @Override
+    public void afterAnyCall(Object target, Method method, Object[] args, Object result) {
+        Metrics.recordCommand(commandName(target, method), startTimes.get().pop());
+    }
+
+    @Override
+    public void onError(Object target, Method method, Object[] args, InvocationTargetException e) {
+        Metrics.recordCommand(commandName(target, method), startTimes.get().pop());
+    }
+
+    /**
+     * Names a command after the type it was issued on, e.g. `WebDriver.findElement` and `WebElement.findElement`
+     * for the same `SearchContext` method.
+     *
+     * @param target The object the method was called on.
+     * @param method The called method.
+     * @return The command name.
+     */
+    static String commandName(Object target, Method method) {
+        if (target instanceof WebElement) {
+            return elementCommands.computeIfAbsent(method, m -> "WebElement." + m.getName());
+        }
+        if (target instanceof WebDriver) {
+            return driverCommands.computeIfAbsent(method, m -> "WebDriver." + m.getName());
+        }
+        return otherCommands.computeIfAbsent(method, m -> m.getDeclaringClass().getSimpleName() + "." + m.getName());
+    }
+
+    /**
+     * A growable stack of start times owned by one thread.
+     */
+    private static final class StartTimes {
+        private long[] values = new long[8];
+        private int size;
+
+        private void push(long value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        private long pop() {
+            return size == 0 ? System.nanoTime() : values[--size];
+        }
+    }
+}
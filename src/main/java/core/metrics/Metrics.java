@@ -0,0 +1,227 @@
+package core.metrics;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import core.FrameworkConfig;
+import lombok.extern.slf4j.Slf4j;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.events.EventFiringDecorator;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Metrics records latency histograms for WebDriver commands, `ElementUtils` operations and page field lookups.
+ *
+ * <p>The layer is enabled with `metrics.enabled=true`. Every duration goes to the run registry and to the registry of
+ * the test running on the current thread (see {@link TestMetricsExtension}). At the end of each test a JSON line with
+ * its summary is appended to `tests-<run>.jsonl`, and when the JVM exits the whole run is written to
+ * `run-<run>.json`, both under `metrics.dir` (default `logs/metrics`). Sections added with
+ * {@link #addRunSection(String, Supplier)} are written to the run file even when the layer is disabled.
+ *
+ * <p>When disabled, {@link #ENABLED} is a constant false: the driver is not decorated and every hook returns before
+ * reading the clock, so the JIT removes them.
+ */
+@Slf4j
+public final class Metrics {
+    public static final boolean ENABLED = FrameworkConfig.base().getBooleanProperty("metrics.enabled", false);
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final String RUN_ID = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"))
+            + "-" + ProcessHandle.current().pid();
+    private static final MetricsRegistry RUN = new MetricsRegistry();
+    private static final ThreadLocal<TestMetrics> currentTest = new ThreadLocal<>();
+    private static final Map<String, Supplier<?>> runSections = new ConcurrentHashMap<>();
+    private static final AtomicBoolean summaryScheduled = new AtomicBoolean();
+
+    static {
+        if (ENABLED) {
+            scheduleRunSummary();
+        }
+    }
+
+    private Metrics() {
+    }
+
+    /**
+     * @return The id of this run, `yyyyMMdd-HHmmss-<pid>`, shared by the files the run writes.
+     */
+    public static String runId() {
+        return RUN_ID;
+    }
+
+    /**
+     * Decorates a driver so the latency of every command issued through it is recorded.
+     *
+     * @param driver The WebDriver instance to instrument.
+     * @return The decorated WebDriver instance, which must be used instead of the original one.
+     */
+    public static WebDriver instrument(WebDriver driver) {
+        return new EventFiringDecorator<>(new CommandTimingListener()).decorate(driver);
+    }
+
+    /**
+     * @return The current time to pass to a `record` method, or 0 when metrics are disabled.
+     */
+    public static long startTimer() {
+        return ENABLED ? System.nanoTime() : 0L;
+    }
+
+    /**
+     * Records the latency of a WebDriver command.
+     *
+     * @param command The command name, e.g. `WebElement.click`.
+     * @param start   The value returned by {@link #startTimer()}.
+     */
+    public static void recordCommand(String command, long start) {
+        if (ENABLED) {
+            record(MetricsRegistry.Kind.COMMAND, command, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Records the latency of an `ElementUtils` operation.
+     *
+     * @param operation The operation name, e.g. `waitAndClick`.
+     * @param start     The value returned by {@link #startTimer()}.
+     */
+    public static void recordOperation(String operation, long start) {
+        if (ENABLED) {
+            record(MetricsRegistry.Kind.OPERATION, operation, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Records the latency of a page field lookup.
+     *
+     * @param field The field identifier, e.g. `pages.HomePage#usernameInput`, or null for unnamed locators.
+     * @param start The value returned by {@link #startTimer()}.
+     */
+    public static void recordField(String field, long start) {
+        if (ENABLED && field != null) {
+            record(MetricsRegistry.Kind.FIELD, field, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Starts collecting the metrics of a test on the current thread.
+     *
+     * @param testId The test identifier, e.g. `tests.LoginTest#validLogin`.
+     */
+    public static void beginTest(String testId) {
+        if (ENABLED) {
+            currentTest.set(new TestMetrics(testId, System.nanoTime()));
+        }
+    }
+
+    /**
+     * Stops collecting the metrics of the current thread's test and appends its summary to the tests file.
+     *
+     * @param status The outcome of the test, e.g. `passed` or `failed`.
+     */
+    public static void endTest(String status) {
+        TestMetrics test = currentTest.get();
+        if (!ENABLED || test == null) {
+            return;
+        }
+        currentTest.remove();
+        Map<String, Object> line = new LinkedHashMap<>();
+        line.put("run", RUN_ID);
+        line.put("test", test.id);
+        line.put("status", status);
+        line.put("durationMs", (System.nanoTime() - test.startedAt) / 1_000_000);
+        line.putAll(test.registry.summary());
+        try {
+            appendLine(directory().resolve("tests-" + RUN_ID + ".jsonl"), MAPPER.writeValueAsString(line));
+        } catch (IOException e) {
+            log.warn("Could not write the metrics of " + test.id + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Adds a section to the run summary, e.g. counters kept by another component. The supplier is called when the
+     * summary is written. The summary is written when the JVM exits even if `metrics.enabled` is false.
+     *
+     * @param name    The key the section is written under.
+     * @param section Supplies the section, e.g. a map, when the run ends.
+     */
+    public static void addRunSection(String name, Supplier<?> section) {
+        runSections.put(name, section);
+        scheduleRunSummary();
+    }
+
+    /**
+     * @return The registry holding every duration recorded during the run.
+     */
+    public static MetricsRegistry run() {
+        return RUN;
+    }
+
+    private static void record(MetricsRegistry.Kind kind, String name, long nanos) {
+        RUN.record(kind, name, nanos);
+        TestMetrics test = currentTest.get();
+        if (test != null) {
+            test.registry.record(kind, name, nanos);
+        }
+    }
+
+    private static synchronized void appendLine(Path file, String line) throws IOException {
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        Files.writeString(file, line + System.lineSeparator(), StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    /**
+     * Registers the shutdown hook that writes the run summary, once per JVM.
+     */
+    private static void scheduleRunSummary() {
+        if (summaryScheduled.compareAndSet(false, true)) {
+            Runtime.getRuntime().addShutdownHook(new Thread(Metrics::writeRunSummary, "metrics-shutdown"));
+        }
+    }
+
+    private static void writeRunSummary() {
+        if (RUN.isEmpty() && runSections.isEmpty()) {
+            return;
+        }
+        Path file = directory().resolve("run-" + RUN_ID + ".json");
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("run", RUN_ID);
+        summary.putAll(RUN.summary());
+        runSections.forEach((name, section) -> summary.put(name, section.get()));
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            MAPPER.writerWithDefaultPrettyPrinter().writeValue(file.toFile(), summary);
+        } catch (IOException e) {
+            log.warn("Could not write the run metrics to " + file + ": " + e.getMessage());
+        }
+    }
+
+    private static Path directory() {
+        return Paths.get(FrameworkConfig.base().getProperty("metrics.dir", "logs/metrics"));
+    }
+
+    /**
+     * The registry and start time of the test running on a thread.
+     */
+    private static final class TestMetrics {
+        private final String id;
+        private final long startedAt;
+        private final MetricsRegistry registry = new MetricsRegistry();
+
+        private TestMetrics(String id, long startedAt) {
+            this.id = id;
+            this.startedAt = startedAt;
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package core.metrics;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * MetricsRegistry holds one {@link LatencyHistogram} per metric name, grouped by {@link Kind}.
+ *
+ * <p>Histograms are created on first use; afterwards recording only reads the concurrent map and updates the
+ * histogram, so threads never block each other.
+ */
+public final class MetricsRegistry {
+
+    /**
+     * What a metric measures. The name of the kind is the key it is reported under.
+     */
+    public enum Kind {
+        /**
+         * A single WebDriver command, e.g. `WebElement.click`.
+         */
+        COMMAND("commands"),
+        /**
+         * A whole `ElementUtils` operation, waits included, e.g. `waitAndClick`.
+         */
+        OPERATION("operations"),
+        /**
+         * The lookup of a page field, fallback locators included, e.g. `pages.HomePage#usernameInput`.
+         */
+        FIELD("fields");
+
+        private final String key;
+
+        Kind(String key) {
+            this.key = key;
+        }
+    }
+
+    private final Map<Kind, ConcurrentHashMap<String, LatencyHistogram>> histograms = new EnumMap<>(Kind.class);
+
+    public MetricsRegistry() {
+        for (Kind kind : Kind.values()) {
+            histograms.put(kind, new ConcurrentHashMap<>());
+        }
+    }
+
+    /**
+     * Records a duration under a metric.
+     *
+     * @param kind  What the metric measures.
+     * @param name  The metric name.
+     * @param nanos The duration in nanoseconds.
+     */
+    public void record(Kind kind, String name, long nanos) {
+        histogram(kind, name).record(nanos);
+    }
+
+    /**
+     * Retrieves the histogram of a metric, creating it if needed.
+     *
+     * @param kind What the metric measures.
+     * @param name The metric name.
+     * @return The histogram of the metric.
+     */
+    public LatencyHistogram histogram(Kind kind, String name) {
+        ConcurrentHashMap<String, LatencyHistogram> metrics = histograms.get(kind);
+        LatencyHistogram histogram = metrics.get(name);
+        return histogram != null ? histogram : metrics.computeIfAbsent(name, key -> new LatencyHistogram());
+    }
+
+    /**
+     * @return True if nothing was recorded.
+     */
+    public boolean isEmpty() {
+        return histograms.values().stream().allMatch(Map::isEmpty);
+    }
+
+    /**
+     * Summarizes every metric as its count and its p50/p95/p99/max/mean in milliseconds, sorted by name and grouped
+     * under `commands`, `operations` and `fields`, ready to be written as JSON.
+     *
+     * @return The summary.
+     */
+    public Map<String, Map<String, Map<String, Object>>> summary() {
+        Map<String, Map<String, Map<String, Object>>> summary = new LinkedHashMap<>();
+        histograms.forEach((kind, metrics) -> {
+            Map<String, Map<String, Object>> kindSummary = new TreeMap<>();
+            metrics.forEach((name, histogram) -> kindSummary.put(name, summarize(histogram)));
+            summary.put(kind.key, kindSummary);
+        });
+        return summary;
+    }
+
+    private static Map<String, Object> summarize(LatencyHistogram histogram) {
+        Map<String, Object> values = new LinkedHashMap<>();
+        values.put("count", histogram.count());
+        values.put("p50Ms", millis(histogram.percentile(50)));
+        values.put("p95Ms", millis(histogram.percentile(95)));
+        values.put("p99Ms", millis(histogram.percentile(99)));
+        values.put("maxMs", millis(histogram.max()));
+        values.put("meanMs", millis(histogram.mean()));
+        return values;
+    }
+
+    private static double millis(double nanos) {
+        return Math.round(nanos / 1_000.0) / 1_000.0;
+    }
+}
@@ -0,0 +1,22 @@
+package core.metrics;
+
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+/**
+ * TestMetricsExtension scopes the {@link Metrics} of each test, so every test gets its own summary line. It is
+ * registered by `BaseTest`; when metrics are disabled it does nothing.
+ */
+public class TestMetricsExtension implements BeforeEachCallback, AfterEachCallback {
+
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        Metrics.beginTest(context.getRequiredTestClass().getName() + "#" + context.getRequiredTestMethod().getName());
+    }
+
+    @Override
+    public void afterEach(ExtensionContext context) {
+        Metrics.endTest(context.getExecutionException().isPresent() ? "failed" : "passed");
+    }
+}
@@ -0,0 +1,112 @@
+package core.mux;
+
+import core.DriverBinaries;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * DriverProcesses starts one local driver process (chromedriver, geckodriver, msedgedriver) per browser and keeps it
+ * running for the lifetime of the {@link WebDriverMux}, so sessions never wait for a driver to start. Each process
+ * hosts every session of its browser.
+ */
+@Slf4j
+class DriverProcesses implements Function<String, URI>, AutoCloseable {
+    private static final Duration STARTUP_TIMEOUT = Duration.ofSeconds(20);
+
+    private final Map<String, URI> endpoints = new ConcurrentHashMap<>();
+    private final List<Process> processes = new ArrayList<>();
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+
+    /**
+     * Returns the endpoint of the driver of a browser, starting the driver on first use.
+     *
+     * @param browserName The W3C browser name: `chrome`, `firefox` or `MicrosoftEdge`.
+     * @return The base URI of the driver.
+     * @throws IllegalArgumentException If the browser is not supported.
+     * @throws IllegalStateException    If the driver does not start.
+     */
+    @Override
+    public URI apply(String browserName) {
+        String browser = switch (browserName == null ? "chrome" : browserName.toLowerCase(Locale.ROOT)) {
+            case "chrome" -> "chrome";
+            case "firefox" -> "firefox";
+            case "microsoftedge", "msedge", "edge" -> "edge";
+            default -> throw new IllegalArgumentException("Browser not supported: " + browserName);
+        };
+        return endpoints.computeIfAbsent(browser, this::start);
+    }
+
+    private URI start(String browser) {
+        Path driver = DriverBinaries.shared().resolve(browser).driver();
+        int port = freePort();
+        List<String> command = "firefox".equals(browser)
+                ? List.of(driver.toString(), "--port", String.valueOf(port))
+                : List.of(driver.toString(), "--port=" + port);
+        try {
+            Process process = new ProcessBuilder(command).redirectErrorStream(true)
+                    .redirectOutput(ProcessBuilder.Redirect.DISCARD).start();
+            synchronized (processes) {
+                processes.add(process);
+            }
+            URI endpoint = URI.create("http://127.0.0.1:" + port);
+            long deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+            while (System.nanoTime() < deadline && process.isAlive()) {
+                if (isReady(endpoint)) {
+                    log.info("Started the " + browser + " driver at " + endpoint);
+                    return endpoint;
+                }
+                Thread.sleep(50);
+            }
+            process.destroy();
+            throw new IllegalStateException("The " + browser + " driver did not start within " + STARTUP_TIMEOUT);
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not start the " + browser + " driver " + driver, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while starting the " + browser + " driver", e);
+        }
+    }
+
+    private boolean isReady(URI endpoint) throws InterruptedException {
+        try {
+            return client.send(HttpRequest.newBuilder(endpoint.resolve("/status")).build(),
+                    HttpResponse.BodyHandlers.discarding()).statusCode() == 200;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private static int freePort() {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        } catch (IOException e) {
+            throw new IllegalStateException("No free local port for a driver", e);
+        }
+    }
+
+    /**
+     * Stops every driver process.
+     */
+    @Override
+    public void close() {
+        synchronized (processes) {
+            processes.forEach(Process::destroy);
+            processes.clear();
+        }
+        endpoints.clear();
+    }
+}
@@ -0,0 +1,693 @@
+package core.mux;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import core.FrameworkConfig;
+import core.metrics.LatencyHistogram;
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFutureListener;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.SimpleChannelInboundHandler;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.handler.codec.http.DefaultFullHttpResponse;
+import io.netty.handler.codec.http.FullHttpRequest;
+import io.netty.handler.codec.http.FullHttpResponse;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpHeaderValues;
+import io.netty.handler.codec.http.HttpObjectAggregator;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.HttpServerCodec;
+import io.netty.handler.codec.http.HttpUtil;
+import io.netty.handler.codec.http.HttpVersion;
+import lombok.extern.slf4j.Slf4j;
+import org.openqa.selenium.Capabilities;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.remote.RemoteWebDriver;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.MalformedURLException;
+import java.net.URI;
+import java.net.URL;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+/**
+ * WebDriverMux is a local server speaking the W3C WebDriver HTTP protocol that every Surefire fork on the host shares.
+ *
+ * <p>Forks create their sessions through it with a plain `RemoteWebDriver`. The mux forwards each command to a driver
+ * process it keeps running per browser (see {@link DriverProcesses}), so no fork starts its own driver, and it:
+ * <ul>
+ *     <li>caps the sessions open on the host at `mux.max.sessions`, however many forks run; a new session waits up to
+ *     `mux.session.wait.seconds` for a free slot before failing with `session not created`;</li>
+ *     <li>keeps up to `mux.warm.sessions` sessions per distinct set of capabilities started ahead of demand, so a
+ *     fork asking for the same capabilities gets a browser that is already up;</li>
+ *     <li>serves keep-alive and pipelined HTTP/1.1 connections, answering pipelined requests in order;</li>
+ *     <li>records the latency of every command per session, exposed as JSON at `GET /mux/stats`.</li>
+ * </ul>
+ * The server listens on the loopback interface only. It deletes sessions idle for `mux.session.idle.timeout.seconds`,
+ * e.g. those of a crashed fork, and stops itself after `mux.idle.timeout.seconds` without open sessions.
+ */
+@Slf4j
+public final class WebDriverMux implements AutoCloseable {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final int MAX_CONTENT_LENGTH = 64 * 1024 * 1024;
+    private static final int MAX_CLOSED_SESSIONS = 256;
+    private static final HttpClient PROBE = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+
+    private final int maxSessions;
+    private final int warmSessions;
+    private final Duration sessionWait;
+    private final Duration sessionIdleTimeout;
+    private final Function<String, URI> drivers;
+    private final Semaphore permits;
+    private final HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    private final ExecutorService sessionStarter = Executors.newCachedThreadPool(daemon("webdriver-mux-session"));
+    private final ScheduledExecutorService reaper = Executors.newSingleThreadScheduledExecutor(
+            daemon("webdriver-mux-reaper"));
+    private final Map<String, Session> sessions = new ConcurrentHashMap<>();
+    private final Map<String, Deque<WarmSession>> warm = new ConcurrentHashMap<>();
+    private final Map<String, Map<String, Object>> closedSessions = new LinkedHashMap<>();
+    private final EventLoopGroup group;
+    private final Channel serverChannel;
+    private final AtomicBoolean closed = new AtomicBoolean();
+    private volatile long lastActivity = System.nanoTime();
+
+    /**
+     * Constructor for WebDriverMux; the server is listening when it returns.
+     *
+     * @param port               The loopback port to listen on, or 0 for any free port.
+     * @param maxSessions        The maximum number of sessions open on the host, warm sessions included.
+     * @param warmSessions       The number of sessions kept started ahead of demand per set of capabilities.
+     * @param sessionWait        How long a new session waits for a free slot.
+     * @param sessionIdleTimeout How long a session may go without commands before it is deleted.
+     * @param drivers            Maps a W3C browser name to the base URI of the driver process serving it.
+     * @throws IllegalStateException If the port cannot be bound, e.g. because another mux already runs on it.
+     */
+    WebDriverMux(int port, int maxSessions, int warmSessions, Duration sessionWait, Duration sessionIdleTimeout,
+                 Function<String, URI> drivers) {
+        this.maxSessions = Math.max(1, maxSessions);
+        this.warmSessions = Math.max(0, warmSessions);
+        this.sessionWait = sessionWait;
+        this.sessionIdleTimeout = sessionIdleTimeout;
+        this.drivers = drivers;
+        this.permits = new Semaphore(this.maxSessions, true);
+        this.group = new NioEventLoopGroup(Math.max(2, Runtime.getRuntime().availableProcessors() / 2));
+        try {
+            this.serverChannel = new ServerBootstrap()
+                    .group(group)
+                    .channel(NioServerSocketChannel.class)
+                    .childOption(ChannelOption.TCP_NODELAY, true)
+                    .childOption(ChannelOption.SO_KEEPALIVE, true)
+                    .childHandler(new ChannelInitializer<SocketChannel>() {
+                        @Override
+                        protected void initChannel(SocketChannel channel) {
+                            channel.pipeline().addLast(new HttpServerCodec(),
+                                    new HttpObjectAggregator(MAX_CONTENT_LENGTH), new ConnectionHandler());
+                        }
+                    })
+                    .bind(InetAddress.getLoopbackAddress(), port).sync().channel();
+        } catch (Exception e) {
+            group.shutdownGracefully();
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            throw new IllegalStateException("Could not start the WebDriver mux on port " + port, e);
+        }
+        reaper.scheduleWithFixedDelay(this::reapIdleSessions, 5, 5, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Starts a mux configured by the `mux.*` settings, serving sessions from local driver processes.
+     *
+     * @param config The configuration snapshot.
+     * @return The running mux.
+     */
+    public static WebDriverMux start(FrameworkConfig config) {
+        DriverProcesses drivers = new DriverProcesses();
+        WebDriverMux mux = new WebDriverMux(config.getIntProperty("mux.port", 4445),
+                config.getIntProperty("mux.max.sessions", Runtime.getRuntime().availableProcessors()),
+                config.getIntProperty("mux.warm.sessions", 1),
+                Duration.ofSeconds(config.getIntProperty("mux.session.wait.seconds", 120)),
+                Duration.ofSeconds(config.getIntProperty("mux.session.idle.timeout.seconds", 600)),
+                drivers);
+        mux.serverChannel.closeFuture().addListener(future -> drivers.close());
+        return mux;
+    }
+
+    /**
+     * Runs the mux until it has had no open sessions for `mux.idle.timeout.seconds`.
+     *
+     * @param args Unused; the server is configured through system properties and `config.properties`.
+     * @throws InterruptedException If interrupted while serving.
+     */
+    public static void main(String[] args) throws InterruptedException {
+        FrameworkConfig config = FrameworkConfig.base();
+        WebDriverMux mux = start(config);
+        Runtime.getRuntime().addShutdownHook(new Thread(mux::close, "webdriver-mux-shutdown"));
+        Duration idleTimeout = Duration.ofSeconds(config.getIntProperty("mux.idle.timeout.seconds", 60));
+        log.info("WebDriver mux listening on " + mux.uri());
+        while (!mux.closed.get()) {
+            if (mux.sessions.isEmpty() && System.nanoTime() - mux.lastActivity > idleTimeout.toNanos()) {
+                log.info("WebDriver mux idle for " + idleTimeout.toSeconds() + "s, stopping");
+                mux.close();
+            }
+            Thread.sleep(1000);
+        }
+    }
+
+    /**
+     * Creates a session through the mux of this host. If the session cannot be created because the mux has stopped,
+     * e.g. after `mux.idle.timeout.seconds` without sessions, the mux is started again and the session retried once.
+     *
+     * @param config       The configuration snapshot.
+     * @param capabilities The capabilities of the session.
+     * @return The session.
+     */
+    public static RemoteWebDriver newSession(FrameworkConfig config, Capabilities capabilities) {
+        try {
+            return new RemoteWebDriver(ensureRunning(config), capabilities);
+        } catch (WebDriverException e) {
+            if (config.getProperty("mux.url", null) != null || isUp(PROBE, localUri(config))) {
+                throw e;
+            }
+            log.warn("The WebDriver mux stopped while creating a session, starting it again: " + e.getMessage());
+            return new RemoteWebDriver(ensureRunning(config), capabilities);
+        }
+    }
+
+    /**
+     * Finds the mux of this host, starting it in a background process shared by all forks if none answers. The local
+     * mux is probed on every call, since it stops itself once idle. With `mux.url` set, that server is used as is.
+     *
+     * @param config The configuration snapshot.
+     * @return The URL `RemoteWebDriver` clients connect to.
+     * @throws IllegalStateException If the mux does not come up within 30 seconds.
+     */
+    public static synchronized URL ensureRunning(FrameworkConfig config) {
+        String configured = config.getProperty("mux.url", null);
+        URI uri = configured != null ? URI.create(configured) : localUri(config);
+        if (configured == null && !isUp(PROBE, uri)) {
+            spawn(config);
+            long deadline = System.nanoTime() + Duration.ofSeconds(30).toNanos();
+            while (!isUp(PROBE, uri)) {
+                if (System.nanoTime() > deadline) {
+                    throw new IllegalStateException("The WebDriver mux did not start at " + uri
+                            + ", see target/webdriver-mux.log");
+                }
+                try {
+                    Thread.sleep(100);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Interrupted while waiting for the WebDriver mux", e);
+                }
+            }
+        }
+        try {
+            return uri.toURL();
+        } catch (MalformedURLException e) {
+            throw new IllegalArgumentException("Invalid mux.url: " + uri, e);
+        }
+    }
+
+    private static URI localUri(FrameworkConfig config) {
+        return URI.create("http://127.0.0.1:" + config.getIntProperty("mux.port", 4445));
+    }
+
+    /**
+     * @return The base URI of the server.
+     */
+    public URI uri() {
+        InetSocketAddress address = (InetSocketAddress) serverChannel.localAddress();
+        return URI.create("http://127.0.0.1:" + address.getPort());
+    }
+
+    /**
+     * Summarizes the sessions served so far.
+     *
+     * @return The session cap, the sessions open, warm and recently closed, and per session the command count and
+     * latency percentiles in milliseconds, overall and per command.
+     */
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("maxSessions", maxSessions);
+        stats.put("availableSlots", permits.availablePermits());
+        stats.put("openSessions", sessions.size());
+        stats.put("warmSessions", warm.values().stream().mapToInt(Deque::size).sum());
+        Map<String, Object> open = new TreeMap<>();
+        sessions.forEach((id, session) -> open.put(id, session.summary()));
+        stats.put("sessions", open);
+        synchronized (closedSessions) {
+            stats.put("closedSessions", new LinkedHashMap<>(closedSessions));
+        }
+        return stats;
+    }
+
+    /**
+     * Stops the server, deletes every open and warm session and stops the driver processes it started.
+     */
+    @Override
+    public void close() {
+        if (!closed.compareAndSet(false, true)) {
+            return;
+        }
+        reaper.shutdownNow();
+        List<CompletableFuture<?>> deletions = new ArrayList<>();
+        sessions.values().forEach(session -> deletions.add(deleteBackend(session.backend(), session.id())));
+        warm.values().forEach(queue -> queue.forEach(
+                session -> deletions.add(deleteBackend(session.backend(), session.id()))));
+        try {
+            CompletableFuture.allOf(deletions.toArray(CompletableFuture[]::new)).get(10, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            log.warn("Not every session could be deleted while stopping the WebDriver mux: " + e.getMessage());
+        }
+        sessions.clear();
+        warm.clear();
+        serverChannel.close().syncUninterruptibly();
+        group.shutdownGracefully(0, 1, TimeUnit.SECONDS);
+        sessionStarter.shutdownNow();
+    }
+
+    private CompletableFuture<Response> handle(String method, String path, byte[] body) {
+        lastActivity = System.nanoTime();
+        String[] segments = path.replaceAll("^/+|/+$", "").split("/");
+        if ("GET".equals(method) && "status".equals(path.replace("/", ""))) {
+            return CompletableFuture.completedFuture(Response.json(200, Map.of("value",
+                    Map.of("ready", permits.availablePermits() > 0, "message", "UI Wizardry Lab WebDriver mux"))));
+        }
+        if ("GET".equals(method) && path.startsWith("/mux/stats")) {
+            return CompletableFuture.completedFuture(Response.json(200, stats()));
+        }
+        if ("POST".equals(method) && segments.length == 1 && "session".equals(segments[0])) {
+            return CompletableFuture.supplyAsync(() -> newSession(body), sessionStarter);
+        }
+        if (segments.length >= 2 && "session".equals(segments[0])) {
+            Session session = sessions.get(segments[1]);
+            if (session == null) {
+                return CompletableFuture.completedFuture(
+                        Response.error(404, "invalid session id", "Unknown session " + segments[1]));
+            }
+            if ("DELETE".equals(method) && segments.length == 2) {
+                return deleteSession(session);
+            }
+            return forward(session, method, path, body);
+        }
+        return CompletableFuture.completedFuture(
+                Response.error(404, "unknown command", "Unknown command " + method + " " + path));
+    }
+
+    private Response newSession(byte[] body) {
+        JsonNode capabilities;
+        try {
+            capabilities = MAPPER.readTree(body).path("capabilities");
+        } catch (IOException e) {
+            return Response.error(400, "invalid argument", "Malformed new session request: " + e.getMessage());
+        }
+        String key = capabilities.toString();
+        WarmSession warmSession = pollWarm(key);
+        if (warmSession == null) {
+            try {
+                if (!acquireSlot()) {
+                    return Response.error(500, "session not created", "All " + maxSessions
+                            + " sessions of the host are in use after waiting " + sessionWait.toSeconds() + "s");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return Response.error(500, "session not created", "Interrupted while waiting for a session slot");
+            }
+            try {
+                warmSession = startBackendSession(key, capabilities, body);
+            } catch (RuntimeException e) {
+                permits.release();
+                return Response.error(500, "session not created", e.getMessage());
+            }
+        }
+        sessions.put(warmSession.id(), new Session(warmSession.id(), warmSession.backend(), browserName(capabilities)));
+        refillWarm(key, capabilities, body);
+        return new Response(200, warmSession.response());
+    }
+
+    private WarmSession pollWarm(String key) {
+        Deque<WarmSession> queue = warm.get(key);
+        return queue != null ? queue.pollFirst() : null;
+    }
+
+    /**
+     * Takes a session slot, giving up a warm session of other capabilities when that is the only way to get one.
+     */
+    private boolean acquireSlot() throws InterruptedException {
+        if (permits.tryAcquire()) {
+            return true;
+        }
+        for (Deque<WarmSession> queue : warm.values()) {
+            WarmSession spare = queue.pollLast();
+            if (spare != null) {
+                deleteBackend(spare.backend(), spare.id()).whenComplete((ignored, error) -> permits.release());
+                break;
+            }
+        }
+        return permits.tryAcquire(sessionWait.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private void refillWarm(String key, JsonNode capabilities, byte[] body) {
+        if (warmSessions == 0 || closed.get()) {
+            return;
+        }
+        Deque<WarmSession> queue = warm.computeIfAbsent(key, k -> new ConcurrentLinkedDeque<>());
+        if (queue.size() >= warmSessions || !permits.tryAcquire()) {
+            return;
+        }
+        sessionStarter.execute(() -> {
+            try {
+                queue.addLast(startBackendSession(key, capabilities, body));
+            } catch (RuntimeException e) {
+                permits.release();
+                log.warn("Could not start a warm session: " + e.getMessage());
+            }
+        });
+    }
+
+    private WarmSession startBackendSession(String key, JsonNode capabilities, byte[] body) {
+        URI backend = drivers.apply(browserName(capabilities));
+        HttpResponse<byte[]> response;
+        try {
+            response = client.send(HttpRequest.newBuilder(backend.resolve("/session"))
+                    .header("Content-Type", "application/json; charset=utf-8")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(body)).build(),
+                    HttpResponse.BodyHandlers.ofByteArray());
+        } catch (IOException e) {
+            throw new IllegalStateException("The driver at " + backend + " did not answer: " + e.getMessage(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while starting a session", e);
+        }
+        String sessionId;
+        try {
+            sessionId = MAPPER.readTree(response.body()).path("value").path("sessionId").asText(null);
+        } catch (IOException e) {
+            sessionId = null;
+        }
+        if (response.statusCode() != 200 || sessionId == null) {
+            throw new IllegalStateException("The driver at " + backend + " refused the session: "
+                    + new String(response.body(), StandardCharsets.UTF_8));
+        }
+        return new WarmSession(sessionId, backend, key, response.body());
+    }
+
+    private CompletableFuture<Response> forward(Session session, String method, String path, byte[] body) {
+        long start = System.nanoTime();
+        session.touch();
+        HttpRequest.BodyPublisher publisher = body.length > 0
+                ? HttpRequest.BodyPublishers.ofByteArray(body) : HttpRequest.BodyPublishers.noBody();
+        HttpRequest request = HttpRequest.newBuilder(session.backend().resolve(path))
+                .header("Content-Type", "application/json; charset=utf-8")
+                .method(method, publisher).build();
+        return client.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray())
+                .handle((response, error) -> {
+                    session.record(command(method, path), System.nanoTime() - start);
+                    if (error != null) {
+                        return Response.error(500, "unknown error", "The driver at " + session.backend()
+                                + " did not answer: " + error.getMessage());
+                    }
+                    return new Response(response.statusCode(), response.body());
+                });
+    }
+
+    private CompletableFuture<Response> deleteSession(Session session) {
+        if (sessions.remove(session.id()) == null) {
+            return CompletableFuture.completedFuture(
+                    Response.error(404, "invalid session id", "Unknown session " + session.id()));
+        }
+        long start = System.nanoTime();
+        return deleteBackend(session.backend(), session.id()).handle((response, error) -> {
+            session.record("DELETE session", System.nanoTime() - start);
+            permits.release();
+            Map<String, Object> summary = session.summary();
+            synchronized (closedSessions) {
+                closedSessions.put(session.id(), summary);
+                if (closedSessions.size() > MAX_CLOSED_SESSIONS) {
+                    closedSessions.remove(closedSessions.keySet().iterator().next());
+                }
+            }
+            return error != null ? Response.json(200, Map.of("value", Map.of()))
+                    : new Response(response.statusCode(), response.body());
+        });
+    }
+
+    private CompletableFuture<HttpResponse<byte[]>> deleteBackend(URI backend, String sessionId) {
+        return client.sendAsync(HttpRequest.newBuilder(backend.resolve("/session/" + sessionId)).DELETE().build(),
+                HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    private void reapIdleSessions() {
+        long now = System.nanoTime();
+        sessions.values().forEach(session -> {
+            if (now - session.lastCommand() > sessionIdleTimeout.toNanos()) {
+                log.warn("Deleting session " + session.id() + ", idle for over "
+                        + sessionIdleTimeout.toSeconds() + "s");
+                deleteSession(session);
+            }
+        });
+    }
+
+    /**
+     * Names a command without its session and element ids, e.g. `POST element/{id}/click`.
+     */
+    static String command(String method, String path) {
+        String[] segments = path.replaceAll("^/+|/+$", "").split("/");
+        if (segments.length <= 2) {
+            return method + " session";
+        }
+        StringJoiner command = new StringJoiner("/", method + " ", "");
+        for (int i = 2; i < segments.length; i++) {
+            String previous = segments[i - 1];
+            boolean id = ("element".equals(previous) || "shadow".equals(previous) || "cookie".equals(previous))
+                    && !"active".equals(segments[i]);
+            command.add(id ? "{id}" : segments[i]);
+        }
+        return command.toString();
+    }
+
+    private static String browserName(JsonNode capabilities) {
+        String name = capabilities.path("alwaysMatch").path("browserName").asText(null);
+        if (name == null) {
+            name = capabilities.path("firstMatch").path(0).path("browserName").asText(null);
+        }
+        return name != null ? name : "chrome";
+    }
+
+    private static boolean isUp(HttpClient probe, URI uri) {
+        try {
+            return probe.send(HttpRequest.newBuilder(uri.resolve("/status")).timeout(Duration.ofSeconds(2)).build(),
+                    HttpResponse.BodyHandlers.discarding()).statusCode() == 200;
+        } catch (IOException e) {
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Starts the mux in a detached JVM with the test classpath. The `mux.*` and `driver.*` system properties are
+     * passed on; other settings come from `config.properties` and the `UIWL_` environment variables it inherits.
+     */
+    private static void spawn(FrameworkConfig config) {
+        List<String> command = new ArrayList<>();
+        command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        System.getProperties().stringPropertyNames().stream()
+                .filter(key -> key.startsWith("mux.") || key.startsWith("driver."))
+                .forEach(key -> command.add("-D" + key + "=" + System.getProperty(key)));
+        command.add(WebDriverMux.class.getName());
+        Path logFile = Paths.get("target", "webdriver-mux.log");
+        try {
+            Files.createDirectories(logFile.getParent());
+            new ProcessBuilder(command).redirectErrorStream(true)
+                    .redirectOutput(ProcessBuilder.Redirect.appendTo(logFile.toFile())).start();
+            log.info("Started the WebDriver mux on port " + config.getIntProperty("mux.port", 4445)
+                    + ", logging to " + logFile.toAbsolutePath());
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not start the WebDriver mux: " + e.getMessage(), e);
+        }
+    }
+
+    private static ThreadFactory daemon(String name) {
+        return runnable -> {
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * Serves one client connection. Pipelined requests are handled concurrently, but their responses are written in
+     * the order the requests arrived, as HTTP/1.1 requires.
+     */
+    private final class ConnectionHandler extends SimpleChannelInboundHandler<FullHttpRequest> {
+        private CompletableFuture<Void> tail = CompletableFuture.completedFuture(null);
+
+        @Override
+        protected void channelRead0(ChannelHandlerContext ctx, FullHttpRequest request) {
+            byte[] body = new byte[request.content().readableBytes()];
+            request.content().readBytes(body);
+            boolean keepAlive = HttpUtil.isKeepAlive(request);
+            String path = URI.create(request.uri()).getPath();
+            CompletableFuture<Response> response;
+            try {
+                response = handle(request.method().name(), path, body);
+            } catch (RuntimeException e) {
+                response = CompletableFuture.completedFuture(Response.error(500, "unknown error", e.getMessage()));
+            }
+            CompletableFuture<Response> result = response.exceptionally(
+                    error -> Response.error(500, "unknown error", String.valueOf(error.getMessage())));
+            tail = tail.thenCompose(ignored -> result)
+                    .thenAccept(ready -> ctx.executor().execute(() -> write(ctx, ready, keepAlive)));
+        }
+
+        private void write(ChannelHandlerContext ctx, Response response, boolean keepAlive) {
+            FullHttpResponse http = new DefaultFullHttpResponse(HttpVersion.HTTP_1_1,
+                    HttpResponseStatus.valueOf(response.status()), Unpooled.wrappedBuffer(response.body()));
+            http.headers().set(HttpHeaderNames.CONTENT_TYPE, "application/json; charset=utf-8");
+            http.headers().set(HttpHeaderNames.CACHE_CONTROL, HttpHeaderValues.NO_CACHE);
+            HttpUtil.setContentLength(http, response.body().length);
+            HttpUtil.setKeepAlive(http, keepAlive);
+            if (keepAlive) {
+                ctx.writeAndFlush(http);
+            } else {
+                ctx.writeAndFlush(http).addListener(ChannelFutureListener.CLOSE);
+            }
+        }
+
+        @Override
+        public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) {
+            log.debug("Closing WebDriver mux connection: " + cause.getMessage());
+            ctx.close();
+        }
+    }
+
+    /**
+     * A response to a client, with a JSON body.
+     */
+    private record Response(int status, byte[] body) {
+
+        static Response json(int status, Object value) {
+            try {
+                return new Response(status, MAPPER.writeValueAsBytes(value));
+            } catch (IOException e) {
+                throw new IllegalStateException("Could not serialize a mux response", e);
+            }
+        }
+
+        static Response error(int status, String error, String message) {
+            ObjectNode value = MAPPER.createObjectNode();
+            value.put("error", error).put("message", message).put("stacktrace", "");
+            ObjectNode root = MAPPER.createObjectNode();
+            root.set("value", value);
+            return json(status, root);
+        }
+    }
+
+    /**
+     * A session started ahead of demand, with the response the driver gave when it was created.
+     */
+    private record WarmSession(String id, URI backend, String capabilitiesKey, byte[] response) {
+    }
+
+    /**
+     * A session handed to a client, with its latency histograms.
+     */
+    private static final class Session {
+        private final String id;
+        private final URI backend;
+        private final String browser;
+        private final LatencyHistogram total = new LatencyHistogram();
+        private final Map<String, LatencyHistogram> commands = new ConcurrentHashMap<>();
+        private volatile long lastCommand = System.nanoTime();
+
+        Session(String id, URI backend, String browser) {
+            this.id = id;
+            this.backend = backend;
+            this.browser = browser;
+        }
+
+        String id() {
+            return id;
+        }
+
+        URI backend() {
+            return backend;
+        }
+
+        long lastCommand() {
+            return lastCommand;
+        }
+
+        void touch() {
+            lastCommand = System.nanoTime();
+        }
+
+        void record(String command, long nanos) {
+            total.record(nanos);
+            commands.computeIfAbsent(command, c -> new LatencyHistogram()).record(nanos);
+        }
+
+        Map<String, Object> summary() {
+            Map<String, Object> summary = latency(total);
+            summary.put("browser", browser);
+            Map<String, Object> byCommand = new TreeMap<>();
+            commands.forEach((command, histogram) -> byCommand.put(command, latency(histogram)));
+            summary.put("commands", byCommand);
+            return summary;
+        }
+
+        private static Map<String, Object> latency(LatencyHistogram histogram) {
+            Map<String, Object> latency = new LinkedHashMap<>();
+            latency.put("count", histogram.count());
+            latency.put("p50Ms", millis(histogram.percentile(50)));
+            latency.put("p95Ms", millis(histogram.percentile(95)));
+            latency.put("p99Ms", millis(histogram.percentile(99)));
+            latency.put("maxMs", millis(histogram.max()));
+            latency.put("meanMs", millis((long) histogram.mean()));
+            return latency;
+        }
+
+        private static double millis(long nanos) {
+            return Math.round(nanos / 1_000.0) / 1_000.0;
+        }
+    }
+}
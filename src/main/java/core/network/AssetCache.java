@@ -0,0 +1,262 @@
+package core.network;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * AssetCache is a content-addressed disk cache of static assets shared by every session, worker and JVM that points
+ * at the same directory.
+ *
+ * <p>Bodies are stored once per content under `objects/<sha-256 of the body>`, so the same bundle served from several
+ * URLs takes the space of one. Each URL has an index entry under `index/<sha-256 of the URL>.json` naming its body,
+ * the response headers to replay with it, the time its download took and until when it may be served without asking
+ * the server again. Every file is written to a temporary file and moved into place, so concurrent writers never
+ * expose a partial file. Bodies are read through read-only memory maps, kept per JVM, so serving a hit copies nothing
+ * onto the heap until the browser reads it.
+ */
+@Slf4j
+public class AssetCache {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final Path objects;
+    private final Path index;
+    private final Duration ttl;
+    private final Map<String, MappedByteBuffer> mapped = new ConcurrentHashMap<>();
+
+    /**
+     * A cached asset.
+     *
+     * @param url        The URL the asset was downloaded from.
+     * @param headers    The response headers stored with it, e.g. `Content-Type` and the CORS headers.
+     * @param size       The body size in bytes.
+     * @param fetchNanos How long the original download took.
+     * @param freshUntil The epoch millisecond until which the asset may be served without revalidation.
+     * @param body       Opens a new stream over the memory-mapped body.
+     */
+    public record Asset(String url, Map<String, String> headers, long size, long fetchNanos, long freshUntil,
+                        Supplier<InputStream> body) {
+
+        /**
+         * @return The `Content-Type` the asset was served with, or null.
+         */
+        public String contentType() {
+            return headers.get("Content-Type");
+        }
+
+        /**
+         * @return True if the asset may still be served without asking the server whether it changed.
+         */
+        public boolean isFresh() {
+            return System.currentTimeMillis() < freshUntil;
+        }
+    }
+
+    /**
+     * Constructor for AssetCache.
+     *
+     * @param directory The cache directory, shared by every session using the cache.
+     * @param ttl       How long a URL is served from the cache after it was downloaded.
+     */
+    public AssetCache(Path directory, Duration ttl) {
+        this.objects = directory.resolve("objects");
+        this.index = directory.resolve("index");
+        this.ttl = ttl;
+    }
+
+    /**
+     * Looks up the asset downloaded from a URL.
+     *
+     * @param url The asset URL.
+     * @return The cached asset, or empty if the URL was never stored, its entry expired or its body is missing.
+     */
+    public Optional<Asset> lookup(String url) {
+        Path entryFile = entryFile(url);
+        if (!Files.exists(entryFile)) {
+            return Optional.empty();
+        }
+        try {
+            Map<?, ?> entry = MAPPER.readValue(entryFile.toFile(), Map.class);
+            if (!(entry.get("content") instanceof String content)
+                    || !(entry.get("storedAt") instanceof Number storedAt)
+                    || System.currentTimeMillis() - storedAt.longValue() >= ttl.toMillis()) {
+                return Optional.empty();
+            }
+            MappedByteBuffer body = map(content);
+            if (body == null) {
+                return Optional.empty();
+            }
+            long fetchNanos = entry.get("fetchNanos") instanceof Number nanos ? nanos.longValue() : 0L;
+            long freshUntil = entry.get("freshUntil") instanceof Number fresh ? fresh.longValue() : 0L;
+            Map<String, String> headers = new LinkedHashMap<>();
+            if (entry.get("headers") instanceof Map<?, ?> stored) {
+                stored.forEach((name, value) -> headers.put(String.valueOf(name), String.valueOf(value)));
+            } else if (entry.get("contentType") instanceof String contentType) {
+                headers.put("Content-Type", contentType);
+            }
+            return Optional.of(new Asset(url, headers, body.capacity(), fetchNanos, freshUntil,
+                    () -> new BufferInputStream(body.duplicate())));
+        } catch (IOException e) {
+            log.warn("Ignoring unreadable asset cache entry " + entryFile + ": " + e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Stores an asset. The body is written only if no asset with the same content is stored yet.
+     *
+     * @param url        The URL the asset was downloaded from.
+     * @param headers    The response headers to replay when the asset is served from the cache.
+     * @param body       The decoded body.
+     * @param fetchNanos How long the download took.
+     * @param freshFor   How long the asset may be served without revalidation, e.g. its `max-age`.
+     */
+    public void store(String url, Map<String, String> headers, byte[] body, long fetchNanos, Duration freshFor) {
+        String content = sha256(body);
+        try {
+            Path object = objects.resolve(content);
+            if (!Files.exists(object)) {
+                writeAtomically(object, body);
+            }
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("url", url);
+            entry.put("content", content);
+            entry.put("headers", headers);
+            entry.put("fetchNanos", fetchNanos);
+            long now = System.currentTimeMillis();
+            entry.put("storedAt", now);
+            entry.put("freshUntil", now + freshFor.toMillis());
+            writeAtomically(entryFile(url), MAPPER.writeValueAsBytes(entry));
+        } catch (IOException e) {
+            log.warn("Could not cache " + url + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Records that the server confirmed a stored asset is unchanged, e.g. with a `304 Not Modified`. The entry starts
+     * a new time to live and takes the headers the server sent with the confirmation.
+     *
+     * @param url      The asset URL.
+     * @param headers  The replayable headers of the confirmation, which replace the stored ones of the same name.
+     * @param freshFor How long the asset may now be served without revalidation.
+     */
+    public void refresh(String url, Map<String, String> headers, Duration freshFor) {
+        Path entryFile = entryFile(url);
+        try {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            MAPPER.readValue(entryFile.toFile(), Map.class)
+                    .forEach((name, value) -> entry.put(String.valueOf(name), value));
+            Map<String, Object> merged = new LinkedHashMap<>();
+            if (entry.get("headers") instanceof Map<?, ?> stored) {
+                stored.forEach((name, value) -> merged.put(String.valueOf(name), value));
+            }
+            merged.putAll(headers);
+            entry.put("headers", merged);
+            long now = System.currentTimeMillis();
+            entry.put("storedAt", now);
+            entry.put("freshUntil", now + freshFor.toMillis());
+            writeAtomically(entryFile, MAPPER.writeValueAsBytes(entry));
+        } catch (IOException e) {
+            log.warn("Could not refresh the asset cache entry of " + url + ": " + e.getMessage());
+        }
+    }
+
+    private Path entryFile(String url) {
+        return index.resolve(sha256(url.getBytes(StandardCharsets.UTF_8)) + ".json");
+    }
+
+    /**
+     * Maps the body with the given content hash, once per JVM.
+     *
+     * @param content The SHA-256 of the body.
+     * @return The read-only mapped body, or null if it is not stored.
+     * @throws IOException If the body exists but cannot be mapped.
+     */
+    private MappedByteBuffer map(String content) throws IOException {
+        MappedByteBuffer body = mapped.get(content);
+        if (body != null) {
+            return body;
+        }
+        Path object = objects.resolve(content);
+        if (!Files.exists(object)) {
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(object, StandardOpenOption.READ)) {
+            body = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        MappedByteBuffer previous = mapped.putIfAbsent(content, body);
+        return previous != null ? previous : body;
+    }
+
+    private static void writeAtomically(Path target, byte[] bytes) throws IOException {
+        Files.createDirectories(target.getParent());
+        Path temp = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+        try {
+            Files.write(temp, bytes);
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (FileAlreadyExistsException e) {
+            // Another writer stored the same content first.
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private static String sha256(byte[] bytes) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * An input stream over its own view of a mapped body.
+     */
+    private static final class BufferInputStream extends InputStream {
+        private final ByteBuffer buffer;
+
+        private BufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) {
+            if (!buffer.hasRemaining()) {
+                return length == 0 ? 0 : -1;
+            }
+            int count = Math.min(length, buffer.remaining());
+            buffer.get(bytes, offset, count);
+            return count;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+    }
+}
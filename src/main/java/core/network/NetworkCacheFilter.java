@@ -0,0 +1,273 @@
+package core.network;
+
+import core.FrameworkConfig;
+import lombok.extern.slf4j.Slf4j;
+import org.openqa.selenium.remote.http.Contents;
+import org.openqa.selenium.remote.http.Filter;
+import org.openqa.selenium.remote.http.HttpHandler;
+import org.openqa.selenium.remote.http.HttpMethod;
+import org.openqa.selenium.remote.http.HttpRequest;
+import org.openqa.selenium.remote.http.HttpResponse;
+
+import java.net.URI;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * NetworkCacheFilter intercepts the requests of a browser session, see `NetworkInterceptor`: it blocks the URLs
+ * matching `network.block.patterns` and serves repeated static assets from an {@link AssetCache}.
+ *
+ * <p>Only `GET` requests without a `Range` header whose path ends in one of `network.cache.extensions` are cached, and
+ * only `200` responses without `Cache-Control: no-store`. A hit is served with the original content type and CORS
+ * headers. Assets marked `Cache-Control: immutable` or still within their `max-age` are served without asking the
+ * server; any other hit is revalidated first with `If-None-Match`/`If-Modified-Since`, so a bundle changed under the
+ * same URL by a deploy is downloaded again, and a `304` still saves the body. The shared instance caches in
+ * `network.cache.dir` (default `~/.cache/uiwl/assets`) for `network.cache.ttl.hours` (default 24) and reports its
+ * hits, the bytes and download time they saved and the blocked requests when the JVM exits.
+ */
+@Slf4j
+public class NetworkCacheFilter implements Filter {
+    private static final String DEFAULT_EXTENSIONS = "js,mjs,css,woff,woff2,ttf,otf,eot,svg,png,jpg,jpeg,gif,webp,ico";
+    private static final List<String> REPLAYED_HEADERS = List.of("Content-Type", "Content-Language",
+            "Access-Control-Allow-Origin", "Access-Control-Allow-Credentials", "Access-Control-Expose-Headers",
+            "Timing-Allow-Origin", "Cross-Origin-Resource-Policy", "Vary", "Last-Modified", "ETag");
+    private static final Pattern MAX_AGE = Pattern.compile("(?:^|[,\\s])max-age\\s*=\\s*\"?(\\d{1,12})");
+    private static final Duration IMMUTABLE = Duration.ofDays(365);
+    private static final NetworkCacheFilter SHARED = createShared();
+
+    private final AssetCache cache;
+    private final List<Pattern> blocked;
+    private final Set<String> extensions;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder revalidated = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder stored = new LongAdder();
+    private final LongAdder blockedRequests = new LongAdder();
+    private final LongAdder bytesSaved = new LongAdder();
+    private final LongAdder nanosSaved = new LongAdder();
+
+    /**
+     * Constructor for NetworkCacheFilter.
+     *
+     * @param cache         The asset cache, or null to only block URLs.
+     * @param blockPatterns The URL patterns to block, where `*` matches any sequence of characters.
+     * @param extensions    The file extensions of the cacheable assets, without the dot.
+     */
+    public NetworkCacheFilter(AssetCache cache, List<String> blockPatterns, Set<String> extensions) {
+        this.cache = cache;
+        this.blocked = blockPatterns.stream().map(NetworkCacheFilter::globToPattern).toList();
+        this.extensions = extensions.stream().map(e -> e.toLowerCase(Locale.ROOT)).collect(Collectors.toSet());
+    }
+
+    /**
+     * @return The JVM-wide filter used by `DriverManager` when `network.intercept.enabled=true`.
+     */
+    public static NetworkCacheFilter shared() {
+        return SHARED;
+    }
+
+    @Override
+    public HttpHandler apply(HttpHandler next) {
+        return request -> {
+            String url = request.getUri();
+            if (isBlocked(url)) {
+                blockedRequests.increment();
+                return new HttpResponse().setStatus(204);
+            }
+            if (cache == null || !isCacheable(request)) {
+                return next.execute(request);
+            }
+            AssetCache.Asset asset = cache.lookup(url).orElse(null);
+            if (asset != null && asset.isFresh()) {
+                return hit(asset, 0, "hit");
+            }
+            boolean conditional = asset != null && validate(request, asset);
+            long start = System.nanoTime();
+            HttpResponse response = next.execute(request);
+            long fetchNanos = System.nanoTime() - start;
+            if (conditional && response.getStatus() == 304) {
+                cache.refresh(url, replayedHeaders(response), freshness(response));
+                revalidated.increment();
+                return hit(asset, fetchNanos, "revalidated");
+            }
+            misses.increment();
+            if (response.getStatus() == 200 && !noStore(response)) {
+                byte[] body = Contents.bytes(response.getContent());
+                cache.store(url, replayedHeaders(response), body, fetchNanos, freshness(response));
+                stored.increment();
+                response.setContent(Contents.bytes(body));
+            }
+            return response;
+        };
+    }
+
+    /**
+     * @return The cache hits (of which revalidated with the server) and misses, the assets stored, the blocked requests
+     * and the bytes and time saved.
+     */
+    public Map<String, Object> summary() {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        long lookups = hits.sum() + misses.sum();
+        summary.put("hits", hits.sum());
+        summary.put("revalidated", revalidated.sum());
+        summary.put("misses", misses.sum());
+        summary.put("hitRatio", lookups == 0 ? 0.0 : Math.round(hits.sum() * 1000.0 / lookups) / 1000.0);
+        summary.put("stored", stored.sum());
+        summary.put("blocked", blockedRequests.sum());
+        summary.put("bytesSaved", bytesSaved.sum());
+        summary.put("timeSavedMs", nanosSaved.sum() / 1_000_000);
+        return summary;
+    }
+
+    private boolean isBlocked(String url) {
+        for (Pattern pattern : blocked) {
+            if (pattern.matcher(url).matches()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean isCacheable(HttpRequest request) {
+        if (request.getMethod() != HttpMethod.GET || request.getHeader("Range") != null) {
+            return false;
+        }
+        String path;
+        try {
+            path = URI.create(request.getUri()).getPath();
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+        if (path == null) {
+            return false;
+        }
+        int dot = path.lastIndexOf('.');
+        return dot > path.lastIndexOf('/') && extensions.contains(path.substring(dot + 1).toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * Turns a request into a conditional one carrying the validators of the cached asset. The browser's own
+     * validators are dropped, since they describe the browser's copy rather than the cached one.
+     *
+     * @return False if the asset has no validator, in which case the request is left unchanged.
+     */
+    private static boolean validate(HttpRequest request, AssetCache.Asset asset) {
+        String etag = asset.headers().get("ETag");
+        String lastModified = asset.headers().get("Last-Modified");
+        if (etag == null && lastModified == null) {
+            return false;
+        }
+        request.removeHeader("If-None-Match");
+        request.removeHeader("If-Modified-Since");
+        if (etag != null) {
+            request.setHeader("If-None-Match", etag);
+        }
+        if (lastModified != null) {
+            request.setHeader("If-Modified-Since", lastModified);
+        }
+        return true;
+    }
+
+    /**
+     * @return How long a response may be served from the cache without revalidation: a year (capped by the cache TTL)
+     * for `Cache-Control: immutable`, its `max-age`, or zero.
+     */
+    private static Duration freshness(HttpResponse response) {
+        String cacheControl = response.getHeader("Cache-Control");
+        if (cacheControl == null) {
+            return Duration.ZERO;
+        }
+        String directives = cacheControl.toLowerCase(Locale.ROOT);
+        if (directives.contains("no-cache")) {
+            return Duration.ZERO;
+        }
+        if (directives.contains("immutable")) {
+            return IMMUTABLE;
+        }
+        Matcher maxAge = MAX_AGE.matcher(directives);
+        return maxAge.find() ? Duration.ofSeconds(Long.parseLong(maxAge.group(1))) : Duration.ZERO;
+    }
+
+    private static boolean noStore(HttpResponse response) {
+        String cacheControl = response.getHeader("Cache-Control");
+        return cacheControl != null && cacheControl.toLowerCase(Locale.ROOT).contains("no-store");
+    }
+
+    /**
+     * Picks the headers a cached response must carry to behave like the original, notably the CORS headers that
+     * cross-origin fonts and module scripts need.
+     */
+    private static Map<String, String> replayedHeaders(HttpResponse response) {
+        Map<String, String> headers = new LinkedHashMap<>();
+        for (String name : REPLAYED_HEADERS) {
+            String value = response.getHeader(name);
+            if (value != null) {
+                headers.put(name, value);
+            }
+        }
+        return headers;
+    }
+
+    /**
+     * Serves a cached asset and counts what it saved.
+     *
+     * @param asset      The cached asset.
+     * @param spentNanos The time already spent revalidating it, 0 for a fresh hit.
+     * @param kind       The `X-UIWL-Cache` header value: `hit` or `revalidated`.
+     */
+    private HttpResponse hit(AssetCache.Asset asset, long spentNanos, String kind) {
+        hits.increment();
+        bytesSaved.add(asset.size());
+        nanosSaved.add(Math.max(0, asset.fetchNanos() - spentNanos));
+        HttpResponse response = new HttpResponse().setStatus(200);
+        asset.headers().forEach(response::setHeader);
+        return response
+                .setHeader("Content-Length", String.valueOf(asset.size()))
+                .setHeader("X-UIWL-Cache", kind)
+                .setContent(asset.body());
+    }
+
+    private static Pattern globToPattern(String glob) {
+        return Pattern.compile(Arrays.stream(glob.trim().split("\\*", -1))
+                .map(Pattern::quote)
+                .collect(Collectors.joining(".*")));
+    }
+
+    private static NetworkCacheFilter createShared() {
+        FrameworkConfig config = FrameworkConfig.base();
+        AssetCache cache = config.getBooleanProperty("network.cache.enabled", true)
+                ? new AssetCache(Paths.get(config.getProperty("network.cache.dir",
+                        Paths.get(System.getProperty("user.home"), ".cache", "uiwl", "assets").toString())),
+                        Duration.ofHours(config.getIntProperty("network.cache.ttl.hours", 24)))
+                : null;
+        NetworkCacheFilter filter = new NetworkCacheFilter(cache,
+                split(config.getProperty("network.block.patterns", "")),
+                Set.copyOf(split(config.getProperty("network.cache.extensions", DEFAULT_EXTENSIONS))));
+        Runtime.getRuntime().addShutdownHook(new Thread(filter::logSummary, "network-cache-report"));
+        return filter;
+    }
+
+    private void logSummary() {
+        if (hits.sum() + misses.sum() + blockedRequests.sum() > 0) {
+            Map<String, Object> summary = summary();
+            log.info("Network cache: " + summary.get("hits") + " hits (" + summary.get("revalidated")
+                    + " revalidated), " + summary.get("misses") + " misses, "
+                    + summary.get("bytesSaved") + " bytes and " + summary.get("timeSavedMs")
+                    + " ms of downloads saved, " + summary.get("blocked") + " requests blocked");
+        }
+    }
+
+    private static List<String> split(String value) {
+        return Arrays.stream(value.split(",")).map(String::trim).filter(s -> !s.isEmpty()).toList();
+    }
+}
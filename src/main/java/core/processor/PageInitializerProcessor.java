@@ -0,0 +1,442 @@
+package core.processor;
+
+import core.PageInitializer;
+import core.annotations.CacheElement;
+import core.annotations.FindByList;
+import org.openqa.selenium.support.CacheLookup;
+import org.openqa.selenium.support.FindAll;
+import org.openqa.selenium.support.FindBy;
+import org.openqa.selenium.support.FindBys;
+import org.openqa.selenium.support.How;
+import org.openqa.selenium.support.PageFactoryFinder;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * PageInitializerProcessor generates a {@link PageInitializer} for every class that declares `FindByList` or `FindBy`
+ * fields, so page objects are initialized without scanning fields or creating proxies at runtime.
+ *
+ * <p>The generated `<Page>_PageInitializer` holds the `By` locators of every field as constants and assigns the
+ * elements directly; private fields are set through a `VarHandle` resolved once when the initializer is loaded. The
+ * rules are the same as the reflective page factory: element fields without annotations are located by id or name,
+ * and list fields are only decorated when they are annotated.
+ *
+ * <p>Classes the generator cannot express, such as private classes or fields using `FindBys`, `FindAll` or custom
+ * finder annotations, are reported with a note and keep using the reflective page factory.
+ */
+@SupportedAnnotationTypes({"core.annotations.FindByList", "org.openqa.selenium.support.FindBy"})
+public class PageInitializerProcessor extends AbstractProcessor {
+    private static final String WEB_ELEMENT = "org.openqa.selenium.WebElement";
+
+    private final Set<String> generated = new HashSet<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        Set<TypeElement> pages = new LinkedHashSet<>();
+        for (TypeElement annotation : annotations) {
+            for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                if (element.getKind() == ElementKind.FIELD) {
+                    pages.add((TypeElement) element.getEnclosingElement());
+                }
+            }
+        }
+        for (TypeElement page : pages) {
+            if (generated.add(page.getQualifiedName().toString())) {
+                generate(page);
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Generates the initializer of a page class, or reports why the class keeps using the reflective page factory.
+     *
+     * @param page The page class.
+     */
+    private void generate(TypeElement page) {
+        try {
+            checkAccessible(page);
+            PageSource source = new PageSource(page);
+            for (VariableElement field : ElementFilter.fieldsIn(page.getEnclosedElements())) {
+                if (!field.getModifiers().contains(Modifier.STATIC)) {
+                    planField(source, field);
+                }
+            }
+            write(source);
+        } catch (UnsupportedPageException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE, "Page initializer not generated for "
+                    + page.getQualifiedName() + ": " + e.getMessage() + ". The reflective page factory is used.", page);
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "Could not write the page initializer: " + e.getMessage(), page);
+        }
+    }
+
+    /**
+     * Checks that the generated class, placed in the same package, can name the page class.
+     *
+     * @param page The page class.
+     */
+    private void checkAccessible(TypeElement page) {
+        for (Element type = page; type instanceof TypeElement typeElement; type = type.getEnclosingElement()) {
+            if (typeElement.getModifiers().contains(Modifier.PRIVATE)) {
+                throw new UnsupportedPageException(typeElement.getSimpleName() + " is private");
+            }
+            if (typeElement.getNestingKind() != NestingKind.TOP_LEVEL
+                    && typeElement.getNestingKind() != NestingKind.MEMBER) {
+                throw new UnsupportedPageException("local and anonymous classes are not supported");
+            }
+        }
+    }
+
+    /**
+     * Adds the initialization of a field, following the rules of the `FindByList` decorator and Selenium's default
+     * decorator.
+     *
+     * @param source The initializer being generated.
+     * @param field  The field to plan.
+     */
+    private void planField(PageSource source, VariableElement field) {
+        boolean element = isType(field.asType(), WEB_ELEMENT);
+        if (!element && isSubtype(field.asType(), WEB_ELEMENT)) {
+            throw new UnsupportedPageException(field.getSimpleName() + " is declared as a WebElement subtype");
+        }
+        String name = processingEnv.getElementUtils().getBinaryName(page(field)) + "#" + field.getSimpleName();
+        long ttlMillis = element ? cacheTtlMillis(field) : 0;
+
+        FindByList findByList = field.getAnnotation(FindByList.class);
+        if (findByList != null) {
+            if (element) {
+                String locators = source.constant(field, "List<By>", locatorList(findByList));
+                source.assign(field, "PageElements.element(driver, " + locators + ", " + literal(name) + ", "
+                        + ttlMillis + "L)");
+                return;
+            }
+            if (isAssignable("core.ElementList", field.asType())) {
+                String locators = source.constant(field, "List<By>", locatorList(findByList));
+                source.assign(field, "PageElements.elementList(driver, " + locators + ", " + literal(name) + ")");
+                return;
+            }
+        }
+
+        boolean list = isAnnotatedElementList(field);
+        if (!element && !list) {
+            return;
+        }
+        checkStandardAnnotations(field);
+        String by = source.constant(field, "By", byExpression(field));
+        boolean cacheLookup = field.getAnnotation(CacheLookup.class) != null;
+        if (ttlMillis > 0) {
+            source.assign(field, "PageElements.element(driver, List.of(" + by + "), " + literal(name) + ", "
+                    + ttlMillis + "L)");
+        } else if (element) {
+            source.assign(field, "PageElements.element(driver, " + by + ", " + cacheLookup + ")");
+        } else {
+            source.assign(field, "PageElements.elements(driver, " + by + ", " + cacheLookup + ")");
+        }
+    }
+
+    /**
+     * Mirrors Selenium's rule for decorating lists: a `List<WebElement>` annotated with `FindBy`, `FindBys` or
+     * `FindAll`.
+     *
+     * @param field The field to check.
+     * @return True if the field is a decoratable element list.
+     */
+    private boolean isAnnotatedElementList(VariableElement field) {
+        if (!(field.asType() instanceof DeclaredType declared) || declared.getTypeArguments().size() != 1
+                || !isType(declared.getTypeArguments().get(0), WEB_ELEMENT)
+                || !isSubtype(processingEnv.getTypeUtils().erasure(declared), "java.util.List")) {
+            return false;
+        }
+        boolean annotated = field.getAnnotation(FindBy.class) != null || field.getAnnotation(FindBys.class) != null
+                || field.getAnnotation(FindAll.class) != null;
+        if (annotated && !isType(processingEnv.getTypeUtils().erasure(declared), "java.util.List")) {
+            throw new UnsupportedPageException(field.getSimpleName() + " is not declared as a List");
+        }
+        return annotated;
+    }
+
+    /**
+     * Rejects the annotations whose `By` cannot be computed at compile time.
+     *
+     * @param field The decorated field.
+     */
+    private void checkStandardAnnotations(VariableElement field) {
+        if (field.getAnnotation(FindBys.class) != null || field.getAnnotation(FindAll.class) != null) {
+            throw new UnsupportedPageException(field.getSimpleName() + " uses FindBys or FindAll");
+        }
+        for (AnnotationMirror mirror : field.getAnnotationMirrors()) {
+            Element annotation = mirror.getAnnotationType().asElement();
+            if (annotation.getAnnotation(PageFactoryFinder.class) != null
+                    && !annotation.toString().equals(FindBy.class.getName())) {
+                throw new UnsupportedPageException(field.getSimpleName() + " uses the custom finder " + annotation);
+            }
+        }
+    }
+
+    /**
+     * Builds the source of the `By` of a standard field, like `Annotations.buildBy()`.
+     *
+     * @param field The decorated field.
+     * @return The Java expression creating the `By`.
+     */
+    private String byExpression(VariableElement field) {
+        FindBy findBy = field.getAnnotation(FindBy.class);
+        if (findBy == null) {
+            return "new ByIdOrName(" + literal(field.getSimpleName().toString()) + ")";
+        }
+        if (findBy.how() != How.UNSET) {
+            if (findBy.using().isEmpty()) {
+                throw new UnsupportedPageException(field.getSimpleName() + " sets how without using");
+            }
+            return byExpression(findBy.how(), findBy.using());
+        }
+        List<String> bys = new ArrayList<>();
+        addIfSet(bys, How.ID, findBy.id());
+        addIfSet(bys, How.NAME, findBy.name());
+        addIfSet(bys, How.CLASS_NAME, findBy.className());
+        addIfSet(bys, How.CSS, findBy.css());
+        addIfSet(bys, How.TAG_NAME, findBy.tagName());
+        addIfSet(bys, How.LINK_TEXT, findBy.linkText());
+        addIfSet(bys, How.PARTIAL_LINK_TEXT, findBy.partialLinkText());
+        addIfSet(bys, How.XPATH, findBy.xpath());
+        if (bys.size() != 1) {
+            throw new UnsupportedPageException(field.getSimpleName() + " must set exactly one FindBy locator");
+        }
+        return bys.get(0);
+    }
+
+    private void addIfSet(List<String> bys, How how, String value) {
+        if (!value.isEmpty()) {
+            bys.add(byExpression(how, value));
+        }
+    }
+
+    private String byExpression(How how, String value) {
+        String factory = switch (how) {
+            case ID -> "By.id";
+            case ID_OR_NAME -> "new ByIdOrName";
+            case NAME -> "By.name";
+            case CLASS_NAME -> "By.className";
+            case CSS -> "By.cssSelector";
+            case TAG_NAME -> "By.tagName";
+            case LINK_TEXT -> "By.linkText";
+            case PARTIAL_LINK_TEXT -> "By.partialLinkText";
+            case XPATH -> "By.xpath";
+            case UNSET -> throw new UnsupportedPageException("How.UNSET cannot build a locator");
+        };
+        return factory + "(" + literal(value) + ")";
+    }
+
+    /**
+     * Builds the source of the locator list of a `FindByList` field, like `CustomPageFactory.constructLocators`.
+     *
+     * @param findByList The annotation of the field.
+     * @return The Java expression creating the list.
+     */
+    private String locatorList(FindByList findByList) {
+        List<String> bys = new ArrayList<>();
+        for (FindByList.Locator locator : findByList.value()) {
+            String factory = switch (locator.type()) {
+                case ID -> "By.id";
+                case NAME -> "By.name";
+                case CLASS_NAME -> "By.className";
+                case CSS -> "By.cssSelector";
+                case XPATH -> "By.xpath";
+                case TAG_NAME -> "By.tagName";
+                case LINK_TEXT -> "By.linkText";
+                case PARTIAL_LINK_TEXT -> "By.partialLinkText";
+            };
+            bys.add(factory + "(" + literal(locator.value()) + ")");
+        }
+        return "List.of(\n            " + String.join(",\n            ", bys) + ")";
+    }
+
+    private long cacheTtlMillis(VariableElement field) {
+        CacheElement cache = field.getAnnotation(CacheElement.class);
+        if (cache == null) {
+            cache = page(field).getAnnotation(CacheElement.class);
+        }
+        return cache != null ? cache.ttlMillis() : 0;
+    }
+
+    private void write(PageSource source) throws IOException {
+        if (source.assignments.isEmpty()) {
+            return;
+        }
+        try (Writer writer = processingEnv.getFiler()
+                .createSourceFile(source.qualifiedName(), source.page).openWriter()) {
+            writer.write(source.render());
+        }
+    }
+
+    private static TypeElement page(VariableElement field) {
+        return (TypeElement) field.getEnclosingElement();
+    }
+
+    private String literal(String value) {
+        return processingEnv.getElementUtils().getConstantExpression(value);
+    }
+
+    private boolean isType(TypeMirror type, String name) {
+        TypeElement element = processingEnv.getElementUtils().getTypeElement(name);
+        return element != null && processingEnv.getTypeUtils().isSameType(type, element.asType());
+    }
+
+    private boolean isSubtype(TypeMirror type, String name) {
+        TypeElement element = processingEnv.getElementUtils().getTypeElement(name);
+        return element != null && type.getKind() == TypeKind.DECLARED && processingEnv.getTypeUtils()
+                .isSubtype(processingEnv.getTypeUtils().erasure(type), processingEnv.getTypeUtils().erasure(element.asType()));
+    }
+
+    private boolean isAssignable(String name, TypeMirror target) {
+        TypeElement element = processingEnv.getElementUtils().getTypeElement(name);
+        return element != null && processingEnv.getTypeUtils().isAssignable(element.asType(), target);
+    }
+
+    /**
+     * The source of one generated initializer, collected field by field.
+     */
+    private final class PageSource {
+        private final TypeElement page;
+        private final String packageName;
+        private final String simpleName;
+        private final String pageType;
+        private final List<String> constants = new ArrayList<>();
+        private final List<String> handles = new ArrayList<>();
+        private final List<String> assignments = new ArrayList<>();
+        private final Set<String> names = new HashSet<>();
+
+        PageSource(TypeElement page) {
+            this.page = page;
+            this.packageName = processingEnv.getElementUtils().getPackageOf(page).getQualifiedName().toString();
+            String qualified = page.getQualifiedName().toString();
+            String relative = packageName.isEmpty() ? qualified : qualified.substring(packageName.length() + 1);
+            this.simpleName = relative.replace('.', '_') + PageInitializer.SUFFIX;
+            this.pageType = processingEnv.getTypeUtils().erasure(page.asType()).toString();
+        }
+
+        String qualifiedName() {
+            return packageName.isEmpty() ? simpleName : packageName + "." + simpleName;
+        }
+
+        /**
+         * Declares a constant holding a value computed once per page class.
+         *
+         * @return The constant name.
+         */
+        String constant(VariableElement field, String type, String expression) {
+            String name = uniqueName(constantName(field.getSimpleName().toString()));
+            constants.add("    private static final " + type + " " + name + " = " + expression + ";");
+            return name;
+        }
+
+        /**
+         * Assigns a field, directly when it is accessible from the package or through a `VarHandle` when private.
+         */
+        void assign(VariableElement field, String expression) {
+            String fieldName = field.getSimpleName().toString();
+            if (field.getModifiers().contains(Modifier.FINAL)) {
+                throw new UnsupportedPageException(fieldName + " is final");
+            }
+            if (!field.getModifiers().contains(Modifier.PRIVATE)) {
+                assignments.add("        page." + fieldName + " = " + expression + ";");
+                return;
+            }
+            String handle = uniqueName(constantName(fieldName) + "_FIELD");
+            String fieldType = processingEnv.getTypeUtils().erasure(field.asType()).toString();
+            handles.add("            " + handle + " = lookup.findVarHandle(" + pageType + ".class, "
+                    + literal(fieldName) + ", " + fieldType + ".class);");
+            constants.add("    private static final VarHandle " + handle + ";");
+            assignments.add("        " + handle + ".set(page, " + expression + ");");
+        }
+
+        private String uniqueName(String name) {
+            String unique = name;
+            for (int i = 2; !names.add(unique); i++) {
+                unique = name + "_" + i;
+            }
+            return unique;
+        }
+
+        String render() {
+            StringBuilder source = new StringBuilder();
+            if (!packageName.isEmpty()) {
+                source.append("package ").append(packageName).append(";\n\n");
+            }
+            source.append("""
+                    import core.PageElements;
+                    import core.PageInitializer;
+                    import org.openqa.selenium.By;
+                    import org.openqa.selenium.WebDriver;
+                    import org.openqa.selenium.support.ByIdOrName;
+
+                    import javax.annotation.processing.Generated;
+                    import java.lang.invoke.MethodHandles;
+                    import java.lang.invoke.VarHandle;
+                    import java.util.List;
+
+                    """);
+            source.append("@Generated(\"").append(PageInitializerProcessor.class.getName()).append("\")\n");
+            source.append("@SuppressWarnings({\"rawtypes\", \"unchecked\", \"unused\"})\n");
+            source.append("public final class ").append(simpleName).append(" implements PageInitializer<")
+                    .append(pageType).append("> {\n");
+            constants.forEach(constant -> source.append(constant).append('\n'));
+            if (!handles.isEmpty()) {
+                source.append("\n    static {\n        try {\n")
+                        .append("            MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(")
+                        .append(pageType).append(".class, MethodHandles.lookup());\n");
+                handles.forEach(handle -> source.append(handle).append('\n'));
+                source.append("        } catch (ReflectiveOperationException e) {\n")
+                        .append("            throw new ExceptionInInitializerError(e);\n")
+                        .append("        }\n    }\n");
+            }
+            source.append("\n    @Override\n    public void initElements(WebDriver driver, ").append(pageType)
+                    .append(" page) {\n");
+            assignments.forEach(assignment -> source.append(assignment).append('\n'));
+            source.append("    }\n}\n");
+            return source.toString();
+        }
+    }
+
+    private static String constantName(String fieldName) {
+        return fieldName.replaceAll("([a-z0-9])([A-Z])", "$1_$2").toUpperCase();
+    }
+
+    /**
+     * Signals a page class whose initializer cannot be generated.
+     */
+    private static final class UnsupportedPageException extends RuntimeException {
+        UnsupportedPageException(String message) {
+            super(message);
+        }
+    }
+}
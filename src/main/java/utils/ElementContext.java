@@ -0,0 +1,429 @@
+package utils;
+
+import core.BrowserContextHost;
+import core.FrameworkConfig;
+import lombok.extern.slf4j.Slf4j;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.interactions.Actions;
+import org.openqa.selenium.support.ui.ExpectedConditions;
+import org.openqa.selenium.support.ui.Select;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * ElementContext bundles the WebDriver, waits and `Actions` used to interact with the elements of one session.
+ *
+ * <p>Waits and actions are built once per context and reused by every interaction, so the hot interaction path does
+ * not allocate a new `WebDriverWait` per call. A context is bound to a single driver and is not meant to be shared
+ * between threads; {@link ElementUtils} keeps one context per thread.
+ */
+@Slf4j
+public class ElementContext {
+    private static final Duration IMPLICIT_SETTLE_TIMEOUT = Duration.ofSeconds(1);
+
+    private final WebDriver driver;
+    private final WebDriverWait wait;
+    private final WebDriverWait interactionWait;
+    private final Actions action;
+    private final SettleMode settleMode;
+    private final PageSettledDetector settledDetector;
+    private final PageSettledDetector implicitDetector;
+    private final int stabilityFrames = FrameworkConfig.current().stabilityFrames();
+
+    /**
+     * Strategy used by {@link #implicitWait()} to let the UI catch up after an interaction.
+     */
+    public enum SettleMode {
+        /**
+         * Returns as soon as the page is quiet, see {@link PageSettledDetector}.
+         */
+        SETTLED,
+        /**
+         * Always waits one second, kept as a fallback and for comparing both strategies in CI.
+         */
+        FIXED
+    }
+
+    /**
+     * Creates a context using the timeouts configured by `wait.timeout.seconds` (default 3) and
+     * `wait.interaction.timeout.seconds` (default 10). The settle strategy is read from `settle.mode`
+     * (`settled` or `fixed`) and `settle.quiet.millis` (default 100). Values come from the
+     * {@link FrameworkConfig} bound to the calling thread.
+     *
+     * @param driver The WebDriver instance the context is bound to.
+     */
+    public ElementContext(WebDriver driver) {
+        this(driver, FrameworkConfig.current().waitTimeout(), FrameworkConfig.current().interactionTimeout());
+    }
+
+    /**
+     * Creates a context with explicit timeouts.
+     *
+     * @param driver             The WebDriver instance the context is bound to.
+     * @param timeout            The timeout used by visibility and clickability waits.
+     * @param interactionTimeout The timeout used by text input and UI settling waits.
+     */
+    public ElementContext(WebDriver driver, Duration timeout, Duration interactionTimeout) {
+        this(driver, timeout, interactionTimeout,
+                SettleMode.valueOf(FrameworkConfig.current().settleMode()),
+                FrameworkConfig.current().settleQuietWindow());
+    }
+
+    /**
+     * Creates a context with explicit timeouts and settle strategy.
+     *
+     * @param driver             The WebDriver instance the context is bound to.
+     * @param timeout            The timeout used by visibility and clickability waits.
+     * @param interactionTimeout The timeout used by text input and UI settling waits.
+     * @param settleMode         The strategy used by {@link #implicitWait()}.
+     * @param quietWindow        How long the page must stay quiet to be considered settled.
+     */
+    public ElementContext(WebDriver driver, Duration timeout, Duration interactionTimeout,
+                          SettleMode settleMode, Duration quietWindow) {
+        this.driver = driver;
+        this.wait = new WebDriverWait(driver, timeout);
+        this.interactionWait = new WebDriverWait(driver, interactionTimeout);
+        this.action = new Actions(driver);
+        this.settleMode = settleMode;
+        this.settledDetector = new PageSettledDetector(quietWindow, interactionTimeout);
+        this.implicitDetector = new PageSettledDetector(quietWindow,
+                interactionTimeout.compareTo(IMPLICIT_SETTLE_TIMEOUT) < 0
+                        ? interactionTimeout : IMPLICIT_SETTLE_TIMEOUT);
+    }
+
+    /**
+     * @return The WebDriver instance the context is bound to.
+     */
+    public WebDriver getDriver() {
+        return driver;
+    }
+
+    /**
+     * Waits until the given WebElement is clickable and then clicks it.
+     *
+     * @param element The WebElement to be clicked.
+     * @throws NoSuchElementException If the element is not clickable within the timeout.
+     */
+    public void waitAndClick(WebElement element) {
+        waitAndClick(element, false);
+    }
+
+    /**
+     * Waits until the given WebElement is clickable and then clicks it, optionally waiting for the element to stop
+     * moving first.
+     *
+     * @param element          The WebElement to be clicked.
+     * @param waitForStability True to also wait until the element's position and size are stable.
+     * @throws NoSuchElementException If the element is not clickable or stable within the timeout.
+     */
+    public void waitAndClick(WebElement element, boolean waitForStability) {
+        try {
+            WebElement clickableElement = wait.until(ExpectedConditions.elementToBeClickable(element));
+            if (waitForStability) {
+                wait.until(new StableElementCondition(clickableElement, stabilityFrames));
+            }
+            clickableElement.click();
+        } catch (TimeoutException e) {
+            log.error("El elemento no se ha vuelto clickeable: " + e.getMessage());
+            throw new NoSuchElementException("El elemento no se ha vuelto clickeable: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Waits until the given WebElement is clickable, and then sends the specified text.
+     * It also ensures the element remains stationary during the interaction, checking its bounding rect across
+     * `stability.frames` animation frames inside the browser.
+     *
+     * @param element The WebElement to receive the input text.
+     * @param text    The text to send to the WebElement.
+     * @throws NoSuchElementException If the element is not clickable within the timeout.
+     */
+    public void waitAndSendKeys(WebElement element, String text) {
+        try {
+            interactionWait.until(ExpectedConditions.elementToBeClickable(element));
+            interactionWait.until(new StableElementCondition(element, stabilityFrames));
+
+            element.clear();
+            element.sendKeys(text);
+        } catch (TimeoutException e) {
+            log.error("El elemento no es interactuable: " + e.getMessage());
+            throw new NoSuchElementException("El elemento no es interactuable: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Waits until the WebElement is visible and double-clicks it using an `Actions` object.
+     *
+     * @param element The WebElement to double-click.
+     * @throws NoSuchElementException If the element is not visible within the timeout.
+     */
+    public void waitVisibilityAndDoubleClick(WebElement element) {
+        waitVisibilityAndDoubleClick(element, false);
+    }
+
+    /**
+     * Waits until the WebElement is visible and double-clicks it using an `Actions` object, optionally waiting for
+     * the element to stop moving first.
+     *
+     * @param element          The WebElement to double-click.
+     * @param waitForStability True to also wait until the element's position and size are stable.
+     * @throws NoSuchElementException If the element is not visible or stable within the timeout.
+     */
+    public void waitVisibilityAndDoubleClick(WebElement element, boolean waitForStability) {
+        try {
+            WebElement visibleElement = wait.until(ExpectedConditions.visibilityOf(element));
+            if (waitForStability) {
+                wait.until(new StableElementCondition(visibleElement, stabilityFrames));
+            }
+            action.doubleClick(visibleElement).perform();
+        } catch (TimeoutException e) {
+            log.error("El elemento no se ha vuelto visible para doble clic: " + e.getMessage());
+            throw new NoSuchElementException("El elemento no se ha vuelto visible para doble clic: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Waits until a dropdown WebElement becomes visible, then selects an option by its visible text.
+     *
+     * @param dropdown The dropdown WebElement containing various options.
+     * @param option   The visible text of the option to select from the dropdown.
+     * @throws NoSuchElementException If the dropdown or the desired option is not visible within the timeout.
+     */
+    public void waitAndSelectOptionFromDropdown(WebElement dropdown, String option) {
+        try {
+            WebElement visibleDropdown = wait.until(ExpectedConditions.visibilityOf(dropdown));
+            Select select = new Select(visibleDropdown);
+            select.selectByVisibleText(option);
+        } catch (TimeoutException e) {
+            log.error("El menú desplegable no se ha vuelto visible para seleccionar una opción: " + e.getMessage());
+            throw new NoSuchElementException("El menú desplegable no se ha vuelto visible para seleccionar una opción: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Fills a form in a single script call instead of one `waitAndSendKeys` per field. The form is waited for once,
+     * until every field is displayed and enabled, and the values are then set in order firing the `input`, `change`
+     * and `blur` events a user would (see {@link FormFill}). Fields the script cannot fill, such as inputs whose key
+     * handlers rewrite the value, are typed afterwards with `waitAndSendKeys`.
+     *
+     * @param fields The fields and their values, in the order they are filled, e.g. a `LinkedHashMap`. Selects take the
+     *               visible text or value of the option, checkboxes and radios `true` or `false`.
+     * @throws NoSuchElementException If some field is not displayed and enabled within the timeout.
+     */
+    public void fillForm(Map<? extends WebElement, String> fields) {
+        FormFill form = new FormFill(fields);
+        List<Integer> typed;
+        try {
+            typed = interactionWait.until(form);
+        } catch (TimeoutException e) {
+            log.error("Los campos del formulario no se han vuelto interactuables: " + e.getMessage());
+            throw new NoSuchElementException("Los campos del formulario no se han vuelto interactuables: " + e.getMessage());
+        }
+        for (int index : typed) {
+            typeField(form.getElements().get(index), form.getValues().get(index));
+        }
+    }
+
+    /**
+     * Sets a single field with the WebDriver API, used for the fields the form script could not fill.
+     *
+     * @param element The field.
+     * @param value   The value to set.
+     */
+    private void typeField(WebElement element, String value) {
+        String type = String.valueOf(element.getAttribute("type")).toLowerCase();
+        if ("select".equalsIgnoreCase(element.getTagName())) {
+            waitAndSelectOptionFromDropdown(element, value);
+        } else if ("checkbox".equals(type) || "radio".equals(type)) {
+            boolean wanted = FormFill.isChecked(value);
+            if (element.isSelected() != wanted && (wanted || "checkbox".equals(type))) {
+                waitAndClick(element);
+            }
+        } else {
+            waitAndSendKeys(element, value);
+        }
+    }
+
+    /**
+     * Waits until a WebElement is visible and then verifies if its text matches the expected value.
+     *
+     * @param element      The WebElement containing the text to verify.
+     * @param expectedText The expected text value to compare with the WebElement's text.
+     * @return True if the actual text matches the expected text; otherwise, false.
+     * @throws NoSuchElementException If the WebElement is not visible within the timeout.
+     */
+    public boolean waitAndVerifyText(WebElement element, String expectedText) {
+        try {
+            WebElement presentElement = wait.until(ExpectedConditions.visibilityOf(element));
+            return presentElement.getText().equals(expectedText);
+        } catch (TimeoutException e) {
+            log.error("El elemento no se ha vuelto presente para verificar el texto: " + e.getMessage());
+            throw new NoSuchElementException("El elemento no se ha vuelto presente para verificar el texto: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Waits until a WebElement becomes visible and retrieves its text content.
+     *
+     * @param element The WebElement containing the text content to retrieve.
+     * @return The text content of the WebElement.
+     * @throws NoSuchElementException If the WebElement is not visible within the timeout.
+     */
+    public String waitAndGetText(WebElement element) {
+        try {
+            WebElement presentElement = wait.until(ExpectedConditions.visibilityOf(element));
+            return presentElement.getText();
+        } catch (TimeoutException e) {
+            log.error("El elemento no se ha vuelto presente para obtener su texto: " + e.getMessage());
+            throw new NoSuchElementException("El elemento no se ha vuelto presente para obtener su texto: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Reads the state of many elements in a single script call, e.g. every field of a summary page, instead of one
+     * visibility wait and one `getText` round trip per element.
+     *
+     * @param elements          The elements to read, in the order the states are returned.
+     * @param waitForVisibility True to wait, with one shared wait, until every element is present and displayed.
+     * @param properties        The properties to read from every element.
+     * @return One state per element; elements that are not found are reported as {@link ElementState#MISSING}.
+     * @throws NoSuchElementException If `waitForVisibility` is set and some element is not visible within the timeout.
+     */
+    public List<ElementState> getElementStates(List<? extends WebElement> elements, boolean waitForVisibility,
+                                               ElementProperty... properties) {
+        return queryStates(ElementStateQuery.forElements(elements, List.of(properties), waitForVisibility),
+                waitForVisibility);
+    }
+
+    /**
+     * Reads the state of the first element matched by each locator in a single script call.
+     *
+     * @param locators          The locators to read, in the order the states are returned.
+     * @param waitForVisibility True to wait, with one shared wait, until every element is present and displayed.
+     * @param properties        The properties to read from every element.
+     * @return One state per locator; locators that match nothing are reported as {@link ElementState#MISSING}.
+     * @throws NoSuchElementException If `waitForVisibility` is set and some element is not visible within the timeout.
+     */
+    public List<ElementState> getLocatorStates(List<By> locators, boolean waitForVisibility,
+                                               ElementProperty... properties) {
+        return queryStates(ElementStateQuery.forLocators(locators, List.of(properties), waitForVisibility),
+                waitForVisibility);
+    }
+
+    private List<ElementState> queryStates(ElementStateQuery query, boolean waitForVisibility) {
+        if (!waitForVisibility) {
+            return query.apply(driver);
+        }
+        try {
+            return wait.until(query);
+        } catch (TimeoutException e) {
+            log.error("Los elementos no se han vuelto visibles para consultar su estado: " + e.getMessage());
+            throw new NoSuchElementException("Los elementos no se han vuelto visibles para consultar su estado: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Switches to the browser window with the specified title.
+     * When the session runs in a shared browser (`browser.contexts.enabled`), only the windows of its own context are
+     * considered and their titles come from browser events, waiting up to the wait timeout for the window to appear;
+     * otherwise each window is switched to in turn and its title read.
+     *
+     * @param targetWindowTitle The title of the target window to switch to.
+     * @throws RuntimeException If no window with the specified title is found among the open windows.
+     */
+    public void windowHandler(String targetWindowTitle) {
+        BrowserContextHost.Context browserContext = BrowserContextHost.contextOf(driver);
+        if (browserContext != null) {
+            String handle;
+            try {
+                handle = wait.until(d -> browserContext.findWindow(targetWindowTitle));
+            } catch (TimeoutException e) {
+                throw new RuntimeException("No se encontró la ventana con el título: " + targetWindowTitle);
+            }
+            driver.switchTo().window(handle);
+            return;
+        }
+        Set<String> windowHandles = driver.getWindowHandles();
+        boolean foundWindow = false;
+        for (String windowHandle : windowHandles) {
+            driver.switchTo().window(windowHandle);
+            if (driver.getTitle().equals(targetWindowTitle)) {
+                foundWindow = true;
+                break;
+            }
+        }
+        if (!foundWindow) {
+            throw new RuntimeException("No se encontró la ventana con el título: " + targetWindowTitle);
+        }
+    }
+
+    /**
+     * Clicks on a WebElement using JavaScript to bypass conventional Selenium interactions.
+     * This method is useful for elements that may be hidden behind other UI components.
+     *
+     * @param element The WebElement to click using JavaScript.
+     */
+    public void clickWithJavaScript(WebElement element) {
+        implicitWait();
+        ((JavascriptExecutor) driver).executeScript("arguments[0].click();", element);
+    }
+
+    /**
+     * Scrolls the page to bring the specified WebElement into view.
+     *
+     * @param element The WebElement to scroll to.
+     */
+    public void scrollToElement(WebElement element) {
+        ((JavascriptExecutor) driver).executeScript("arguments[0].scrollIntoView(true);", element);
+        implicitWait();
+    }
+
+    /**
+     * Waits for the UI to catch up after an interaction. In `SETTLED` mode it returns as soon as the page is quiet
+     * and logs the diagnostic if the page is still busy after one second, so a page that never goes quiet costs no
+     * more than the fixed delay; use {@link #waitForPageSettled()} to wait up to the interaction timeout. In `FIXED`
+     * mode it waits one second. Drivers without JavaScript support always use the fixed delay.
+     */
+    public void implicitWait() {
+        if (settleMode == SettleMode.SETTLED && driver instanceof JavascriptExecutor) {
+            try {
+                implicitDetector.await(driver);
+            } catch (TimeoutException e) {
+                log.warn(e.getMessage());
+            }
+            return;
+        }
+        fixedWait();
+    }
+
+    /**
+     * Waits until the page is settled, see {@link PageSettledDetector}.
+     *
+     * @throws TimeoutException If the page is still busy after the interaction timeout, naming what kept it busy.
+     */
+    public void waitForPageSettled() {
+        settledDetector.await(driver);
+    }
+
+    /**
+     * Pauses the execution for one second to allow for UI updates.
+     * It uses the interaction wait to wait until a specific amount of time has passed.
+     */
+    private void fixedWait() {
+        long startTime = System.currentTimeMillis();
+        try {
+            interactionWait.until(webDriver -> System.currentTimeMillis() - startTime > 1000);
+        } catch (Exception e) {
+            log.error("Error durante la espera implícita", e);
+        }
+    }
+}
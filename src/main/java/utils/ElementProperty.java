@@ -0,0 +1,79 @@
+package utils;
+
+import java.util.Objects;
+
+/**
+ * ElementProperty names a piece of element state read by the batch queries of {@link ElementContext}.
+ *
+ * <p>Use the constants for the built-in properties and {@link #attribute(String)} for attributes.
+ */
+public final class ElementProperty {
+    /**
+     * The rendered text, empty for elements that are not rendered, like `getText()`.
+     */
+    public static final ElementProperty TEXT = new ElementProperty("text", null);
+    /**
+     * The `value` property of form fields.
+     */
+    public static final ElementProperty VALUE = new ElementProperty("value", null);
+    /**
+     * Whether the element is rendered and visible.
+     */
+    public static final ElementProperty DISPLAYED = new ElementProperty("displayed", null);
+    /**
+     * Whether the element is not disabled.
+     */
+    public static final ElementProperty ENABLED = new ElementProperty("enabled", null);
+    /**
+     * The position and size of the element relative to the document.
+     */
+    public static final ElementProperty RECT = new ElementProperty("rect", null);
+
+    private final String kind;
+    private final String name;
+
+    private ElementProperty(String kind, String name) {
+        this.kind = kind;
+        this.name = name;
+    }
+
+    /**
+     * Creates the property reading an attribute.
+     *
+     * @param name The attribute name.
+     * @return The attribute property.
+     */
+    public static ElementProperty attribute(String name) {
+        return new ElementProperty("attribute", Objects.requireNonNull(name));
+    }
+
+    /**
+     * @return The kind of property: `text`, `value`, `displayed`, `enabled`, `rect` or `attribute`.
+     */
+    String kind() {
+        return kind;
+    }
+
+    /**
+     * @return The attribute name, or null for the other kinds.
+     */
+    String name() {
+        return name;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof ElementProperty property && kind.equals(property.kind)
+                && Objects.equals(name, property.name);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(kind, name);
+    }
+
+    @Override
+    public String toString() {
+        return name != null ? kind + "[" + name + "]" : kind;
+    }
+}
@@ -0,0 +1,38 @@
+package utils;
+
+import org.openqa.selenium.Rectangle;
+
+import java.util.Map;
+
+/**
+ * ElementState is the state of one element returned by the batch queries of {@link ElementContext}.
+ *
+ * <p>Only the requested properties are filled in; the others are null. An element that could not be found is
+ * reported with `present` set to false instead of failing the whole query.
+ *
+ * @param present    True if the element was found.
+ * @param text       The rendered text, if requested.
+ * @param value      The `value` property, if requested.
+ * @param displayed  Whether the element is displayed, if requested.
+ * @param enabled    Whether the element is enabled, if requested.
+ * @param rect       The position and size of the element, if requested.
+ * @param attributes The requested attributes by name.
+ */
+public record ElementState(boolean present, String text, String value, Boolean displayed, Boolean enabled,
+                           Rectangle rect, Map<String, String> attributes) {
+
+    /**
+     * The state reported for an element that could not be found.
+     */
+    public static final ElementState MISSING = new ElementState(false, null, null, null, null, null, Map.of());
+
+    /**
+     * Retrieves a requested attribute.
+     *
+     * @param name The attribute name.
+     * @return The attribute value, or null if the element does not have it or it was not requested.
+     */
+    public String attribute(String name) {
+        return attributes.get(name);
+    }
+}
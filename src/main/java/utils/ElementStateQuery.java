@@ -0,0 +1,278 @@
+package utils;
+
+import core.LocatorScript;
+import lombok.extern.slf4j.Slf4j;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptException;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.Rectangle;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.UnsupportedCommandException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.ui.ExpectedCondition;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * ElementStateQuery reads the state of many elements with a single `executeScript` call.
+ *
+ * <p>Targets are either elements or locators. Locators, and elements injected by generated page initializers whose
+ * locators are known, are resolved inside the browser by the same script, so a query over a whole page costs one round
+ * trip. Elements that are not found are reported as {@link ElementState#MISSING}.
+ *
+ * <p>Used as a condition, the query returns null until every target is present and displayed, so a `WebDriverWait`
+ * polls the whole batch with one call per attempt. Drivers without JavaScript support, and queries whose elements
+ * became stale, fall back to reading each element through the WebDriver API.
+ */
+@Slf4j
+public class ElementStateQuery implements ExpectedCondition<List<ElementState>> {
+    private static final String QUERY_SCRIPT = """
+            var targets = arguments[0], props = arguments[1], requireVisible = arguments[2];
+            %s
+            function uiwlDisplayed(el) {
+              if (!el.getClientRects().length) { return false; }
+              var style = window.getComputedStyle(el);
+              return style.visibility !== 'hidden' && style.visibility !== 'collapse' && parseFloat(style.opacity) !== 0;
+            }
+            function uiwlProperty(el, prop, displayed) {
+              switch (prop[0]) {
+                case 'text': return displayed ? (el.innerText || el.textContent || '').trim() : '';
+                case 'value': return el.value === undefined || el.value === null ? null : String(el.value);
+                case 'attribute': return el.getAttribute(prop[1]);
+                case 'displayed': return displayed;
+                case 'enabled': return !(el.matches && el.matches(':disabled'));
+                case 'rect':
+                  var r = el.getBoundingClientRect();
+                  return {x: r.left + window.scrollX, y: r.top + window.scrollY, width: r.width, height: r.height};
+              }
+              return null;
+            }
+            var elements = [], pending = [];
+            for (var i = 0; i < targets.length; i++) {
+              var el = uiwlResolve(targets[i]);
+              var displayed = !!el && uiwlDisplayed(el);
+              if (!displayed) { pending.push(i); }
+              elements.push([el, displayed]);
+            }
+            if (requireVisible && pending.length) { return [false, pending]; }
+            return [true, elements.map(function (entry) {
+              if (!entry[0]) { return null; }
+              return props.map(function (prop) { return uiwlProperty(entry[0], prop, entry[1]); });
+            })];
+            """.formatted(ScriptTargets.resolverFunction());
+
+    private final List<Object> targets;
+    private final List<ElementProperty> properties;
+    private final boolean requireVisible;
+    private boolean scriptSupported = true;
+    private List<Integer> pending = List.of();
+
+    private ElementStateQuery(List<Object> targets, List<ElementProperty> properties, boolean requireVisible) {
+        this.targets = targets;
+        this.properties = List.copyOf(properties);
+        this.requireVisible = requireVisible;
+    }
+
+    /**
+     * Creates a query over elements. Elements injected by generated page initializers are resolved by their locators
+     * inside the browser; other elements are resolved by the driver when the script arguments are sent.
+     *
+     * @param elements       The elements to read, in the order the states are returned.
+     * @param properties     The properties to read from every element.
+     * @param requireVisible True to make the condition wait until every element is present and displayed.
+     * @return The query.
+     */
+    public static ElementStateQuery forElements(List<? extends WebElement> elements, List<ElementProperty> properties,
+                                                boolean requireVisible) {
+        List<Object> targets = new ArrayList<>(elements.size());
+        for (WebElement element : elements) {
+            List<By> locators = ScriptTargets.locators(element);
+            targets.add(locators != null ? locators : element);
+        }
+        return new ElementStateQuery(targets, properties, requireVisible);
+    }
+
+    /**
+     * Creates a query over locators; each locator is resolved to the first element it matches.
+     *
+     * @param locators       The locators to read, in the order the states are returned.
+     * @param properties     The properties to read from every element.
+     * @param requireVisible True to make the condition wait until every element is present and displayed.
+     * @return The query.
+     */
+    public static ElementStateQuery forLocators(List<By> locators, List<ElementProperty> properties,
+                                                boolean requireVisible) {
+        List<Object> targets = new ArrayList<>(locators.size());
+        for (By locator : locators) {
+            targets.add(List.of(locator));
+        }
+        return new ElementStateQuery(targets, properties, requireVisible);
+    }
+
+    /**
+     * Runs the query.
+     *
+     * @param driver The WebDriver instance used to run the query.
+     * @return One state per target, or null if the query waits for visibility and some target is not displayed yet.
+     */
+    @Override
+    public List<ElementState> apply(WebDriver driver) {
+        if (scriptSupported && driver instanceof JavascriptExecutor executor) {
+            try {
+                return readWithScript(driver, executor);
+            } catch (UnsupportedCommandException | JavascriptException e) {
+                log.warn("Batch state query failed, falling back to per-element reads: " + e.getMessage());
+                scriptSupported = false;
+            } catch (NoSuchElementException | StaleElementReferenceException e) {
+                // An element could not be sent to the script; read them one by one to report it as missing.
+            }
+        }
+        return readIndividually(driver);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<ElementState> readWithScript(WebDriver driver, JavascriptExecutor executor) {
+        List<Object> arguments = new ArrayList<>(targets.size());
+        for (Object target : targets) {
+            arguments.add(target instanceof List<?> locators ? scriptLocators(driver, (List<By>) locators) : target);
+        }
+        List<List<String>> props = new ArrayList<>(properties.size());
+        for (ElementProperty property : properties) {
+            props.add(Collections.unmodifiableList(Arrays.asList(property.kind(), property.name())));
+        }
+        List<Object> result = (List<Object>) executor.executeScript(QUERY_SCRIPT, arguments, props, requireVisible);
+        if (!Boolean.TRUE.equals(result.get(0))) {
+            pending = new ArrayList<>();
+            for (Object index : (List<Object>) result.get(1)) {
+                pending.add(((Number) index).intValue());
+            }
+            return null;
+        }
+        pending = List.of();
+        List<ElementState> states = new ArrayList<>(targets.size());
+        for (Object row : (List<Object>) result.get(1)) {
+            states.add(row == null ? ElementState.MISSING : toState((List<Object>) row));
+        }
+        return states;
+    }
+
+    /**
+     * Converts locators to the script arguments. Locators the script cannot evaluate are resolved by the driver.
+     *
+     * @return The `[[using, value], ...]` pairs, or the element found by the driver, or null if there is none.
+     */
+    private Object scriptLocators(WebDriver driver, List<By> locators) {
+        List<List<String>> parameters = LocatorScript.parameters(locators);
+        return parameters != null ? parameters : find(driver, locators);
+    }
+
+    private ElementState toState(List<Object> values) {
+        String text = null;
+        String value = null;
+        Boolean displayed = null;
+        Boolean enabled = null;
+        Rectangle rect = null;
+        Map<String, String> attributes = new LinkedHashMap<>();
+        for (int i = 0; i < properties.size(); i++) {
+            Object raw = values.get(i);
+            ElementProperty property = properties.get(i);
+            switch (property.kind()) {
+                case "text" -> text = (String) raw;
+                case "value" -> value = (String) raw;
+                case "displayed" -> displayed = (Boolean) raw;
+                case "enabled" -> enabled = (Boolean) raw;
+                case "rect" -> rect = toRectangle((Map<?, ?>) raw);
+                default -> attributes.put(property.name(), (String) raw);
+            }
+        }
+        return new ElementState(true, text, value, displayed, enabled, rect, Collections.unmodifiableMap(attributes));
+    }
+
+    private static Rectangle toRectangle(Map<?, ?> rect) {
+        return new Rectangle(round(rect.get("x")), round(rect.get("y")), round(rect.get("height")),
+                round(rect.get("width")));
+    }
+
+    private static int round(Object number) {
+        return (int) Math.round(((Number) number).doubleValue());
+    }
+
+    /**
+     * Reads every target through the WebDriver API, used when the script cannot run.
+     *
+     * @param driver The WebDriver instance used to find locators.
+     * @return One state per target, or null if the query waits for visibility and some target is not displayed yet.
+     */
+    @SuppressWarnings("unchecked")
+    private List<ElementState> readIndividually(WebDriver driver) {
+        List<ElementState> states = new ArrayList<>(targets.size());
+        List<Integer> notDisplayed = new ArrayList<>();
+        for (int i = 0; i < targets.size(); i++) {
+            Object target = targets.get(i);
+            WebElement element = target instanceof List<?> locators
+                    ? find(driver, (List<By>) locators) : (WebElement) target;
+            ElementState state = element != null ? read(element) : ElementState.MISSING;
+            if (requireVisible && (!state.present() || !isDisplayed(element))) {
+                notDisplayed.add(i);
+            }
+            states.add(state);
+        }
+        pending = notDisplayed;
+        return requireVisible && !notDisplayed.isEmpty() ? null : states;
+    }
+
+    private ElementState read(WebElement element) {
+        try {
+            String text = null;
+            String value = null;
+            Boolean displayed = null;
+            Boolean enabled = null;
+            Rectangle rect = null;
+            Map<String, String> attributes = new LinkedHashMap<>();
+            for (ElementProperty property : properties) {
+                switch (property.kind()) {
+                    case "text" -> text = element.getText();
+                    case "value" -> value = element.getDomProperty("value");
+                    case "displayed" -> displayed = element.isDisplayed();
+                    case "enabled" -> enabled = element.isEnabled();
+                    case "rect" -> rect = element.getRect();
+                    default -> attributes.put(property.name(), element.getAttribute(property.name()));
+                }
+            }
+            return new ElementState(true, text, value, displayed, enabled, rect,
+                    Collections.unmodifiableMap(attributes));
+        } catch (NoSuchElementException | StaleElementReferenceException e) {
+            return ElementState.MISSING;
+        }
+    }
+
+    private static boolean isDisplayed(WebElement element) {
+        try {
+            return element.isDisplayed();
+        } catch (NoSuchElementException | StaleElementReferenceException e) {
+            return false;
+        }
+    }
+
+    private static WebElement find(WebDriver driver, List<By> locators) {
+        for (By locator : locators) {
+            List<WebElement> found = driver.findElements(locator);
+            if (!found.isEmpty()) {
+                return found.get(0);
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public String toString() {
+        return "elements to be present and displayed, still waiting for indexes " + pending + " of " + targets.size();
+    }
+}
@@ -1,51 +1,98 @@
 package utils;
 
-import lombok.extern.slf4j.Slf4j;
-import org.openqa.selenium.JavascriptExecutor;
+import core.DriverManager;
+import core.metrics.Metrics;
+import org.openqa.selenium.By;
 import org.openqa.selenium.NoSuchElementException;
-import org.openqa.selenium.Point;
-import org.openqa.selenium.TimeoutException;
-import org.openqa.selenium.WebElement;
 import org.openqa.selenium.WebDriver;
-import org.openqa.selenium.interactions.Actions;
-import org.openqa.selenium.support.ui.ExpectedConditions;
-import org.openqa.selenium.support.ui.Select;
-import org.openqa.selenium.support.ui.WebDriverWait;
+import org.openqa.selenium.WebElement;
 
-import java.time.Duration;
-import java.util.Set;
+import java.util.List;
+import java.util.Map;
 
-@Slf4j
+/**
+ * ElementUtils exposes the element interactions as static helpers for page objects.
+ *
+ * <p>Every helper routes to the {@link ElementContext} bound to the current thread, so pages written against
+ * `waitAndClick`/`waitAndSendKeys` keep working when tests run in parallel. When a thread has not been initialized,
+ * a context is bound lazily to the thread's session from {@link DriverManager}.
+ */
 public class ElementUtils {
-    private static WebDriver driver;
-    private static WebDriverWait wait;
-    private static Actions action;
+    private static final ThreadLocal<ElementContext> contexts = new ThreadLocal<>();
 
     /**
-     * Initializes the utility class with a WebDriver instance.
+     * Initializes the utility class for the current thread with a WebDriver instance.
      * This setup is essential for performing WebDriver-based actions.
      *
      * @param webDriver The WebDriver instance used for automation tasks.
      */
     public static void initialize(WebDriver webDriver) {
-        driver = webDriver;
-        wait = new WebDriverWait(driver, Duration.ofSeconds(3));
-        action = new Actions(driver);
+        ElementContext current = contexts.get();
+        if (current == null || current.getDriver() != webDriver) {
+            contexts.set(new ElementContext(webDriver));
+        }
+    }
+
+    /**
+     * Binds an already built context, e.g. one with custom timeouts, to the current thread.
+     *
+     * @param context The context used by the static helpers on this thread.
+     */
+    public static void initialize(ElementContext context) {
+        contexts.set(context);
+    }
+
+    /**
+     * Retrieves the context bound to the current thread, binding one to the thread's session if needed.
+     *
+     * @return The current thread's ElementContext.
+     */
+    public static ElementContext context() {
+        ElementContext context = contexts.get();
+        if (context == null) {
+            context = new ElementContext(DriverManager.getDriver());
+            contexts.set(context);
+        }
+        return context;
     }
 
+    /**
+     * Unbinds the current thread's context so it does not outlive the session it was created for.
+     */
+    public static void clear() {
+        contexts.remove();
+    }
 
     /**
      * Waits until the given WebElement is clickable and then clicks it.
      *
      * @param element The WebElement to be clicked.
      * @throws NoSuchElementException If the element is not clickable within the timeout.
+     * @see ElementContext#waitAndClick(WebElement)
      */
     public static void waitAndClick(WebElement element) {
+        long start = Metrics.startTimer();
         try {
-            wait.until(ExpectedConditions.elementToBeClickable(element)).click();
-        } catch (TimeoutException e) {
-            log.error("El elemento no se ha vuelto clickeable: " + e.getMessage());
-            throw new NoSuchElementException("El elemento no se ha vuelto clickeable: " + e.getMessage());
+            context().waitAndClick(element);
+        } finally {
+            Metrics.recordOperation("waitAndClick", start);
+        }
+    }
+
+    /**
+     * Waits until the given WebElement is clickable and, optionally, no longer moving, and then clicks it.
+     *
+     * @param element The WebElement to be clicked.
+     * @param waitForStability True to also wait until the element's position and size are stable.
+     * @throws NoSuchElementException If the element is not clickable or stable within the timeout.
+     * @see ElementContext#waitAndClick(WebElement, boolean)
+     */
+    public static void waitAndClick(WebElement element, boolean waitForStability) {
+        long start = Metrics.startTimer();
+        try {
+            context().waitAndClick(element, waitForStability);
+        } finally {
+            Metrics.recordOperation("waitAndClick", start);
         }
     }
 
@@ -56,28 +103,14 @@ public class ElementUtils {
      * @param element The WebElement to receive the input text.
      * @param text The text to send to the WebElement.
      * @throws NoSuchElementException If the element is not clickable within the timeout.
+     * @see ElementContext#waitAndSendKeys(WebElement, String)
      */
     public static void waitAndSendKeys(WebElement element, String text) {
+        long start = Metrics.startTimer();
         try {
-            WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(10));
-            wait.until(ExpectedConditions.elementToBeClickable(element));
-
-            wait.until((WebDriver d) -> {
-                Point initialLocation = element.getLocation();
-                try {
-                    Thread.sleep(200);
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                }
-                Point finalLocation = element.getLocation();
-                return initialLocation.equals(finalLocation);
-            });
-
-            element.clear();
-            element.sendKeys(text);
-        } catch (TimeoutException e) {
-            log.error("El elemento no es interactuable: " + e.getMessage());
-            throw new NoSuchElementException("El elemento no es interactuable: " + e.getMessage());
+            context().waitAndSendKeys(element, text);
+        } finally {
+            Metrics.recordOperation("waitAndSendKeys", start);
         }
     }
 
@@ -86,14 +119,31 @@ public class ElementUtils {
      *
      * @param element The WebElement to double-click.
      * @throws NoSuchElementException If the element is not visible within the timeout.
+     * @see ElementContext#waitVisibilityAndDoubleClick(WebElement)
      */
     public static void waitVisibilityAndDoubleClick(WebElement element) {
+        long start = Metrics.startTimer();
+        try {
+            context().waitVisibilityAndDoubleClick(element);
+        } finally {
+            Metrics.recordOperation("waitVisibilityAndDoubleClick", start);
+        }
+    }
+
+    /**
+     * Waits until the WebElement is visible and, optionally, no longer moving, and double-clicks it.
+     *
+     * @param element The WebElement to double-click.
+     * @param waitForStability True to also wait until the element's position and size are stable.
+     * @throws NoSuchElementException If the element is not visible or stable within the timeout.
+     * @see ElementContext#waitVisibilityAndDoubleClick(WebElement, boolean)
+     */
+    public static void waitVisibilityAndDoubleClick(WebElement element, boolean waitForStability) {
+        long start = Metrics.startTimer();
         try {
-            WebElement visibleElement = wait.until(ExpectedConditions.visibilityOf(element));
-            action.doubleClick(visibleElement).perform();
-        } catch (TimeoutException e) {
-            log.error("El elemento no se ha vuelto visible para doble clic: " + e.getMessage());
-            throw new NoSuchElementException("El elemento no se ha vuelto visible para doble clic: " + e.getMessage());
+            context().waitVisibilityAndDoubleClick(element, waitForStability);
+        } finally {
+            Metrics.recordOperation("waitVisibilityAndDoubleClick", start);
         }
     }
 
@@ -103,15 +153,14 @@ public class ElementUtils {
      * @param dropdown The dropdown WebElement containing various options.
      * @param option The visible text of the option to select from the dropdown.
      * @throws NoSuchElementException If the dropdown or the desired option is not visible within the timeout.
+     * @see ElementContext#waitAndSelectOptionFromDropdown(WebElement, String)
      */
     public static void waitAndSelectOptionFromDropdown(WebElement dropdown, String option) {
+        long start = Metrics.startTimer();
         try {
-            WebElement visibleDropdown = wait.until(ExpectedConditions.visibilityOf(dropdown));
-            Select select = new Select(visibleDropdown);
-            select.selectByVisibleText(option);
-        } catch (TimeoutException e) {
-            log.error("El menú desplegable no se ha vuelto visible para seleccionar una opción: " + e.getMessage());
-            throw new NoSuchElementException("El menú desplegable no se ha vuelto visible para seleccionar una opción: " + e.getMessage());
+            context().waitAndSelectOptionFromDropdown(dropdown, option);
+        } finally {
+            Metrics.recordOperation("waitAndSelectOptionFromDropdown", start);
         }
     }
 
@@ -122,14 +171,14 @@ public class ElementUtils {
      * @param expectedText The expected text value to compare with the WebElement's text.
      * @return True if the actual text matches the expected text; otherwise, false.
      * @throws NoSuchElementException If the WebElement is not visible within the timeout.
+     * @see ElementContext#waitAndVerifyText(WebElement, String)
      */
     public static boolean waitAndVerifyText(WebElement element, String expectedText) {
+        long start = Metrics.startTimer();
         try {
-            WebElement presentElement = wait.until(ExpectedConditions.visibilityOf(element));
-            return presentElement.getText().equals(expectedText);
-        } catch (TimeoutException e) {
-            log.error("El elemento no se ha vuelto presente para verificar el texto: " + e.getMessage());
-            throw new NoSuchElementException("El elemento no se ha vuelto presente para verificar el texto: " + e.getMessage());
+            return context().waitAndVerifyText(element, expectedText);
+        } finally {
+            Metrics.recordOperation("waitAndVerifyText", start);
         }
     }
 
@@ -139,14 +188,70 @@ public class ElementUtils {
      * @param element The WebElement containing the text content to retrieve.
      * @return The text content of the WebElement.
      * @throws NoSuchElementException If the WebElement is not visible within the timeout.
+     * @see ElementContext#waitAndGetText(WebElement)
      */
     public static String waitAndGetText(WebElement element) {
+        long start = Metrics.startTimer();
         try {
-            WebElement presentElement = wait.until(ExpectedConditions.visibilityOf(element));
-            return presentElement.getText();
-        } catch (TimeoutException e) {
-            log.error("El elemento no se ha vuelto presente para obtener su texto: " + e.getMessage());
-            throw new NoSuchElementException("El elemento no se ha vuelto presente para obtener su texto: " + e.getMessage());
+            return context().waitAndGetText(element);
+        } finally {
+            Metrics.recordOperation("waitAndGetText", start);
+        }
+    }
+
+    /**
+     * Fills a form in a single script call, waiting once for all of its fields.
+     *
+     * @param fields The fields and their values, in the order they are filled, e.g. a `LinkedHashMap`.
+     * @throws NoSuchElementException If some field is not displayed and enabled within the timeout.
+     * @see ElementContext#fillForm(Map)
+     */
+    public static void fillForm(Map<? extends WebElement, String> fields) {
+        long start = Metrics.startTimer();
+        try {
+            context().fillForm(fields);
+        } finally {
+            Metrics.recordOperation("fillForm", start);
+        }
+    }
+
+    /**
+     * Reads the state of many elements in a single script call.
+     *
+     * @param elements          The elements to read, in the order the states are returned.
+     * @param waitForVisibility True to wait, with one shared wait, until every element is present and displayed.
+     * @param properties        The properties to read from every element.
+     * @return One state per element; elements that are not found are reported as {@link ElementState#MISSING}.
+     * @throws NoSuchElementException If `waitForVisibility` is set and some element is not visible within the timeout.
+     * @see ElementContext#getElementStates(List, boolean, ElementProperty...)
+     */
+    public static List<ElementState> getElementStates(List<? extends WebElement> elements, boolean waitForVisibility,
+                                                      ElementProperty... properties) {
+        long start = Metrics.startTimer();
+        try {
+            return context().getElementStates(elements, waitForVisibility, properties);
+        } finally {
+            Metrics.recordOperation("getElementStates", start);
+        }
+    }
+
+    /**
+     * Reads the state of the first element matched by each locator in a single script call.
+     *
+     * @param locators          The locators to read, in the order the states are returned.
+     * @param waitForVisibility True to wait, with one shared wait, until every element is present and displayed.
+     * @param properties        The properties to read from every element.
+     * @return One state per locator; locators that match nothing are reported as {@link ElementState#MISSING}.
+     * @throws NoSuchElementException If `waitForVisibility` is set and some element is not visible within the timeout.
+     * @see ElementContext#getLocatorStates(List, boolean, ElementProperty...)
+     */
+    public static List<ElementState> getLocatorStates(List<By> locators, boolean waitForVisibility,
+                                                      ElementProperty... properties) {
+        long start = Metrics.startTimer();
+        try {
+            return context().getLocatorStates(locators, waitForVisibility, properties);
+        } finally {
+            Metrics.recordOperation("getLocatorStates", start);
         }
     }
 
@@ -155,19 +260,14 @@ public class ElementUtils {
      *
      * @param targetWindowTitle The title of the target window to switch to.
      * @throws RuntimeException If no window with the specified title is found among the open windows.
+     * @see ElementContext#windowHandler(String)
      */
     public static void windowHandler(String targetWindowTitle) {
-        Set<String> windowHandles = driver.getWindowHandles();
-        boolean foundWindow = false;
-        for (String windowHandle : windowHandles) {
-            driver.switchTo().window(windowHandle);
-            if (driver.getTitle().equals(targetWindowTitle)) {
-                foundWindow = true;
-                break;
-            }
-        }
-        if (!foundWindow) {
-            throw new RuntimeException("No se encontró la ventana con el título: " + targetWindowTitle);
+        long start = Metrics.startTimer();
+        try {
+            context().windowHandler(targetWindowTitle);
+        } finally {
+            Metrics.recordOperation("windowHandler", start);
         }
     }
 
@@ -176,33 +276,59 @@ public class ElementUtils {
      * This method is useful for elements that may be hidden behind other UI components.
      *
      * @param element The WebElement to click using JavaScript.
+     * @see ElementContext#clickWithJavaScript(WebElement)
      */
     public static void clickWithJavaScript(WebElement element) {
-        implicitWait();
-        JavascriptExecutor jsExecutor = (JavascriptExecutor) driver;
-        jsExecutor.executeScript("arguments[0].click();", element);
+        long start = Metrics.startTimer();
+        try {
+            context().clickWithJavaScript(element);
+        } finally {
+            Metrics.recordOperation("clickWithJavaScript", start);
+        }
     }
 
     /**
      * Scrolls the page to bring the specified WebElement into view.
      *
      * @param element The WebElement to scroll to.
+     * @see ElementContext#scrollToElement(WebElement)
      */
     public static void scrollToElement(WebElement element) {
-        ((JavascriptExecutor) driver).executeScript("arguments[0].scrollIntoView(true);", element);
-        implicitWait();
+        long start = Metrics.startTimer();
+        try {
+            context().scrollToElement(element);
+        } finally {
+            Metrics.recordOperation("scrollToElement", start);
+        }
     }
 
     /**
-     * Pauses the execution for a short duration to allow for UI updates.
-     * It uses a custom WebDriverWait to wait until a specific amount of time has passed.
+     * Waits for the UI to catch up after an interaction, either until the page settles or for a fixed delay
+     * depending on `settle.mode`.
+     *
+     * @see ElementContext#implicitWait()
      */
     public static void implicitWait() {
-        long startTime = System.currentTimeMillis();
+        long start = Metrics.startTimer();
+        try {
+            context().implicitWait();
+        } finally {
+            Metrics.recordOperation("implicitWait", start);
+        }
+    }
+
+    /**
+     * Waits until the page has no pending DOM mutations, fetch/XHR requests, animations or scrolling.
+     *
+     * @throws org.openqa.selenium.TimeoutException If the page does not settle within the interaction timeout.
+     * @see ElementContext#waitForPageSettled()
+     */
+    public static void waitForPageSettled() {
+        long start = Metrics.startTimer();
         try {
-            new WebDriverWait(driver, Duration.ofSeconds(10)).until(webDriver -> System.currentTimeMillis() - startTime > 1000);
-        } catch (Exception e) {
-            log.error("Error durante la espera implícita", e);
+            context().waitForPageSettled();
+        } finally {
+            Metrics.recordOperation("waitForPageSettled", start);
         }
     }
 }
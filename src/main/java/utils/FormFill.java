@@ -0,0 +1,180 @@
+package utils;
+
+import lombok.extern.slf4j.Slf4j;
+import org.openqa.selenium.JavascriptException;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.UnsupportedCommandException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.ui.ExpectedCondition;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * FormFill sets the values of many form fields with a single `executeScript` call.
+ *
+ * <p>The script first checks that every field is present, displayed and enabled; until then it changes nothing and
+ * reports the pending fields, so a `WebDriverWait` waits once for the whole form. Once the form is ready, fields are
+ * set in order the way a user would leave them: text inputs and text areas receive `focus`, the value through the
+ * native setter (so frameworks tracking the value notice it), `input`, `change` and `blur`; selects pick the option by
+ * visible text or value; checkboxes and radios are clicked when their state has to change, with `true`/`false` as the
+ * value.
+ *
+ * <p>The condition returns the indexes of the fields the script could not fill: file inputs, editable elements that
+ * are not form fields, selects without the requested option, and inputs whose value did not stick after the events,
+ * e.g. because a mask or key handler rewrote it. Those fields have to be typed for real with `sendKeys`.
+ */
+@Slf4j
+public class FormFill implements ExpectedCondition<List<Integer>> {
+    private static final String FILL_SCRIPT = """
+            var targets = arguments[0], values = arguments[1];
+            %s
+            function uiwlReady(el) {
+              if (!el || !el.getClientRects().length || el.matches(':disabled')) { return false; }
+              return window.getComputedStyle(el).visibility !== 'hidden';
+            }
+            function uiwlFire(el, type) {
+              var event = type === 'input' && typeof InputEvent === 'function'
+                ? new InputEvent('input', {bubbles: true, inputType: 'insertText'})
+                : new Event(type, {bubbles: true});
+              el.dispatchEvent(event);
+            }
+            function uiwlChecked(value) {
+              return ['true', 'on', 'checked', 'yes', '1'].indexOf(String(value).toLowerCase()) !== -1;
+            }
+            function uiwlFill(el, value) {
+              var tag = el.tagName.toLowerCase(), type = (el.type || '').toLowerCase();
+              if (tag === 'input' && (type === 'checkbox' || type === 'radio')) {
+                var wanted = uiwlChecked(value);
+                if (el.checked !== wanted && (wanted || type === 'checkbox')) { el.click(); }
+                return el.checked === wanted || (!wanted && type === 'radio');
+              }
+              if (tag === 'select') {
+                var option = Array.prototype.find.call(el.options, function (o) {
+                  return (o.text || '').trim() === value || o.value === value;
+                });
+                if (!option) { return false; }
+                el.focus();
+                option.selected = true;
+                uiwlFire(el, 'input');
+                uiwlFire(el, 'change');
+                el.blur();
+                return true;
+              }
+              if ((tag !== 'input' && tag !== 'textarea') || type === 'file' || el.readOnly) { return false; }
+              var proto = tag === 'textarea' ? HTMLTextAreaElement.prototype : HTMLInputElement.prototype;
+              el.focus();
+              Object.getOwnPropertyDescriptor(proto, 'value').set.call(el, value);
+              uiwlFire(el, 'input');
+              uiwlFire(el, 'change');
+              el.blur();
+              return el.value === value;
+            }
+            var elements = [], pending = [];
+            for (var i = 0; i < targets.length; i++) {
+              var el = uiwlResolve(targets[i]);
+              if (!uiwlReady(el)) { pending.push(i); }
+              elements.push(el);
+            }
+            if (pending.length) { return [false, pending]; }
+            var typed = [];
+            for (var k = 0; k < elements.length; k++) {
+              if (!uiwlFill(elements[k], values[k])) { typed.push(k); }
+            }
+            return [true, typed];
+            """.formatted(ScriptTargets.resolverFunction());
+
+    private final List<WebElement> elements;
+    private final List<String> values;
+    private List<Integer> pending = List.of();
+
+    /**
+     * Constructor for FormFill.
+     *
+     * @param fields The fields and the values to set, in the order they are filled.
+     */
+    public FormFill(Map<? extends WebElement, String> fields) {
+        this.elements = new ArrayList<>(fields.keySet());
+        this.values = new ArrayList<>(fields.values());
+    }
+
+    /**
+     * Interprets the value of a checkbox or radio the same way the script does.
+     *
+     * @param value The value given for the field.
+     * @return True if the field must be checked.
+     */
+    public static boolean isChecked(String value) {
+        return List.of("true", "on", "checked", "yes", "1").contains(String.valueOf(value).toLowerCase());
+    }
+
+    /**
+     * @return The fields, in the order they are filled.
+     */
+    public List<WebElement> getElements() {
+        return elements;
+    }
+
+    /**
+     * @return The values, in the order the fields are filled.
+     */
+    public List<String> getValues() {
+        return values;
+    }
+
+    /**
+     * Fills the form if every field is ready.
+     *
+     * @param driver The WebDriver instance used to run the script.
+     * @return The indexes of the fields that still have to be typed with `sendKeys`, or null while some field is not
+     * ready. A driver that cannot run the script gets every index back.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<Integer> apply(WebDriver driver) {
+        if (!(driver instanceof JavascriptExecutor executor)) {
+            return allFields();
+        }
+        List<Object> targets = new ArrayList<>(elements.size());
+        for (WebElement element : elements) {
+            targets.add(ScriptTargets.argument(element));
+        }
+        List<Object> result;
+        try {
+            result = (List<Object>) executor.executeScript(FILL_SCRIPT, targets, values);
+        } catch (UnsupportedCommandException | JavascriptException e) {
+            log.warn("Bulk form fill failed, falling back to sendKeys: " + e.getMessage());
+            return allFields();
+        } catch (NoSuchElementException | StaleElementReferenceException e) {
+            pending = List.of();
+            return null;
+        }
+        List<Integer> indexes = new ArrayList<>();
+        for (Object index : (List<Object>) result.get(1)) {
+            indexes.add(((Number) index).intValue());
+        }
+        if (!Boolean.TRUE.equals(result.get(0))) {
+            pending = indexes;
+            return null;
+        }
+        return indexes;
+    }
+
+    private List<Integer> allFields() {
+        List<Integer> indexes = new ArrayList<>(elements.size());
+        for (int i = 0; i < elements.size(); i++) {
+            indexes.add(i);
+        }
+        return indexes;
+    }
+
+    @Override
+    public String toString() {
+        return "form fields to be displayed and enabled, still waiting for indexes " + pending + " of "
+                + elements.size();
+    }
+}
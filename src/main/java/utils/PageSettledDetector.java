@@ -0,0 +1,105 @@
+package utils;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+
+import java.time.Duration;
+
+/**
+ * PageSettledDetector waits until the page is actually quiet instead of sleeping for a fixed amount of time.
+ *
+ * <p>A page is considered settled when the document has finished loading, no DOM mutation happened during the quiet
+ * window, no fetch/XHR request is in flight, no finite animation is running and the viewport is not scrolling.
+ * The whole check runs inside the browser as an async script, so a page that is already quiet costs a single round
+ * trip. Requests and mutations are tracked from the first check on each document onwards.
+ */
+public class PageSettledDetector {
+    private static final long MAX_SCRIPT_BUDGET_MILLIS = 5000;
+
+    private static final String SETTLED_SCRIPT = """
+            var quietMs = arguments[0], budgetMs = arguments[1], done = arguments[arguments.length - 1];
+            var w = window, now = function () { return w.performance.now(); };
+            var s = w.__uiwlSettle;
+            if (!s) {
+              s = w.__uiwlSettle = { pending: 0, lastMutation: now(), lastScroll: 0 };
+              try {
+                new MutationObserver(function () { s.lastMutation = now(); })
+                  .observe(document, { subtree: true, childList: true, attributes: true, characterData: true });
+              } catch (e) {}
+              if (w.fetch) {
+                var nativeFetch = w.fetch;
+                w.fetch = function () {
+                  s.pending++;
+                  try {
+                    return nativeFetch.apply(this, arguments).finally(function () { s.pending--; });
+                  } catch (e) { s.pending--; throw e; }
+                };
+              }
+              var nativeSend = XMLHttpRequest.prototype.send;
+              XMLHttpRequest.prototype.send = function () {
+                s.pending++;
+                this.addEventListener('loadend', function () { s.pending--; });
+                return nativeSend.apply(this, arguments);
+              };
+              w.addEventListener('scroll', function () { s.lastScroll = now(); }, true);
+            }
+            var start = now(), lastX = w.scrollX, lastY = w.scrollY;
+            function runningAnimations() {
+              if (!document.getAnimations) { return false; }
+              return document.getAnimations().some(function (a) {
+                return a.playState === 'running' && a.effect
+                  && a.effect.getComputedTiming().endTime !== Infinity;
+              });
+            }
+            function check() {
+              var t = now(), busy = [];
+              if (document.readyState !== 'complete') { busy.push('readyState=' + document.readyState); }
+              if (s.pending > 0) { busy.push(s.pending + ' pending fetch/XHR request(s)'); }
+              if (t - s.lastMutation < quietMs) { busy.push('DOM mutations in the last ' + quietMs + ' ms'); }
+              if (runningAnimations()) { busy.push('running animations'); }
+              if (w.scrollX !== lastX || w.scrollY !== lastY || t - s.lastScroll < quietMs) { busy.push('scrolling'); }
+              lastX = w.scrollX; lastY = w.scrollY;
+              if (!busy.length) { return done(null); }
+              if (t - start >= budgetMs) { return done(busy.join(', ')); }
+              setTimeout(check, 16);
+            }
+            check();
+            """;
+
+    private final Duration quietWindow;
+    private final Duration timeout;
+
+    /**
+     * Constructor for PageSettledDetector.
+     *
+     * @param quietWindow How long the page must stay free of DOM mutations and scrolling to be considered settled.
+     * @param timeout     The maximum time to wait for the page to settle.
+     */
+    public PageSettledDetector(Duration quietWindow, Duration timeout) {
+        this.quietWindow = quietWindow;
+        this.timeout = timeout;
+    }
+
+    /**
+     * Blocks until the page loaded in the driver is settled.
+     *
+     * @param driver The WebDriver instance whose current page is checked. It must support JavaScript.
+     * @throws TimeoutException If the page is still busy after the timeout, naming what kept it busy.
+     */
+    public void await(WebDriver driver) {
+        JavascriptExecutor executor = (JavascriptExecutor) driver;
+        long deadline = System.nanoTime() + timeout.toNanos();
+        String busy;
+        do {
+            long remainingMillis = Math.max(0, (deadline - System.nanoTime()) / 1_000_000);
+            long budgetMillis = Math.min(remainingMillis, MAX_SCRIPT_BUDGET_MILLIS);
+            Object result = executor.executeAsyncScript(SETTLED_SCRIPT, quietWindow.toMillis(), budgetMillis);
+            if (result == null) {
+                return;
+            }
+            busy = result.toString();
+        } while (System.nanoTime() < deadline);
+        throw new TimeoutException("La página no se estabilizó después de " + timeout.toMillis() + " ms: " + busy);
+    }
+}
@@ -0,0 +1,59 @@
+package utils;
+
+import core.LocatingElement;
+import core.LocatorScript;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebElement;
+
+import java.util.List;
+
+/**
+ * ScriptTargets prepares elements to be sent to batch scripts.
+ *
+ * <p>A regular element is sent as a script argument, which makes Selenium resolve proxy elements one lookup at a time.
+ * Elements injected by generated page initializers know their locators, so they are sent as `[[using, value], ...]`
+ * pairs instead and resolved inside the browser by `uiwlResolve`, keeping the whole batch in a single round trip.
+ */
+final class ScriptTargets {
+
+    private ScriptTargets() {
+    }
+
+    /**
+     * @param element The element to send to a script.
+     * @return The locators the script can resolve the element with, or null if the element must be sent as is.
+     */
+    static List<By> locators(WebElement element) {
+        List<By> locators = element instanceof LocatingElement located ? located.getLocators() : null;
+        return locators != null && LocatorScript.parameters(locators) != null ? locators : null;
+    }
+
+    /**
+     * @param element The element to send to a script.
+     * @return The locator pairs of the element, or the element itself.
+     */
+    static Object argument(WebElement element) {
+        List<By> locators = locators(element);
+        return locators != null ? LocatorScript.parameters(locators) : element;
+    }
+
+    /**
+     * JavaScript function `uiwlResolve(target)` returning the element a target stands for, or null if it is not found
+     * or no longer attached to the document. Includes the `uiwlFind` finder.
+     *
+     * @return The function source.
+     */
+    static String resolverFunction() {
+        return LocatorScript.finderFunction() + """
+                function uiwlResolve(target) {
+                  var el = null;
+                  if (Array.isArray(target)) {
+                    for (var j = 0; j < target.length && !el; j++) { el = uiwlFind(target[j][0], target[j][1], false)[0]; }
+                  } else {
+                    el = target;
+                  }
+                  return el && el.isConnected ? el : null;
+                }
+                """;
+    }
+}
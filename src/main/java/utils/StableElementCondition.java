@@ -0,0 +1,95 @@
+package utils;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.Point;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.ui.ExpectedCondition;
+
+/**
+ * StableElementCondition waits until an element has stopped moving or resizing.
+ *
+ * <p>The check runs inside the browser as a single async script that compares the element's bounding rect across
+ * animation frames and returns once it has not changed for the requested number of frames. An element that is
+ * already stable costs one round trip and a few milliseconds. Drivers without JavaScript support fall back to
+ * comparing `getLocation()` twice, 200 ms apart.
+ */
+public class StableElementCondition implements ExpectedCondition<WebElement> {
+    private static final int MAX_FRAMES_PER_CHECK = 60;
+
+    private static final String STABILITY_SCRIPT = """
+            var el = arguments[0], frames = arguments[1], maxFrames = arguments[2];
+            var done = arguments[arguments.length - 1];
+            var nextFrame = document.hidden
+              ? function (f) { setTimeout(f, 16); }
+              : function (f) { window.requestAnimationFrame(f); };
+            var last = null, stableFrames = 0, seen = 0;
+            function step() {
+              if (!el.isConnected) { return done(false); }
+              var r = el.getBoundingClientRect();
+              if (last && r.x === last.x && r.y === last.y && r.width === last.width && r.height === last.height) {
+                stableFrames++;
+              } else {
+                stableFrames = 0;
+              }
+              last = r;
+              if (stableFrames >= frames) { return done(true); }
+              if (++seen >= maxFrames) { return done(false); }
+              nextFrame(step);
+            }
+            nextFrame(step);
+            """;
+
+    private final WebElement element;
+    private final int frames;
+
+    /**
+     * Constructor for StableElementCondition.
+     *
+     * @param element The WebElement expected to stop moving.
+     * @param frames  The number of consecutive animation frames the element's rect must stay unchanged.
+     */
+    public StableElementCondition(WebElement element, int frames) {
+        this.element = element;
+        this.frames = Math.max(1, frames);
+    }
+
+    /**
+     * Checks whether the element is stable.
+     *
+     * @param driver The WebDriver instance used to run the check.
+     * @return The element once it is stable, or null so the surrounding wait polls again.
+     */
+    @Override
+    public WebElement apply(WebDriver driver) {
+        try {
+            boolean stable = driver instanceof JavascriptExecutor executor
+                    ? Boolean.TRUE.equals(executor.executeAsyncScript(STABILITY_SCRIPT, element, frames, MAX_FRAMES_PER_CHECK))
+                    : isStableByLocation();
+            return stable ? element : null;
+        } catch (StaleElementReferenceException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Legacy check used when the driver cannot run scripts: compares the element's location 200 ms apart.
+     *
+     * @return True if the location did not change.
+     */
+    private boolean isStableByLocation() {
+        Point initialLocation = element.getLocation();
+        try {
+            Thread.sleep(200);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return initialLocation.equals(element.getLocation());
+    }
+
+    @Override
+    public String toString() {
+        return "element to stay stable for " + frames + " animation frames: " + element;
+    }
+}
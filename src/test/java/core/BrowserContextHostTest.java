@@ -0,0 +1,122 @@
+package core;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import utils.ElementContext;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class BrowserContextHostTest {
+
+    private final List<String> sent = new ArrayList<>();
+    private final Map<String, Consumer<Map<String, Object>>> listeners = new HashMap<>();
+    private final List<WebDriver> attached = new ArrayList<>();
+    private final AtomicInteger ids = new AtomicInteger();
+    private final WebDriver browser = mock(WebDriver.class);
+    private BrowserContextHost host;
+
+    @BeforeEach
+    void setUp() {
+        CdpChannel cdp = new CdpChannel() {
+            @Override
+            public Map<String, Object> send(String method, Map<String, Object> params) {
+                sent.add(method + " " + params.getOrDefault("browserContextId", ""));
+                return switch (method) {
+                    case "Target.createBrowserContext" -> Map.of("browserContextId", "CTX" + ids.incrementAndGet());
+                    case "Target.createTarget" -> Map.of("targetId", "TAB" + ids.incrementAndGet());
+                    default -> Map.of();
+                };
+            }
+
+            @Override
+            public void onEvent(String event, Consumer<Map<String, Object>> listener) {
+                listeners.put(event, listener);
+            }
+        };
+        host = new BrowserContextHost(browser, cdp, "localhost:9222", 2, address -> {
+            WebDriver driver = mock(WebDriver.class, RETURNS_DEEP_STUBS);
+            attached.add(driver);
+            return driver;
+        });
+    }
+
+    private void target(String event, String targetId, String contextId, String title) {
+        listeners.get(event).accept(Map.of("targetInfo",
+                Map.of("targetId", targetId, "browserContextId", contextId, "type", "page", "title", title)));
+    }
+
+    @Test
+    void testContextOnlySeesItsOwnWindows() {
+        assertTrue(host.reserve());
+        BrowserContextHost.Context first = host.openContext();
+        assertTrue(host.reserve());
+        BrowserContextHost.Context second = host.openContext();
+        target("Target.targetCreated", "POPUP", first.id(), "");
+
+        assertEquals(Set.of("TAB2", "POPUP"), first.windowHandles());
+        assertEquals(Set.of("TAB4"), second.windowHandles());
+        verify(attached.get(0).switchTo()).window("TAB2");
+        verify(attached.get(1).switchTo()).window("TAB4");
+
+        listeners.get("Target.targetDestroyed").accept(Map.of("targetId", "POPUP"));
+        assertEquals(Set.of("TAB2"), first.windowHandles());
+    }
+
+    @Test
+    void testWindowHandlerUsesTitlesFromEvents() {
+        host.reserve();
+        BrowserContextHost.Context context = host.openContext();
+        WebDriver driver = context.driver();
+        BrowserContextHost.bind(driver, context);
+        target("Target.targetCreated", "POPUP", context.id(), "");
+        target("Target.targetInfoChanged", "POPUP", context.id(), "Checkout");
+        target("Target.targetCreated", "OTHER", "CTX-other", "Checkout");
+
+        new ElementContext(driver, Duration.ofMillis(200), Duration.ofMillis(200)).windowHandler("Checkout");
+
+        WebDriver raw = attached.get(0);
+        verify(raw.switchTo()).window("POPUP");
+        verify(raw, never()).getTitle();
+        verify(raw, never()).getWindowHandles();
+        assertThrows(RuntimeException.class,
+                () -> new ElementContext(driver, Duration.ofMillis(50), Duration.ofMillis(50)).windowHandler("Cart"));
+        driver.quit();
+        assertNull(BrowserContextHost.contextOf(driver));
+    }
+
+    @Test
+    void testQuittingAContextDisposesItAndFreesItsSlot() {
+        host.reserve();
+        BrowserContextHost.Context first = host.openContext();
+        host.reserve();
+        host.openContext();
+
+        assertFalse(host.reserve());
+        first.driver().quit();
+
+        assertTrue(sent.contains("Target.disposeBrowserContext " + first.id()));
+        assertEquals(1, host.openContexts());
+        assertTrue(host.reserve());
+    }
+
+    @Test
+    void testCrashedBrowserIsNotAlive() {
+        assertTrue(host.isAlive());
+
+        when(browser.getWindowHandles()).thenThrow(new WebDriverException("chrome not reachable"));
+
+        assertFalse(host.isAlive());
+    }
+}
@@ -0,0 +1,203 @@
+package core;
+
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptException;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.pagefactory.ByChained;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class CustomElementLocatorTest {
+
+    private final By primary = By.id("rows");
+    private final By fallback = By.cssSelector("table tr");
+
+    @Test
+    void testFindElementsFallsBackToNextLocator() {
+        WebDriver driver = mock(WebDriver.class);
+        WebElement row = mock(WebElement.class);
+        when(driver.findElements(primary)).thenReturn(List.of());
+        when(driver.findElements(fallback)).thenReturn(List.of(row));
+
+        CustomElementLocator locator = new CustomElementLocator(driver, List.of(primary, fallback));
+
+        assertEquals(List.of(row), locator.findElements());
+    }
+
+    @Test
+    void testFallbackIsAddedToTheReport() {
+        WebDriver driver = mock(WebDriver.class);
+        WebElement row = mock(WebElement.class);
+        when(driver.findElement(primary)).thenThrow(new NoSuchElementException("rows"));
+        when(driver.findElement(fallback)).thenReturn(row);
+        FallbackReport report = new FallbackReport();
+
+        assertSame(row, new CustomElementLocator(driver, List.of(primary, fallback), "pages.FallbackPage#rows", 0,
+                new LocatorStats(), report, false).findElement());
+
+        Map<String, Object> summary = report.summary().get(0);
+        assertEquals("pages.FallbackPage", summary.get("page"));
+        assertEquals("rows", summary.get("field"));
+        assertEquals(1L, summary.get("events"));
+        assertEquals(Map.of(primary.toString(), 1L), summary.get("failedLocators"));
+        assertEquals(Map.of(fallback.toString(), 1L), summary.get("winningLocators"));
+    }
+
+    @Test
+    void testFindElementsReturnsEmptyListWhenNothingMatches() {
+        WebDriver driver = mock(WebDriver.class);
+        when(driver.findElements(any(By.class))).thenReturn(List.of());
+
+        CustomElementLocator locator = new CustomElementLocator(driver, List.of(primary, fallback));
+
+        assertTrue(locator.findElements().isEmpty());
+    }
+
+    @Test
+    void testElementListResolvesOncePerIteration() {
+        WebDriver driver = mock(WebDriver.class);
+        WebElement first = mock(WebElement.class);
+        WebElement second = mock(WebElement.class);
+        when(first.getText()).thenReturn("A");
+        when(second.getText()).thenReturn("B");
+        when(driver.findElements(primary)).thenReturn(List.of(first, second));
+        ElementList rows = new LocatingElementList(new CustomElementLocator(driver, List.of(primary, fallback)));
+
+        int count = 0;
+        for (WebElement ignored : rows) {
+            count++;
+        }
+
+        assertEquals(2, count);
+        assertEquals(List.of("A", "B"), rows.getTexts());
+        verify(driver, times(2)).findElements(primary);
+    }
+
+    @Test
+    void testCachedElementIsReusedUntilInvalidated() {
+        WebDriver driver = mock(WebDriver.class);
+        WebElement button = mock(WebElement.class);
+        when(driver.findElement(primary)).thenReturn(button);
+        CustomElementLocator locator = new CustomElementLocator(driver, List.of(primary), null, 60_000);
+
+        assertSame(button, locator.findElement());
+        assertSame(button, locator.findElement());
+        verify(driver, times(1)).findElement(primary);
+
+        locator.invalidate();
+        locator.findElement();
+        verify(driver, times(2)).findElement(primary);
+    }
+
+    @Test
+    void testStaleCachedElementIsRetriedWithFreshLookup() {
+        WebDriver driver = mock(WebDriver.class);
+        WebElement stale = mock(WebElement.class);
+        WebElement fresh = mock(WebElement.class);
+        when(stale.getText()).thenThrow(new StaleElementReferenceException("stale"));
+        when(fresh.getText()).thenReturn("Login");
+        when(driver.findElement(primary)).thenReturn(stale, fresh);
+        CustomElementLocator locator = new CustomElementLocator(driver, List.of(primary), null, 60_000);
+        WebElement proxy = (WebElement) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{WebElement.class}, new CachingElementHandler(locator));
+
+        assertEquals("Login", proxy.getText());
+        assertEquals("Login", proxy.getText());
+        verify(driver, times(2)).findElement(primary);
+    }
+
+    private WebDriver scriptDriver() {
+        return mock(WebDriver.class, withSettings().extraInterfaces(JavascriptExecutor.class));
+    }
+
+    private CustomElementLocator scriptLocator(WebDriver driver, List<By> bys, LocatorStats stats,
+                                               FallbackReport report) {
+        return new CustomElementLocator(driver, bys, "pages.ScriptPage#rows", 0, stats, report, true);
+    }
+
+    @Test
+    void testScriptResolutionFindsTheElementInOneRoundTrip() {
+        WebDriver driver = scriptDriver();
+        WebElement row = mock(WebElement.class);
+        when(((JavascriptExecutor) driver).executeScript(LocatorScript.FIND_FIRST,
+                LocatorScript.parameters(List.of(primary, fallback)))).thenReturn(List.of(1L, row));
+        LocatorStats stats = new LocatorStats();
+        FallbackReport report = new FallbackReport();
+
+        assertSame(row, scriptLocator(driver, List.of(primary, fallback), stats, report).findElement());
+
+        verify(driver, never()).findElement(any());
+        assertEquals(List.of(fallback, primary), stats.order("pages.ScriptPage#rows", List.of(primary, fallback)));
+        assertEquals(Map.of(primary.toString(), 1L), report.summary().get(0).get("failedLocators"));
+    }
+
+    @Test
+    void testScriptResolutionMissThrowsWithoutSequentialLookups() {
+        WebDriver driver = scriptDriver();
+        when(((JavascriptExecutor) driver).executeScript(eq(LocatorScript.FIND_FIRST), any())).thenReturn(null);
+        FallbackReport report = new FallbackReport();
+
+        assertThrows(NoSuchElementException.class,
+                () -> scriptLocator(driver, List.of(primary, fallback), new LocatorStats(), report).findElement());
+
+        verify(driver, never()).findElement(any());
+        assertEquals(1L, report.summary().get(0).get("unresolved"));
+    }
+
+    @Test
+    void testScriptResolutionFindsAllElementsOfTheFirstMatchingLocator() {
+        WebDriver driver = scriptDriver();
+        List<WebElement> rows = List.of(mock(WebElement.class), mock(WebElement.class));
+        when(((JavascriptExecutor) driver).executeScript(eq(LocatorScript.FIND_ALL), any()))
+                .thenReturn(List.of(0L, rows));
+
+        assertEquals(rows, scriptLocator(driver, List.of(primary, fallback), new LocatorStats(),
+                new FallbackReport()).findElements());
+        verify(driver, never()).findElements(any());
+    }
+
+    @Test
+    void testScriptErrorFallsBackToWebDriverLookups() {
+        WebDriver driver = scriptDriver();
+        WebElement row = mock(WebElement.class);
+        when(((JavascriptExecutor) driver).executeScript(anyString(), any()))
+                .thenThrow(new JavascriptException("CSP blocked eval"));
+        when(driver.findElement(primary)).thenReturn(row);
+
+        assertSame(row, scriptLocator(driver, List.of(primary, fallback), new LocatorStats(),
+                new FallbackReport()).findElement());
+        verify(driver).findElement(primary);
+    }
+
+    @Test
+    void testLocatorsTheScriptCannotExpressUseWebDriverLookups() {
+        WebDriver driver = scriptDriver();
+        WebElement row = mock(WebElement.class);
+        By chained = new ByChained(By.id("table"), By.tagName("tr"));
+        when(driver.findElement(chained)).thenReturn(row);
+
+        assertSame(row, scriptLocator(driver, List.of(chained, fallback), new LocatorStats(),
+                new FallbackReport()).findElement());
+        verify((JavascriptExecutor) driver, never()).executeScript(anyString(), any());
+    }
+
+    @Test
+    void testScriptParametersUseW3cStrategies() {
+        assertEquals(List.of(List.of("css selector", "#rows"), List.of("css selector", ".cart\\:item"),
+                        List.of("css selector", "*[name='user']"), List.of("xpath", "//tr")),
+                LocatorScript.parameters(List.of(primary, By.className("cart:item"), By.name("user"),
+                        By.xpath("//tr"))));
+        assertNull(LocatorScript.parameters(List.of(new ByChained(primary))));
+    }
+}
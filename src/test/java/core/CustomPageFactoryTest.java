@@ -1,12 +1,21 @@
 package core;
 
 import base.BasePage;
+import core.annotations.FindByList;
+import core.annotations.FindByList.Locator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.FindBy;
 
+import java.lang.reflect.Proxy;
+import java.util.List;
+
+import static core.annotations.FindByList.LocatorType.CSS;
+import static core.annotations.FindByList.LocatorType.ID;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.mock;
 
@@ -29,4 +38,93 @@ class CustomPageFactoryTest {
         assertNotNull(page);
     }
 
-}
\ No newline at end of file
+    @Test
+    void testInitElementsDecoratesDeclaredAndInheritedFields() {
+        LoginPage loginPage = new LoginPage(driver);
+        CustomPageFactory.initElements(driver, loginPage);
+
+        assertNotNull(loginPage.usernameInput);
+        assertNotNull(loginPage.passwordInput);
+        assertInstanceOf(ElementList.class, loginPage.rows);
+        assertNotNull(loginPage.header);
+        assertNull(loginPage.notDecorated);
+    }
+
+    @Test
+    void testPagePlanIsComputedOncePerClass() {
+        assertSame(PagePlan.of(LoginPage.class), PagePlan.of(LoginPage.class));
+        assertTrue(PagePlan.of(BasePage.class).isEmpty());
+    }
+
+    @Test
+    void testGeneratedInitializerSetsFieldsWithoutProxies() {
+        assertNotNull(CustomPageFactory.generatedInitializer(LoginPage.class));
+        LoginPage loginPage = new LoginPage(driver);
+        CustomPageFactory.initElements(driver, loginPage);
+
+        assertInstanceOf(LocatingElement.class, loginPage.usernameInput);
+        assertInstanceOf(LocatingElement.class, loginPage.header);
+        assertFalse(Proxy.isProxyClass(loginPage.passwordInput.getClass()));
+    }
+
+    @Test
+    void testPrivateFieldsAreSetByGeneratedInitializer() {
+        assertNotNull(CustomPageFactory.generatedInitializer(CartPage.class));
+        CartPage cartPage = new CartPage();
+        CustomPageFactory.initElements(driver, cartPage);
+
+        assertNotNull(cartPage.checkoutButton());
+    }
+
+    @Test
+    void testPrivatePageClassFallsBackToReflection() {
+        assertNull(CustomPageFactory.generatedInitializer(HiddenPage.class));
+        HiddenPage hiddenPage = new HiddenPage();
+        CustomPageFactory.initElements(driver, hiddenPage);
+
+        assertTrue(Proxy.isProxyClass(hiddenPage.menu.getClass()));
+    }
+
+    static class HeaderPage extends BasePage {
+        @FindBy(css = "header")
+        WebElement header;
+
+        HeaderPage(WebDriver driver) {
+            super(driver);
+        }
+    }
+
+    static class LoginPage extends HeaderPage {
+        @FindByList({
+                @Locator(type = ID, value = "user-name"),
+                @Locator(type = CSS, value = "#user-name")
+        })
+        WebElement usernameInput;
+
+        @FindBy(id = "password")
+        WebElement passwordInput;
+
+        @FindByList({@Locator(type = CSS, value = "table tr")})
+        List<WebElement> rows;
+
+        String notDecorated;
+
+        LoginPage(WebDriver driver) {
+            super(driver);
+        }
+    }
+
+    static class CartPage {
+        @FindBy(id = "checkout")
+        private WebElement checkoutButton;
+
+        WebElement checkoutButton() {
+            return checkoutButton;
+        }
+    }
+
+    private static class HiddenPage {
+        @FindBy(id = "menu")
+        WebElement menu;
+    }
+}
@@ -0,0 +1,62 @@
+package core;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DriverBinariesTest {
+
+    private static FrameworkConfig config(Map<String, String> values) {
+        return FrameworkConfig.resolve(new Properties(), Map.of(), new Properties()).withOverrides(values);
+    }
+
+    @Test
+    void testOfflineModeUsesOnlyConfiguredBinaries(@TempDir Path dir) {
+        FrameworkConfig config = config(Map.of("driver.offline", "true",
+                "driver.chrome.path", "/opt/drivers/chromedriver",
+                "browser.chrome.binary", "/opt/chrome/chrome"));
+        DriverBinaries binaries = new DriverBinaries(config, dir.resolve("manifest.json"), browser -> {
+            throw new AssertionError("Offline mode must not resolve drivers");
+        });
+
+        DriverBinaries.Binaries chrome = binaries.resolve("chrome");
+
+        assertEquals(Paths.get("/opt/drivers/chromedriver"), chrome.driver());
+        assertEquals(Paths.get("/opt/chrome/chrome"), chrome.browser());
+        assertThrows(IllegalStateException.class, () -> binaries.resolve("firefox"));
+        assertFalse(binaries.invalidate("chrome"));
+    }
+
+    @Test
+    void testResolutionRunsOncePerJvmAndIsReusedFromTheManifest(@TempDir Path dir) throws Exception {
+        Path driver = Files.createFile(dir.resolve("chromedriver"));
+        assertTrue(driver.toFile().setExecutable(true));
+        Path manifest = dir.resolve("manifest.json");
+        AtomicInteger resolutions = new AtomicInteger();
+        Function<String, Path> resolver = browser -> {
+            resolutions.incrementAndGet();
+            return driver;
+        };
+
+        DriverBinaries firstRun = new DriverBinaries(config(Map.of()), manifest, resolver);
+        firstRun.resolve("chrome");
+        firstRun.resolve("chrome");
+        DriverBinaries secondRun = new DriverBinaries(config(Map.of()), manifest, resolver);
+
+        assertEquals(driver.toAbsolutePath(), secondRun.resolve("chrome").driver());
+        assertEquals(1, resolutions.get());
+
+        assertTrue(secondRun.invalidate("chrome"));
+        secondRun.resolve("chrome");
+        assertEquals(2, resolutions.get());
+    }
+}
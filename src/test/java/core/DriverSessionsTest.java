@@ -0,0 +1,109 @@
+package core;
+
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.SessionNotCreatedException;
+import org.openqa.selenium.WebDriver;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class DriverSessionsTest {
+    private final List<WebDriver> launched = new CopyOnWriteArrayList<>();
+    private final List<WebDriver> closed = new CopyOnWriteArrayList<>();
+
+    private WebDriver launch() {
+        WebDriver driver = mock(WebDriver.class);
+        launched.add(driver);
+        return driver;
+    }
+
+    private DriverSessions sessions(boolean parallel, int maxSessions) {
+        return new DriverSessions(parallel, maxSessions, this::launch, closed::add);
+    }
+
+    /**
+     * Gets a session on a new thread, which has no session bound yet.
+     */
+    private static CompletableFuture<WebDriver> getOnNewThread(DriverSessions sessions) {
+        return CompletableFuture.supplyAsync(sessions::get, task -> new Thread(task).start());
+    }
+
+    @Test
+    void testEachThreadGetsItsOwnSessionInParallelMode() throws Exception {
+        DriverSessions sessions = sessions(true, 2);
+
+        WebDriver mine = sessions.get();
+        WebDriver other = getOnNewThread(sessions).get(5, TimeUnit.SECONDS);
+
+        assertSame(mine, sessions.get());
+        assertNotSame(mine, other);
+        assertEquals(2, launched.size());
+    }
+
+    @Test
+    void testThreadsShareOneSessionOutsideParallelMode() throws Exception {
+        DriverSessions sessions = sessions(false, 2);
+
+        WebDriver mine = sessions.get();
+
+        assertSame(mine, getOnNewThread(sessions).get(5, TimeUnit.SECONDS));
+        assertEquals(1, launched.size());
+    }
+
+    @Test
+    void testThreadWaitsAtTheCapUntilASessionIsQuit() throws Exception {
+        DriverSessions sessions = sessions(true, 1);
+        WebDriver mine = sessions.get();
+
+        CompletableFuture<WebDriver> waiting = getOnNewThread(sessions);
+        assertThrows(TimeoutException.class, () -> waiting.get(200, TimeUnit.MILLISECONDS));
+        assertEquals(1, launched.size());
+
+        sessions.close();
+
+        assertNotSame(mine, waiting.get(5, TimeUnit.SECONDS));
+        assertEquals(List.of(mine), closed);
+        assertNull(sessions.current());
+    }
+
+    @Test
+    void testFailedLaunchFreesItsSlot() throws Exception {
+        AtomicBoolean fail = new AtomicBoolean(true);
+        DriverSessions sessions = new DriverSessions(true, 1, () -> {
+            if (fail.getAndSet(false)) {
+                throw new SessionNotCreatedException("chrome did not start");
+            }
+            return launch();
+        }, closed::add);
+
+        assertThrows(SessionNotCreatedException.class, sessions::get);
+
+        assertNotNull(getOnNewThread(sessions).get(5, TimeUnit.SECONDS));
+        assertNull(sessions.current());
+    }
+
+    @Test
+    void testCloseAllQuitsSessionsOfEveryThreadAndFreesTheirSlots() throws Exception {
+        DriverSessions sessions = sessions(true, 2);
+        sessions.get();
+        getOnNewThread(sessions).get(5, TimeUnit.SECONDS);
+        List<WebDriver> quit = new CopyOnWriteArrayList<>();
+
+        sessions.closeAll(quit::add);
+
+        assertEquals(2, quit.size());
+        assertTrue(quit.containsAll(launched));
+        assertTrue(closed.isEmpty());
+        sessions.close();
+        assertTrue(closed.isEmpty());
+        assertNotNull(getOnNewThread(sessions).get(5, TimeUnit.SECONDS));
+        assertNotNull(getOnNewThread(sessions).get(5, TimeUnit.SECONDS));
+    }
+}
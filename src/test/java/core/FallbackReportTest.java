@@ -0,0 +1,51 @@
+package core;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.openqa.selenium.By;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FallbackReportTest {
+
+    private final By byId = By.id("user-name");
+    private final By byCss = By.cssSelector("#user-name");
+
+    @Test
+    void testFieldsThatLoseMostTimeComeFirst() {
+        FallbackReport report = new FallbackReport();
+        report.record("pages.HomePage#usernameInput", List.of(byId), byCss, 2_000_000);
+        report.record("pages.HomePage#passwordInput", List.of(byId), byCss, 1_000_000);
+        report.record("pages.HomePage#usernameInput", List.of(byId), byCss, 3_000_000);
+
+        List<Map<String, Object>> summary = report.summary();
+
+        assertEquals("usernameInput", summary.get(0).get("field"));
+        assertEquals("pages.HomePage", summary.get(0).get("page"));
+        assertEquals(2L, summary.get(0).get("events"));
+        assertEquals(5.0, summary.get(0).get("timeLostMs"));
+        assertEquals(3.0, summary.get(0).get("maxLostMs"));
+        assertEquals(Map.of(byId.toString(), 2L), summary.get(0).get("failedLocators"));
+        assertEquals(Map.of(byCss.toString(), 2L), summary.get(0).get("winningLocators"));
+        assertEquals("passwordInput", summary.get(1).get("field"));
+    }
+
+    @Test
+    void testLookupsWithoutWinnerAreCountedAsUnresolved(@TempDir Path dir) throws Exception {
+        FallbackReport report = new FallbackReport();
+        report.record("pages.CartPage#checkoutButton", List.of(byId, byCss), null, 4_000_000);
+        Path file = dir.resolve("report.json");
+
+        report.save(file);
+
+        Map<?, ?> saved = new ObjectMapper().readValue(file.toFile(), Map.class);
+        Map<?, ?> field = (Map<?, ?>) ((List<?>) saved.get("fields")).get(0);
+        assertEquals(1, field.get("unresolved"));
+        assertEquals(Map.of(), field.get("winningLocators"));
+    }
+}
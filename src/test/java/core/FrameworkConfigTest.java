@@ -0,0 +1,82 @@
+package core;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FrameworkConfigTest {
+
+    @AfterEach
+    void tearDown() {
+        FrameworkConfig.clearCurrentThread();
+    }
+
+    @Test
+    void testLayersOverrideFileThenEnvironmentThenSystemProperties() {
+        Properties file = new Properties();
+        file.setProperty("browser", "chrome");
+        file.setProperty("headless.mode", "false");
+        file.setProperty("wait.timeout.seconds", "5");
+        Properties system = new Properties();
+        system.setProperty("headless.mode", "true");
+
+        FrameworkConfig config = FrameworkConfig.resolve(file,
+                Map.of("UIWL_BROWSER", "Firefox", "UIWL_HEADLESS_MODE", "false", "BROWSER", "edge"), system);
+
+        assertEquals("firefox", config.browser());
+        assertTrue(config.isHeadless());
+        assertEquals(Duration.ofSeconds(5), config.waitTimeout());
+        assertEquals("SETTLED", config.settleMode());
+        assertEquals("firefox:headless", config.sessionProfile());
+    }
+
+    @Test
+    void testOverridesLeaveTheOriginalSnapshotUnchanged() {
+        FrameworkConfig base = FrameworkConfig.resolve(new Properties(), Map.of(), new Properties());
+
+        FrameworkConfig firefox = base.withOverrides(Map.of("browser", "firefox", "stability.frames", "5"));
+
+        assertEquals("chrome", base.browser());
+        assertEquals(3, base.stabilityFrames());
+        assertEquals("firefox", firefox.browser());
+        assertEquals(5, firefox.stabilityFrames());
+    }
+
+    @Test
+    void testWorkerOverridesAreIsolatedPerThread() throws Exception {
+        FrameworkConfig.overrideForCurrentThread(Map.of("browser", "firefox", "headless.mode", "true"));
+
+        String seenByWorker = CompletableFuture.supplyAsync(() -> {
+            FrameworkConfig.overrideForCurrentThread(Map.of("browser", "edge"));
+            try {
+                return FrameworkConfig.current().browser();
+            } finally {
+                FrameworkConfig.clearCurrentThread();
+            }
+        }).get();
+
+        assertEquals("edge", seenByWorker);
+        assertEquals("firefox", FrameworkConfig.current().browser());
+        assertEquals("true", ConfigReader.getProperty("headless.mode"));
+
+        FrameworkConfig.clearCurrentThread();
+        assertSame(FrameworkConfig.base(), FrameworkConfig.current());
+    }
+
+    @Test
+    void testInvalidSettleModeNamesTheKeyAndTheAllowedValues() {
+        FrameworkConfig base = FrameworkConfig.resolve(new Properties(), Map.of(), new Properties());
+
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class,
+                () -> base.withOverrides(Map.of("settle.mode", "quiet")));
+
+        assertEquals("settle.mode not supported: quiet, expected settled or fixed", error.getMessage());
+        assertEquals("FIXED", base.withOverrides(Map.of("settle.mode", " Fixed ")).settleMode());
+    }
+}
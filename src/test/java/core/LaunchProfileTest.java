@@ -0,0 +1,88 @@
+package core;
+
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.PageLoadStrategy;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.firefox.FirefoxOptions;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LaunchProfileTest {
+
+    private static FrameworkConfig config(Map<String, String> values) {
+        Properties file = new Properties();
+        file.putAll(values);
+        return FrameworkConfig.resolve(file, Map.of(), new Properties());
+    }
+
+    @Test
+    void testDefaultProfileKeepsTheBrowserDefaults() {
+        LaunchProfile profile = LaunchProfile.from(config(Map.of()));
+        ChromeOptions options = new ChromeOptions();
+
+        profile.apply(options, profile.createProfileDirectory());
+
+        assertEquals(PageLoadStrategy.NORMAL, profile.pageLoadStrategy());
+        assertNull(profile.viewport());
+        assertEquals(List.of(), ((Map<?, ?>) options.asMap().get(ChromeOptions.CAPABILITY)).get("args"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testFastProfileConfiguresChromeAndKeepsIndividualOverrides() {
+        LaunchProfile profile = LaunchProfile.from(config(Map.of("launch.profile", "fast",
+                "launch.page.load.strategy", "none", "launch.block.media", "false")));
+        ChromeOptions options = new ChromeOptions();
+        Path directory = Paths.get("/tmp/uiwl-profile-test");
+
+        profile.apply(options, directory);
+
+        Map<String, Object> chrome = (Map<String, Object>) options.asMap().get(ChromeOptions.CAPABILITY);
+        List<String> args = (List<String>) chrome.get("args");
+        assertEquals("none", options.asMap().get("pageLoadStrategy").toString());
+        assertEquals(new Dimension(1920, 1080), profile.viewport());
+        assertTrue(args.contains("--blink-settings=imagesEnabled=false"));
+        assertTrue(args.contains("--disable-background-networking"));
+        assertTrue(args.contains("--user-data-dir=" + directory));
+        assertTrue(args.contains("--window-size=1920,1080"));
+        assertFalse(args.contains("--mute-audio"));
+        assertEquals(2,
+                ((Map<String, Object>) chrome.get("prefs")).get("profile.managed_default_content_settings.images"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testFastProfileConfiguresFirefoxAndDeletesItsProfileDirectory() throws Exception {
+        LaunchProfile profile = LaunchProfile.from(config(Map.of("launch.profile", "FAST",
+                "launch.viewport", "800x600")));
+        FirefoxOptions options = new FirefoxOptions();
+        Path directory = profile.createProfileDirectory();
+        Files.writeString(directory.resolve("prefs.js"), "");
+
+        profile.apply(options, directory);
+        LaunchProfile.deleteProfileDirectory(directory);
+
+        Map<String, Object> firefox = (Map<String, Object>) options.asMap().get(FirefoxOptions.FIREFOX_OPTIONS);
+        Map<String, Object> prefs = (Map<String, Object>) firefox.get("prefs");
+        List<String> args = (List<String>) firefox.get("args");
+        assertEquals("eager", options.asMap().get("pageLoadStrategy").toString());
+        assertEquals(2, prefs.get("permissions.default.image"));
+        assertEquals(false, prefs.get("toolkit.telemetry.enabled"));
+        assertTrue(args.containsAll(List.of("-profile", directory.toString(), "--width=800", "--height=600")));
+        assertFalse(Files.exists(directory));
+    }
+
+    @Test
+    void testUnknownProfileIsRejected() {
+        assertThrows(IllegalArgumentException.class,
+                () -> LaunchProfile.from(config(Map.of("launch.profile", "turbo"))));
+    }
+}
@@ -0,0 +1,101 @@
+package core;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.openqa.selenium.By;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LocatorStatsTest {
+
+    private static final String FIELD = "pages.HomePage#usernameInput";
+    private final By byId = By.id("user-name");
+    private final By byCss = By.cssSelector("#user-name");
+    private final By byXpath = By.xpath("//input[@placeholder='Username']");
+
+    @Test
+    void testUnknownFieldKeepsAnnotationOrder() {
+        LocatorStats stats = new LocatorStats();
+
+        assertEquals(List.of(byId, byCss, byXpath), stats.order(FIELD, List.of(byId, byCss, byXpath)));
+    }
+
+    @Test
+    void testLocatorThatKeepsHittingIsTriedFirst() {
+        LocatorStats stats = new LocatorStats();
+        for (int i = 0; i < 3; i++) {
+            stats.recordMiss(FIELD, byId, 1_000_000);
+            stats.recordMiss(FIELD, byCss, 1_000_000);
+            stats.recordHit(FIELD, byXpath, 1_000_000);
+        }
+
+        assertEquals(List.of(byXpath, byId, byCss), stats.order(FIELD, List.of(byId, byCss, byXpath)));
+    }
+
+    @Test
+    void testStatsSurviveSaveAndLoad(@TempDir Path dir) throws Exception {
+        LocatorStats stats = new LocatorStats();
+        stats.recordMiss(FIELD, byId, 1_000_000);
+        stats.recordHit(FIELD, byCss, 1_000_000);
+        Path file = dir.resolve("locator-stats.json");
+        stats.save(file);
+
+        LocatorStats reloaded = new LocatorStats();
+        reloaded.load(file);
+
+        assertEquals(List.of(byCss, byId), reloaded.order(FIELD, List.of(byId, byCss)));
+    }
+
+    @Test
+    void testTrustedLocatorThatBreaksLosesFirstPlaceAfterAFewMisses() {
+        LocatorStats stats = new LocatorStats();
+        for (int i = 0; i < 10_000; i++) {
+            stats.recordHit(FIELD, byId, 1_000_000);
+        }
+        for (int i = 0; i < 4; i++) {
+            stats.recordMiss(FIELD, byId, 1_000_000);
+        }
+
+        assertEquals(List.of(byCss, byId), stats.order(FIELD, List.of(byId, byCss)));
+    }
+
+    @Test
+    void testSavedCountsDecayWithAgeAndStaleLocatorsArePruned(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("locator-stats.json");
+        long twoWeeksAgo = System.currentTimeMillis() - Duration.ofDays(14).toMillis();
+        Files.writeString(file, "{\"savedAt\": " + twoWeeksAgo + ", \"fields\": {\"" + FIELD + "\": {"
+                + "\"" + byId + "\": {\"hits\": 800, \"misses\": 0, \"hitNanos\": 800000, \"missNanos\": 0},"
+                + "\"" + byCss + "\": {\"hits\": 1, \"misses\": 0, \"hitNanos\": 0, \"missNanos\": 0}}}}");
+
+        new LocatorStats(Duration.ofDays(7)).save(file);
+
+        JsonNode locators = new ObjectMapper().readTree(file.toFile()).path("fields").path(FIELD);
+        assertEquals(200, locators.path(byId.toString()).path("hits").asDouble(), 0.01);
+        assertTrue(locators.path(byCss.toString()).isMissingNode());
+    }
+
+    @Test
+    void testSavesOfSeveralJvmsAddUpInsteadOfOverwriting(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("locator-stats.json");
+        LocatorStats first = new LocatorStats();
+        LocatorStats second = new LocatorStats();
+        first.recordHit(FIELD, byId, 1_000_000);
+        second.recordHit(FIELD, byId, 1_000_000);
+        second.recordHit(FIELD, byCss, 1_000_000);
+
+        first.save(file);
+        second.save(file);
+        second.save(file);
+
+        JsonNode locators = new ObjectMapper().readTree(file.toFile()).path("fields").path(FIELD);
+        assertEquals(2, locators.path(byId.toString()).path("hits").asDouble(), 0.01);
+        assertEquals(1, locators.path(byCss.toString()).path("hits").asDouble(), 0.01);
+    }
+}
@@ -0,0 +1,108 @@
+package core;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.chromium.HasCdp;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class SessionPoolTest {
+
+    private List<WebDriver> launched;
+    private SessionPool pool;
+
+    @BeforeEach
+    void setUp() {
+        launched = new ArrayList<>();
+        pool = new SessionPool(this::launch, 2, 2);
+    }
+
+    private WebDriver launch() {
+        WebDriver driver = mock(WebDriver.class, RETURNS_DEEP_STUBS);
+        when(driver.getWindowHandle()).thenReturn("main");
+        when(driver.getWindowHandles()).thenReturn(Set.of("main"));
+        launched.add(driver);
+        return driver;
+    }
+
+    @Test
+    void testReleasedSessionIsReused() {
+        WebDriver first = pool.acquire();
+        pool.release(first);
+
+        assertSame(first, pool.acquire());
+        assertEquals(1, launched.size());
+        verify(first).get("about:blank");
+        verify(first, never()).quit();
+    }
+
+    @Test
+    void testSessionIsEvictedAfterMaxReuse() {
+        WebDriver first = pool.acquire();
+        pool.release(first);
+        pool.release(pool.acquire());
+
+        verify(first).quit();
+        assertEquals(0, pool.idleCount());
+        assertNotSame(first, pool.acquire());
+    }
+
+    @Test
+    void testUnhealthySessionIsEvicted() {
+        WebDriver first = pool.acquire();
+        pool.release(first);
+        when(first.getWindowHandles()).thenThrow(new WebDriverException("browser is gone"));
+
+        WebDriver second = pool.acquire();
+
+        assertNotSame(first, second);
+        verify(first).quit();
+    }
+
+    @Test
+    void testShutdownQuitsIdleAndLeasedSessions() {
+        WebDriver idle = pool.acquire();
+        WebDriver leased = pool.acquire();
+        pool.release(idle);
+
+        pool.shutdown();
+
+        verify(idle).quit();
+        verify(leased).quit();
+    }
+
+    @Test
+    void testResetClearsTheStorageOfEveryVisitedOriginOverDevTools() {
+        WebDriver driver = mock(WebDriver.class, withSettings().extraInterfaces(HasCdp.class, JavascriptExecutor.class)
+                .defaultAnswer(RETURNS_DEEP_STUBS));
+        HasCdp cdp = (HasCdp) driver;
+        when(driver.getWindowHandle()).thenReturn("main");
+        when(driver.getWindowHandles()).thenReturn(new LinkedHashSet<>(List.of("main", "popup")));
+        when(cdp.executeCdpCommand(eq("Page.getNavigationHistory"), any())).thenReturn(
+                Map.of("entries", List.of(Map.of("url", "about:blank"), Map.of("url", "https://www.saucedemo.com/"),
+                        Map.of("url", "https://www.saucedemo.com/inventory.html"))),
+                Map.of("entries", List.of(Map.of("url", "http://localhost:8080/help"))));
+        SessionPool cdpPool = new SessionPool(() -> driver, 1, 5);
+
+        cdpPool.release(cdpPool.acquire());
+
+        verify(cdp).executeCdpCommand("Storage.clearDataForOrigin",
+                Map.of("origin", "https://www.saucedemo.com", "storageTypes", "all"));
+        verify(cdp).executeCdpCommand("Storage.clearDataForOrigin",
+                Map.of("origin", "http://localhost:8080", "storageTypes", "all"));
+        verify(cdp, times(2)).executeCdpCommand(eq("Storage.clearDataForOrigin"), any());
+        verify(driver).close();
+        assertEquals(1, cdpPool.idleCount());
+    }
+}
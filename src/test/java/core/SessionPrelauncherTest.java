@@ -0,0 +1,83 @@
+package core;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.WebDriver;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class SessionPrelauncherTest {
+
+    private static final long SESSION_MEMORY = 512L * 1024 * 1024;
+
+    private final List<WebDriver> launched = new CopyOnWriteArrayList<>();
+    private SessionPrelauncher prelauncher;
+
+    @AfterEach
+    void tearDown() {
+        if (prelauncher != null) {
+            prelauncher.shutdown();
+        }
+    }
+
+    private WebDriver launch() {
+        WebDriver driver = mock(WebDriver.class);
+        when(driver.getWindowHandles()).thenReturn(Set.of("main"));
+        launched.add(driver);
+        return driver;
+    }
+
+    @Test
+    void testReadySpareIsTakenAndReplaced() {
+        prelauncher = new SessionPrelauncher(this::launch, 1, SESSION_MEMORY, () -> Long.MAX_VALUE);
+        prelauncher.start();
+        awaitTrue(() -> prelauncher.readyCount() == 1);
+
+        WebDriver driver = prelauncher.take();
+
+        assertSame(launched.get(0), driver);
+        awaitTrue(() -> prelauncher.readyCount() == 1);
+        assertEquals(2, launched.size());
+        assertEquals(1L, prelauncher.summary().get("taken"));
+        assertEquals(0L, prelauncher.summary().get("synchronousLaunches"));
+    }
+
+    @Test
+    void testSparesAreCappedByFreeMemory() {
+        prelauncher = new SessionPrelauncher(this::launch, 4, SESSION_MEMORY, () -> SESSION_MEMORY - 1);
+        prelauncher.start();
+
+        WebDriver driver = prelauncher.take();
+
+        assertSame(launched.get(0), driver);
+        assertEquals(1, launched.size());
+        assertEquals(1L, prelauncher.summary().get("synchronousLaunches"));
+    }
+
+    @Test
+    void testShutdownQuitsUnusedSpares() {
+        prelauncher = new SessionPrelauncher(this::launch, 2, SESSION_MEMORY, () -> Long.MAX_VALUE);
+        prelauncher.start();
+        awaitTrue(() -> prelauncher.readyCount() == 2);
+
+        prelauncher.shutdown();
+
+        assertEquals(0, prelauncher.readyCount());
+        launched.forEach(driver -> verify(driver).quit());
+        assertEquals(2L, prelauncher.summary().get("discarded"));
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "Condition not met within 5 seconds");
+            Thread.onSpinWait();
+        }
+    }
+}
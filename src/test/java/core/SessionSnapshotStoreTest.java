@@ -0,0 +1,118 @@
+package core;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.InvalidCookieDomainException;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Date;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class SessionSnapshotStoreTest {
+    private static final String BASE_URL = "https://app.example.com/";
+    private static final Cookie SESSION_COOKIE = new Cookie.Builder("session-username", "standard_user")
+            .domain("app.example.com").path("/").build();
+
+    @TempDir
+    Path directory;
+
+    private WebDriver browser() {
+        WebDriver driver = mock(WebDriver.class, withSettings().extraInterfaces(JavascriptExecutor.class)
+                .defaultAnswer(RETURNS_DEEP_STUBS));
+        when(driver.manage().getCookies()).thenReturn(Set.of(SESSION_COOKIE));
+        when(((JavascriptExecutor) driver).executeScript(contains("copy(window.localStorage)")))
+                .thenReturn(Map.of("local", Map.of("cart", "[4]"), "session", Map.of()));
+        return driver;
+    }
+
+    @Test
+    void testSnapshotCapturedAfterUiLoginIsRestoredIntoTheNextSession() {
+        SessionSnapshotStore store = new SessionSnapshotStore(directory, Duration.ofMinutes(5), true);
+        AtomicInteger uiLogins = new AtomicInteger();
+
+        store.loginAs(browser(), "standard_user", BASE_URL, uiLogins::incrementAndGet, driver -> true);
+        WebDriver next = browser();
+        store.loginAs(next, "standard_user", BASE_URL, uiLogins::incrementAndGet, driver -> true);
+
+        assertEquals(1, uiLogins.get());
+        verify(next).get(BASE_URL);
+        verify(next.manage()).addCookie(SESSION_COOKIE);
+        verify((JavascriptExecutor) next).executeScript(contains("localStorage.setItem"),
+                eq(Map.of("local", Map.of("cart", "[4]"), "session", Map.of())));
+        assertEquals(Map.of("restored", 1L, "uiLogins", 1L), store.summary());
+    }
+
+    @Test
+    void testRejectedSnapshotFallsBackToTheUiLogin() {
+        SessionSnapshotStore store = new SessionSnapshotStore(directory, Duration.ofMinutes(5), true);
+        store.save(store.capture(browser(), "standard_user", BASE_URL));
+        AtomicInteger uiLogins = new AtomicInteger();
+
+        store.loginAs(browser(), "standard_user", BASE_URL, uiLogins::incrementAndGet,
+                driver -> uiLogins.get() > 0);
+
+        assertEquals(1, uiLogins.get());
+        assertNotNull(store.load("standard_user", BASE_URL));
+    }
+
+    @Test
+    void testExpiredSnapshotsAndOtherRolesAreNotRestored() {
+        SessionSnapshotStore expired = new SessionSnapshotStore(directory, Duration.ZERO, true);
+        expired.save(expired.capture(browser(), "standard_user", BASE_URL));
+        SessionSnapshotStore store = new SessionSnapshotStore(directory, Duration.ofMinutes(5), true);
+
+        assertNull(expired.load("standard_user", BASE_URL));
+        assertNotNull(store.load("standard_user", BASE_URL));
+        assertNull(store.load("admin", BASE_URL));
+        assertThrows(IllegalStateException.class,
+                () -> store.loginAs(browser(), "admin", BASE_URL, () -> { }, driver -> false));
+    }
+
+    @Test
+    void testCookiesKeepTheirAttributes() {
+        Cookie cookie = new Cookie.Builder("token", "abc").domain(".example.com").path("/app")
+                .expiresOn(new Date(4_102_444_800_000L)).isSecure(true).isHttpOnly(true).sameSite("Strict").build();
+
+        Cookie restored = SessionSnapshotStore.mapToCookie(SessionSnapshotStore.cookieToMap(cookie));
+
+        assertEquals(cookie, restored);
+        assertEquals(cookie.getExpiry(), restored.getExpiry());
+        assertTrue(restored.isHttpOnly());
+        assertEquals("Strict", restored.getSameSite());
+    }
+
+    @Test
+    void testCookiesOfOtherDomainsAreSkippedInsteadOfAbortingTheRestore() {
+        Cookie parent = new Cookie.Builder("locale", "es").domain(".example.com").path("/").build();
+        Cookie sso = new Cookie.Builder("sso", "xyz").domain("login.identity.com").path("/").build();
+        Cookie rejected = new Cookie.Builder("legacy", "1").domain("example.com").path("/").build();
+        WebDriver first = browser();
+        when(first.manage().getCookies()).thenReturn(Set.of(SESSION_COOKIE, parent, sso, rejected));
+        SessionSnapshotStore store = new SessionSnapshotStore(directory, Duration.ofMinutes(5), true);
+        store.save(store.capture(first, "standard_user", BASE_URL));
+        WebDriver next = browser();
+        WebDriver.Options options = next.manage();
+        doThrow(new InvalidCookieDomainException("invalid cookie domain")).when(options).addCookie(rejected);
+        AtomicInteger uiLogins = new AtomicInteger();
+
+        store.loginAs(next, "standard_user", BASE_URL, uiLogins::incrementAndGet, driver -> true);
+
+        assertEquals(0, uiLogins.get());
+        verify(next.manage()).addCookie(SESSION_COOKIE);
+        verify(next.manage()).addCookie(parent);
+        verify(next.manage(), never()).addCookie(sso);
+        assertFalse(SessionSnapshotStore.domainMatches("app.example.com", "login.identity.com"));
+        assertFalse(SessionSnapshotStore.domainMatches("app.example.com", "other.example.com"));
+        assertTrue(SessionSnapshotStore.domainMatches("app.example.com", null));
+    }
+}
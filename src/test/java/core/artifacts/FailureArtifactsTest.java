@@ -0,0 +1,144 @@
+package core.artifacts;
+
+import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
+import org.apache.commons.compress.archivers.tar.TarArchiveInputStream;
+import org.apache.commons.compress.compressors.gzip.GzipCompressorInputStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.UnsupportedCommandException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.logging.LogEntries;
+import org.openqa.selenium.logging.LogEntry;
+import org.openqa.selenium.logging.LogType;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.logging.Level;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class FailureArtifactsTest {
+    private static final byte[] PNG = {(byte) 0x89, 'P', 'N', 'G', 1, 2, 3};
+
+    @TempDir
+    Path directory;
+
+    private WebDriver failingSession(String source) {
+        WebDriver driver = mock(WebDriver.class, withSettings().extraInterfaces(TakesScreenshot.class)
+                .defaultAnswer(RETURNS_DEEP_STUBS));
+        when(((TakesScreenshot) driver).getScreenshotAs(OutputType.BASE64))
+                .thenReturn(Base64.getEncoder().encodeToString(PNG));
+        when(driver.getPageSource()).thenReturn(source);
+        when(driver.getCurrentUrl()).thenReturn("https://www.saucedemo.com/inventory.html");
+        when(driver.manage().logs().get(LogType.BROWSER)).thenReturn(new LogEntries(
+                List.of(new LogEntry(Level.SEVERE, 0, "Uncaught TypeError: cart is undefined"))));
+        return driver;
+    }
+
+    private Map<String, byte[]> readArchive(Path archive) throws IOException {
+        Map<String, byte[]> entries = new LinkedHashMap<>();
+        try (TarArchiveInputStream tar = new TarArchiveInputStream(Files.newInputStream(archive))) {
+            TarArchiveEntry entry;
+            while ((entry = tar.getNextEntry()) != null) {
+                entries.put(entry.getName(), tar.readAllBytes());
+            }
+        }
+        return entries;
+    }
+
+    private static String gunzip(byte[] bytes) throws IOException {
+        try (InputStream in = new GzipCompressorInputStream(new ByteArrayInputStream(bytes))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    @Test
+    void testFailureIsArchivedCompressed() throws IOException {
+        Path archive = directory.resolve("failures.tar");
+        FailureArtifacts artifacts = new FailureArtifacts(archive, Runnable::run, 1024 * 1024, Duration.ZERO);
+
+        assertTrue(artifacts.record("tests.CartTest#testCheckout", failingSession("<html>cart</html>"),
+                new AssertionError("total esperado 10")));
+        artifacts.close();
+
+        Map<String, byte[]> entries = readArchive(archive);
+        assertEquals(List.of("001-tests.CartTest#testCheckout/failure.json",
+                "001-tests.CartTest#testCheckout/screenshot.png", "001-tests.CartTest#testCheckout/page.html.gz",
+                "001-tests.CartTest#testCheckout/console.log.gz"), new ArrayList<>(entries.keySet()));
+        assertArrayEquals(PNG, entries.get("001-tests.CartTest#testCheckout/screenshot.png"));
+        assertEquals("<html>cart</html>", gunzip(entries.get("001-tests.CartTest#testCheckout/page.html.gz")));
+        assertTrue(gunzip(entries.get("001-tests.CartTest#testCheckout/console.log.gz"))
+                .contains("SEVERE Uncaught TypeError: cart is undefined"));
+        String manifest = new String(entries.get("001-tests.CartTest#testCheckout/failure.json"),
+                StandardCharsets.UTF_8);
+        assertTrue(manifest.contains("total esperado 10"));
+        assertTrue(manifest.contains("inventory.html"));
+        assertEquals(1L, artifacts.summary().get("archived"));
+    }
+
+    @Test
+    void testMissingArtifactsAreReportedInsteadOfFailing() throws IOException {
+        Path archive = directory.resolve("failures.tar");
+        FailureArtifacts artifacts = new FailureArtifacts(archive, Runnable::run, 1024 * 1024, Duration.ZERO);
+        WebDriver driver = mock(WebDriver.class, RETURNS_DEEP_STUBS);
+        when(driver.manage().logs().get(LogType.BROWSER))
+                .thenThrow(new UnsupportedCommandException("getLog"));
+
+        assertTrue(artifacts.record("tests.LoginTest#testLogin", driver, new IllegalStateException("boom")));
+        artifacts.close();
+
+        Map<String, byte[]> entries = readArchive(archive);
+        assertFalse(entries.containsKey("001-tests.LoginTest#testLogin/screenshot.png"));
+        String manifest = new String(entries.get("001-tests.LoginTest#testLogin/failure.json"), StandardCharsets.UTF_8);
+        assertTrue(manifest.contains("\"screenshot\""));
+        assertTrue(manifest.contains("\"console\""));
+    }
+
+    @Test
+    void testFullMemoryBudgetSkipsCaptureUntilWritersCatchUp() throws IOException {
+        List<Runnable> queued = new ArrayList<>();
+        FailureArtifacts artifacts = new FailureArtifacts(directory.resolve("failures.tar"), queued::add, 1,
+                Duration.ofMillis(50));
+        WebDriver skipped = failingSession("<html>second</html>");
+
+        assertTrue(artifacts.record("tests.A#first", failingSession("<html>first</html>"), new AssertionError()));
+        assertFalse(artifacts.record("tests.A#second", skipped, new AssertionError()));
+        verify((TakesScreenshot) skipped, never()).getScreenshotAs(any());
+
+        queued.remove(0).run();
+        assertTrue(artifacts.record("tests.A#third", failingSession("<html>third</html>"), new AssertionError()));
+        queued.remove(0).run();
+        artifacts.close();
+
+        assertEquals(2L, artifacts.summary().get("archived"));
+        assertEquals(1L, artifacts.summary().get("dropped"));
+    }
+
+    @Test
+    void testRejectedCaptureIsDroppedAndReleasesItsMemory() {
+        FailureArtifacts artifacts = new FailureArtifacts(directory.resolve("failures.tar"), task -> {
+            throw new RejectedExecutionException("queue full");
+        }, 1, Duration.ZERO);
+
+        assertFalse(artifacts.record("tests.A#first", failingSession("<html>first</html>"), new AssertionError()));
+        assertFalse(artifacts.record("tests.A#second", failingSession("<html>second</html>"), new AssertionError()));
+        artifacts.close();
+
+        assertEquals(2L, artifacts.summary().get("dropped"));
+        assertFalse(Files.exists(directory.resolve("failures.tar")));
+    }
+}
@@ -0,0 +1,50 @@
+package core.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LatencyHistogramTest {
+
+    @Test
+    void testEmptyHistogramReportsZero() {
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        assertEquals(0, histogram.count());
+        assertEquals(0, histogram.percentile(99));
+        assertEquals(0, histogram.mean());
+    }
+
+    @Test
+    void testPercentilesStayWithinTheBucketError() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long millis = 1; millis <= 1_000; millis++) {
+            histogram.record(millis * 1_000_000);
+        }
+
+        assertEquals(1_000, histogram.count());
+        assertEquals(1_000_000_000L, histogram.max());
+        assertWithin(500_000_000L, histogram.percentile(50));
+        assertWithin(950_000_000L, histogram.percentile(95));
+        assertWithin(990_000_000L, histogram.percentile(99));
+        assertEquals(histogram.max(), histogram.percentile(100));
+        assertEquals(500_500_000.0, histogram.mean(), 1.0);
+    }
+
+    @Test
+    void testConcurrentRecordsAreAllCounted() {
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        IntStream.range(0, 100_000).parallel().forEach(i -> histogram.record(i));
+
+        assertEquals(100_000, histogram.count());
+        assertEquals(99_999, histogram.max());
+    }
+
+    private static void assertWithin(long expected, long actual) {
+        assertTrue(actual >= expected && actual <= expected * 1.125,
+                "Expected about " + expected + " but was " + actual);
+    }
+}
@@ -0,0 +1,44 @@
+package core.metrics;
+
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.By;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class MetricsRegistryTest {
+
+    @Test
+    void testSummaryGroupsMetricsByKind() {
+        MetricsRegistry registry = new MetricsRegistry();
+        registry.record(MetricsRegistry.Kind.COMMAND, "WebElement.click", 2_000_000);
+        registry.record(MetricsRegistry.Kind.COMMAND, "WebElement.click", 4_000_000);
+        registry.record(MetricsRegistry.Kind.OPERATION, "waitAndClick", 8_000_000);
+        registry.record(MetricsRegistry.Kind.FIELD, "pages.HomePage#loginButton", 1_000_000);
+
+        Map<String, Map<String, Map<String, Object>>> summary = registry.summary();
+
+        assertEquals(List.of("commands", "operations", "fields"), List.copyOf(summary.keySet()));
+        Map<String, Object> click = summary.get("commands").get("WebElement.click");
+        assertEquals(2L, click.get("count"));
+        assertEquals(4.0, click.get("maxMs"));
+        assertEquals(3.0, click.get("meanMs"));
+        assertEquals(1L, summary.get("operations").get("waitAndClick").get("count"));
+        assertEquals(1L, summary.get("fields").get("pages.HomePage#loginButton").get("count"));
+    }
+
+    @Test
+    void testCommandsAreNamedAfterTheTargetType() throws NoSuchMethodException {
+        Method findElement = SearchContext.class.getMethod("findElement", By.class);
+
+        assertEquals("WebElement.findElement", CommandTimingListener.commandName(mock(WebElement.class), findElement));
+        assertEquals("WebDriver.findElement", CommandTimingListener.commandName(mock(WebDriver.class), findElement));
+    }
+}
@@ -0,0 +1,169 @@
+package core.mux;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WebDriverMuxTest {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final String CHROME = "{\"capabilities\":{\"firstMatch\":[{\"browserName\":\"chrome\"}]}}";
+
+    private HttpServer driver;
+    private final AtomicInteger created = new AtomicInteger();
+    private final HttpClient client = HttpClient.newHttpClient();
+    private WebDriverMux mux;
+
+    @BeforeEach
+    void startFakeDriver() throws IOException {
+        driver = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        driver.setExecutor(Executors.newCachedThreadPool());
+        driver.createContext("/", exchange -> {
+            String path = exchange.getRequestURI().getPath();
+            String method = exchange.getRequestMethod();
+            String value;
+            if ("POST".equals(method) && "/session".equals(path)) {
+                value = "{\"sessionId\":\"S" + created.incrementAndGet() + "\",\"capabilities\":{}}";
+            } else if (path.endsWith("/slow")) {
+                sleep(300);
+                value = "\"slow\"";
+            } else {
+                value = "DELETE".equals(method) ? "null" : "\"" + path.substring(path.lastIndexOf('/') + 1) + "\"";
+            }
+            byte[] body = ("{\"value\":" + value + "}").getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        driver.start();
+    }
+
+    @AfterEach
+    void stop() {
+        if (mux != null) {
+            mux.close();
+        }
+        driver.stop(0);
+    }
+
+    private WebDriverMux mux(int maxSessions, int warmSessions) {
+        URI backend = URI.create("http://127.0.0.1:" + driver.getAddress().getPort());
+        mux = new WebDriverMux(0, maxSessions, warmSessions, Duration.ofMillis(200), Duration.ofMinutes(5),
+                browser -> backend);
+        return mux;
+    }
+
+    private HttpResponse<String> send(String method, String path, String body) throws Exception {
+        return client.send(HttpRequest.newBuilder(mux.uri().resolve(path))
+                .method(method, body != null ? HttpRequest.BodyPublishers.ofString(body)
+                        : HttpRequest.BodyPublishers.noBody()).build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private String newSession() throws Exception {
+        HttpResponse<String> response = send("POST", "/session", CHROME);
+        assertEquals(200, response.statusCode(), response.body());
+        return MAPPER.readTree(response.body()).path("value").path("sessionId").asText();
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Test
+    void testForwardsCommandsAndReportsLatencyPerSession() throws Exception {
+        mux(2, 0);
+        String session = newSession();
+
+        assertEquals("{\"value\":\"url\"}", send("GET", "/session/" + session + "/url", null).body());
+        send("POST", "/session/" + session + "/element/E1/click", "{}");
+        assertEquals(200, send("DELETE", "/session/" + session, null).statusCode());
+        assertEquals(404, send("GET", "/session/" + session + "/url", null).statusCode());
+
+        JsonNode stats = MAPPER.readTree(send("GET", "/mux/stats", null).body());
+        JsonNode summary = stats.path("closedSessions").path(session);
+        assertEquals(3, summary.path("count").asInt());
+        assertEquals(1, summary.path("commands").path("POST element/{id}/click").path("count").asInt());
+        assertEquals(2, stats.path("availableSlots").asInt());
+    }
+
+    @Test
+    void testSameCapabilitiesGetAWarmSession() throws Exception {
+        mux(4, 1);
+        newSession();
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (created.get() < 2 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        Thread.sleep(50);
+
+        assertEquals("S2", newSession());
+        assertEquals(2, ((Map<?, ?>) mux.stats().get("sessions")).size());
+    }
+
+    @Test
+    void testHostWideCapRefusesSessionsAfterWaiting() throws Exception {
+        mux(1, 0);
+        String first = newSession();
+
+        HttpResponse<String> refused = send("POST", "/session", CHROME);
+        assertEquals(500, refused.statusCode());
+        assertEquals("session not created", MAPPER.readTree(refused.body()).path("value").path("error").asText());
+
+        send("DELETE", "/session/" + first, null);
+        assertEquals("S2", newSession());
+    }
+
+    @Test
+    void testPipelinedResponsesKeepRequestOrder() throws Exception {
+        mux(1, 0);
+        String session = newSession();
+        try (Socket socket = new Socket("127.0.0.1", mux.uri().getPort())) {
+            OutputStream out = socket.getOutputStream();
+            out.write(("GET /session/" + session + "/slow HTTP/1.1\r\nHost: localhost\r\n\r\n"
+                    + "GET /session/" + session + "/fast HTTP/1.1\r\nHost: localhost\r\n\r\n")
+                    .getBytes(StandardCharsets.US_ASCII));
+            out.flush();
+            socket.setSoTimeout(5000);
+            InputStream in = socket.getInputStream();
+            StringBuilder received = new StringBuilder();
+            byte[] buffer = new byte[4096];
+            while (!received.toString().contains("\"fast\"")) {
+                int read = in.read(buffer);
+                assertTrue(read > 0, "connection closed before both responses arrived");
+                received.append(new String(buffer, 0, read, StandardCharsets.US_ASCII));
+            }
+            assertTrue(received.indexOf("\"slow\"") < received.indexOf("\"fast\""), received.toString());
+        }
+    }
+
+    @Test
+    void testCommandNamesDropIds() {
+        assertEquals("POST element/{id}/click", WebDriverMux.command("POST", "/session/abc/element/E1/click"));
+        assertEquals("GET element/active", WebDriverMux.command("GET", "/session/abc/element/active"));
+        assertEquals("POST session", WebDriverMux.command("POST", "/session"));
+    }
+}
@@ -0,0 +1,199 @@
+package core.network;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.openqa.selenium.remote.http.Contents;
+import org.openqa.selenium.remote.http.HttpHandler;
+import org.openqa.selenium.remote.http.HttpMethod;
+import org.openqa.selenium.remote.http.HttpRequest;
+import org.openqa.selenium.remote.http.HttpResponse;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NetworkCacheFilterTest {
+    private static final String BUNDLE = "console.log('bundle');";
+
+    @TempDir
+    Path cacheDirectory;
+
+    private HttpServer server;
+    private String baseUrl;
+    private final Map<String, AtomicInteger> served = new ConcurrentHashMap<>();
+    private final Map<String, AtomicInteger> notModified = new ConcurrentHashMap<>();
+    private final Map<String, String> bodies = new ConcurrentHashMap<>();
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @BeforeEach
+    void startFixtureServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", exchange -> {
+            String path = exchange.getRequestURI().getPath();
+            String content = path.endsWith(".html") ? "<html></html>" : bodies.getOrDefault(path, BUNDLE);
+            String etag = "\"" + Integer.toHexString(content.hashCode()) + "\"";
+            exchange.getResponseHeaders().set("ETag", etag);
+            if (path.startsWith("/immutable/")) {
+                exchange.getResponseHeaders().set("Cache-Control", "public, max-age=31536000, immutable");
+            }
+            if (etag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                notModified.computeIfAbsent(path, key -> new AtomicInteger()).incrementAndGet();
+                exchange.sendResponseHeaders(304, -1);
+                exchange.close();
+                return;
+            }
+            served.computeIfAbsent(path, key -> new AtomicInteger()).incrementAndGet();
+            byte[] body = content.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type",
+                    path.endsWith(".html") ? "text/html" : "application/javascript");
+            if (path.endsWith(".woff2")) {
+                exchange.getResponseHeaders().set("Access-Control-Allow-Origin", "https://app.example.com");
+                exchange.getResponseHeaders().set("Cache-Control", "max-age=3600");
+                exchange.getResponseHeaders().set("Vary", "Origin");
+                exchange.getResponseHeaders().set("Set-Cookie", "tracking=1");
+            }
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.start();
+        baseUrl = "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    @AfterEach
+    void stopFixtureServer() {
+        server.stop(0);
+    }
+
+    private HttpHandler network(NetworkCacheFilter filter) {
+        return filter.andFinally(request -> {
+            try {
+                java.net.http.HttpRequest.Builder forwarded =
+                        java.net.http.HttpRequest.newBuilder(URI.create(request.getUri()));
+                request.forEachHeader(forwarded::header);
+                java.net.http.HttpResponse<byte[]> response = client.send(forwarded.build(),
+                        java.net.http.HttpResponse.BodyHandlers.ofByteArray());
+                HttpResponse result = new HttpResponse().setStatus(response.statusCode())
+                        .setContent(Contents.bytes(response.body()));
+                response.headers().map().forEach((name, values) -> result.setHeader(name, values.get(0)));
+                return result;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+        });
+    }
+
+    private NetworkCacheFilter filter(List<String> blockPatterns) {
+        return new NetworkCacheFilter(new AssetCache(cacheDirectory, Duration.ofHours(1)), blockPatterns,
+                Set.of("js", "css", "woff2"));
+    }
+
+    @Test
+    void testRepeatedAssetsAreServedFromTheSharedDiskCache() {
+        NetworkCacheFilter firstWorker = filter(List.of());
+        NetworkCacheFilter secondWorker = filter(List.of());
+
+        network(firstWorker).execute(new HttpRequest(HttpMethod.GET, baseUrl + "/app.js"));
+        HttpResponse cached = network(secondWorker).execute(new HttpRequest(HttpMethod.GET, baseUrl + "/app.js"));
+
+        assertEquals(1, served.get("/app.js").get());
+        assertEquals(1, notModified.get("/app.js").get());
+        assertEquals(BUNDLE, Contents.utf8String(cached.getContent()));
+        assertEquals("application/javascript", cached.getHeader("Content-Type"));
+        assertEquals("revalidated", cached.getHeader("X-UIWL-Cache"));
+        assertEquals(1L, secondWorker.summary().get("hits"));
+        assertEquals(1L, secondWorker.summary().get("revalidated"));
+        assertEquals((long) BUNDLE.length(), secondWorker.summary().get("bytesSaved"));
+    }
+
+    @Test
+    void testCachedCrossOriginAssetsKeepTheirCorsHeaders() {
+        NetworkCacheFilter filter = filter(List.of());
+
+        network(filter).execute(new HttpRequest(HttpMethod.GET, baseUrl + "/font.woff2"));
+        HttpResponse cached = network(filter).execute(new HttpRequest(HttpMethod.GET, baseUrl + "/font.woff2"));
+
+        assertEquals(1, served.get("/font.woff2").get());
+        assertEquals("hit", cached.getHeader("X-UIWL-Cache"));
+        assertEquals("https://app.example.com", cached.getHeader("Access-Control-Allow-Origin"));
+        assertEquals("Origin", cached.getHeader("Vary"));
+        assertNull(cached.getHeader("Set-Cookie"));
+    }
+
+    @Test
+    void testIdenticalBodiesAreStoredOnceAndDocumentsAreNotCached() throws IOException {
+        NetworkCacheFilter filter = filter(List.of());
+
+        network(filter).execute(new HttpRequest(HttpMethod.GET, baseUrl + "/app.js"));
+        network(filter).execute(new HttpRequest(HttpMethod.GET, baseUrl + "/vendor.js?v=2"));
+        network(filter).execute(new HttpRequest(HttpMethod.GET, baseUrl + "/index.html"));
+        network(filter).execute(new HttpRequest(HttpMethod.GET, baseUrl + "/index.html"));
+
+        try (var objects = Files.list(cacheDirectory.resolve("objects"))) {
+            assertEquals(1, objects.count());
+        }
+        assertEquals(2, served.get("/index.html").get());
+        assertEquals(2L, filter.summary().get("stored"));
+    }
+
+    @Test
+    void testBlockedUrlsNeverReachTheServer() {
+        NetworkCacheFilter filter = filter(List.of("*/analytics/*", "*ads.example.com*"));
+
+        HttpResponse response = network(filter).execute(
+                new HttpRequest(HttpMethod.GET, baseUrl + "/analytics/collect.js"));
+
+        assertEquals(204, response.getStatus());
+        assertNull(served.get("/analytics/collect.js"));
+        assertEquals(1L, filter.summary().get("blocked"));
+    }
+
+    @Test
+    void testBundleChangedUnderTheSameUrlIsDownloadedAgain() {
+        NetworkCacheFilter filter = filter(List.of());
+        network(filter).execute(new HttpRequest(HttpMethod.GET, baseUrl + "/static/app.js"));
+
+        bodies.put("/static/app.js", "console.log('deployed');");
+        HttpResponse changed = network(filter).execute(new HttpRequest(HttpMethod.GET, baseUrl + "/static/app.js"));
+        HttpResponse unchanged = network(filter).execute(new HttpRequest(HttpMethod.GET, baseUrl + "/static/app.js"));
+
+        assertEquals("console.log('deployed');", Contents.utf8String(changed.getContent()));
+        assertNull(changed.getHeader("X-UIWL-Cache"));
+        assertEquals("console.log('deployed');", Contents.utf8String(unchanged.getContent()));
+        assertEquals("revalidated", unchanged.getHeader("X-UIWL-Cache"));
+        assertEquals(2, served.get("/static/app.js").get());
+        assertEquals(1, notModified.get("/static/app.js").get());
+    }
+
+    @Test
+    void testImmutableAssetsAreServedWithoutAskingTheServer() {
+        NetworkCacheFilter filter = filter(List.of());
+
+        network(filter).execute(new HttpRequest(HttpMethod.GET, baseUrl + "/immutable/app.3f9a.js"));
+        HttpResponse cached = network(filter).execute(
+                new HttpRequest(HttpMethod.GET, baseUrl + "/immutable/app.3f9a.js"));
+
+        assertEquals("hit", cached.getHeader("X-UIWL-Cache"));
+        assertEquals(1, served.get("/immutable/app.3f9a.js").get());
+        assertNull(notModified.get("/immutable/app.3f9a.js"));
+    }
+}
@@ -0,0 +1,65 @@
+package utils;
+
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.Rectangle;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ElementStateQueryTest {
+
+    @Test
+    void testStatesAreReadWithOneScriptCall() {
+        WebDriver driver = mock(WebDriver.class, withSettings().extraInterfaces(JavascriptExecutor.class));
+        when(((JavascriptExecutor) driver).executeScript(anyString(), any(), any(), any())).thenReturn(List.of(true,
+                Arrays.asList(
+                        List.of("Total", true, Map.of("x", 10, "y", 20.4, "width", 100, "height", 30)),
+                        null)));
+
+        List<ElementState> states = ElementStateQuery.forLocators(List.of(By.id("total"), By.id("missing")),
+                List.of(ElementProperty.TEXT, ElementProperty.ENABLED, ElementProperty.RECT), false).apply(driver);
+
+        assertEquals("Total", states.get(0).text());
+        assertEquals(true, states.get(0).enabled());
+        assertEquals(new Rectangle(10, 20, 30, 100), states.get(0).rect());
+        assertSame(ElementState.MISSING, states.get(1));
+        verify((JavascriptExecutor) driver, times(1)).executeScript(anyString(), any(), any(), any());
+        verify(driver, never()).findElements(any(By.class));
+    }
+
+    @Test
+    void testVisibilityQueryWaitsWhileElementsArePending() {
+        WebDriver driver = mock(WebDriver.class, withSettings().extraInterfaces(JavascriptExecutor.class));
+        when(((JavascriptExecutor) driver).executeScript(anyString(), any(), any(), any()))
+                .thenReturn(List.of(false, List.of(1)));
+        ElementStateQuery query = ElementStateQuery.forLocators(List.of(By.id("a"), By.id("b")),
+                List.of(ElementProperty.TEXT), true);
+
+        assertNull(query.apply(driver));
+        assertTrue(query.toString().contains("[1]"));
+    }
+
+    @Test
+    void testDriverWithoutScriptsReadsElementsIndividually() {
+        WebDriver driver = mock(WebDriver.class);
+        WebElement link = mock(WebElement.class);
+        when(link.getText()).thenReturn("Inicio");
+        when(link.getAttribute("href")).thenReturn("/home");
+
+        List<ElementState> states = ElementStateQuery.forElements(List.of(link),
+                List.of(ElementProperty.TEXT, ElementProperty.attribute("href")), false).apply(driver);
+
+        assertEquals("Inicio", states.get(0).text());
+        assertEquals("/home", states.get(0).attribute("href"));
+        assertNull(states.get(0).value());
+    }
+}
@@ -0,0 +1,49 @@
+package utils;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.WebDriver;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class ElementUtilsTest {
+
+    @AfterEach
+    void tearDown() {
+        ElementUtils.clear();
+    }
+
+    @Test
+    void testContextIsReusedForSameDriver() {
+        WebDriver driver = mock(WebDriver.class);
+        ElementUtils.initialize(driver);
+        ElementContext context = ElementUtils.context();
+
+        ElementUtils.initialize(driver);
+
+        assertSame(context, ElementUtils.context());
+        assertSame(driver, context.getDriver());
+    }
+
+    @Test
+    void testContextsAreIsolatedPerThread() throws Exception {
+        WebDriver mainDriver = mock(WebDriver.class);
+        WebDriver workerDriver = mock(WebDriver.class);
+        ElementUtils.initialize(mainDriver);
+
+        WebDriver seenByWorker = CompletableFuture.supplyAsync(() -> {
+            ElementUtils.initialize(workerDriver);
+            try {
+                return ElementUtils.context().getDriver();
+            } finally {
+                ElementUtils.clear();
+            }
+        }).get();
+
+        assertSame(workerDriver, seenByWorker);
+        assertSame(mainDriver, ElementUtils.context().getDriver());
+    }
+}
@@ -0,0 +1,61 @@
+package utils;
+
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class FormFillTest {
+
+    @Test
+    void testPendingFieldsKeepTheConditionWaiting() {
+        WebDriver driver = mock(WebDriver.class, withSettings().extraInterfaces(JavascriptExecutor.class));
+        when(((JavascriptExecutor) driver).executeScript(anyString(), any(), any()))
+                .thenReturn(List.of(false, List.of(0)));
+        FormFill form = new FormFill(Map.of(mock(WebElement.class), "standard_user"));
+
+        assertNull(form.apply(driver));
+        assertTrue(form.toString().contains("[0]"));
+    }
+
+    @Test
+    void testFieldsTheScriptCannotFillAreTyped() {
+        WebDriver driver = mock(WebDriver.class, withSettings().extraInterfaces(JavascriptExecutor.class));
+        JavascriptExecutor executor = (JavascriptExecutor) driver;
+        WebElement username = mock(WebElement.class);
+        WebElement maskedPhone = mock(WebElement.class);
+        when(maskedPhone.isDisplayed()).thenReturn(true);
+        when(maskedPhone.isEnabled()).thenReturn(true);
+        when(maskedPhone.getTagName()).thenReturn("input");
+        when(maskedPhone.getAttribute("type")).thenReturn("tel");
+        when(executor.executeScript(anyString(), any(), any())).thenReturn(List.of(true, List.of(1)));
+        when(executor.executeAsyncScript(anyString(), any(), any(), any())).thenReturn(true);
+        Map<WebElement, String> fields = new LinkedHashMap<>();
+        fields.put(username, "standard_user");
+        fields.put(maskedPhone, "3001234567");
+
+        new ElementContext(driver, Duration.ofSeconds(1), Duration.ofSeconds(1)).fillForm(fields);
+
+        verify(executor, times(1)).executeScript(anyString(), any(), any());
+        verify(username, never()).sendKeys(any());
+        verify(maskedPhone).clear();
+        verify(maskedPhone).sendKeys("3001234567");
+    }
+
+    @Test
+    void testCheckedValues() {
+        assertTrue(FormFill.isChecked("TRUE"));
+        assertTrue(FormFill.isChecked("on"));
+        assertFalse(FormFill.isChecked("false"));
+        assertFalse(FormFill.isChecked(null));
+    }
+}
@@ -0,0 +1,63 @@
+package utils;
+
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class PageSettledDetectorTest {
+
+    private WebDriver driverAnswering(Object first, Object... next) {
+        WebDriver driver = mock(WebDriver.class, withSettings().extraInterfaces(JavascriptExecutor.class));
+        when(((JavascriptExecutor) driver).executeAsyncScript(anyString(), any(), any())).thenReturn(first, next);
+        return driver;
+    }
+
+    @Test
+    void testQuietPageCostsOneRoundTrip() {
+        WebDriver driver = driverAnswering(null);
+
+        new PageSettledDetector(Duration.ofMillis(100), Duration.ofSeconds(10)).await(driver);
+
+        verify((JavascriptExecutor) driver, times(1)).executeAsyncScript(anyString(), eq(100L), anyLong());
+    }
+
+    @Test
+    void testBusyPageIsCheckedAgainUntilQuiet() {
+        WebDriver driver = driverAnswering("1 pending fetch/XHR request(s)", (Object) null);
+
+        new PageSettledDetector(Duration.ofMillis(100), Duration.ofSeconds(10)).await(driver);
+
+        verify((JavascriptExecutor) driver, times(2)).executeAsyncScript(anyString(), any(), any());
+    }
+
+    @Test
+    void testPageThatNeverSettlesTimesOutNamingTheCause() {
+        WebDriver driver = driverAnswering("running animations");
+
+        TimeoutException error = assertThrows(TimeoutException.class,
+                () -> new PageSettledDetector(Duration.ofMillis(100), Duration.ofMillis(50)).await(driver));
+
+        assertTrue(error.getMessage().contains("running animations"));
+        verify((JavascriptExecutor) driver, atLeastOnce()).executeAsyncScript(anyString(), eq(100L),
+                longThat(budget -> budget <= 50));
+    }
+
+    @Test
+    void testImplicitWaitIsBoundedOnPagesThatNeverSettle() {
+        WebDriver driver = driverAnswering("DOM mutations in the last 100 ms");
+        ElementContext context = new ElementContext(driver, Duration.ofSeconds(3), Duration.ofSeconds(10),
+                ElementContext.SettleMode.SETTLED, Duration.ofMillis(100));
+
+        long start = System.nanoTime();
+        context.implicitWait();
+
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).compareTo(Duration.ofSeconds(3)) < 0);
+    }
+}
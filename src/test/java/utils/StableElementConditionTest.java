@@ -0,0 +1,87 @@
+package utils;
+
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.Point;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class StableElementConditionTest {
+    private final WebElement element = mock(WebElement.class);
+
+    private WebDriver driverAnswering(Object first, Object... next) {
+        WebDriver driver = mock(WebDriver.class, withSettings().extraInterfaces(JavascriptExecutor.class));
+        when(((JavascriptExecutor) driver).executeAsyncScript(anyString(), any(), any(), any()))
+                .thenReturn(first, next);
+        return driver;
+    }
+
+    @Test
+    void testStableElementCostsOneScriptAcrossAnimationFrames() {
+        WebDriver driver = driverAnswering(true);
+
+        assertSame(element, new StableElementCondition(element, 3).apply(driver));
+
+        verify((JavascriptExecutor) driver, times(1)).executeAsyncScript(
+                contains("requestAnimationFrame"), same(element), eq(3), eq(60));
+        verify(element, never()).getLocation();
+    }
+
+    @Test
+    void testMovingElementIsPolledUntilItStops() {
+        WebDriver driver = driverAnswering(false, false, true);
+
+        WebElement stable = new WebDriverWait(driver, Duration.ofSeconds(5), Duration.ofMillis(10))
+                .until(new StableElementCondition(element, 3));
+
+        assertSame(element, stable);
+        verify((JavascriptExecutor) driver, times(3)).executeAsyncScript(anyString(), any(), any(), any());
+    }
+
+    @Test
+    void testDetachedElementIsNotStable() {
+        WebDriver driver = mock(WebDriver.class, withSettings().extraInterfaces(JavascriptExecutor.class));
+        when(((JavascriptExecutor) driver).executeAsyncScript(anyString(), any(), any(), any()))
+                .thenThrow(new StaleElementReferenceException("detached"));
+
+        assertNull(new StableElementCondition(element, 3).apply(driver));
+    }
+
+    @Test
+    void testFrameCountIsAtLeastOne() {
+        WebDriver driver = driverAnswering(true);
+
+        new StableElementCondition(element, 0).apply(driver);
+
+        verify((JavascriptExecutor) driver).executeAsyncScript(anyString(), any(), eq(1), any());
+    }
+
+    @Test
+    void testDriverWithoutJavaScriptComparesLocations200MillisApart() {
+        WebDriver driver = mock(WebDriver.class);
+        when(element.getLocation()).thenReturn(new Point(10, 20), new Point(10, 20));
+
+        long start = System.nanoTime();
+        WebElement stable = new StableElementCondition(element, 3).apply(driver);
+
+        assertSame(element, stable);
+        assertTrue(System.nanoTime() - start >= Duration.ofMillis(200).toNanos());
+        verify(element, times(2)).getLocation();
+    }
+
+    @Test
+    void testDriverWithoutJavaScriptSeesAMovingElement() {
+        WebDriver driver = mock(WebDriver.class);
+        when(element.getLocation()).thenReturn(new Point(10, 20), new Point(10, 35));
+
+        assertNull(new StableElementCondition(element, 3).apply(driver));
+    }
+}